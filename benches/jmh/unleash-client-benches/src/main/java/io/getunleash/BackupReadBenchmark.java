@@ -0,0 +1,91 @@
+package io.getunleash;
+
+import io.getunleash.engine.UnleashEngine;
+import io.getunleash.engine.YggdrasilInvalidInputException;
+import io.getunleash.repository.FeatureBackupHandlerFile;
+import io.getunleash.repository.ToggleBootstrapFileProvider;
+import io.getunleash.util.UnleashConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reading a backup written as plain JSON or as a compressed snapshot through the bootstrap
+ * provider, and loading it into the engine, which is what a cold start with a backup or bootstrap
+ * file spends its time on.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, timeUnit = TimeUnit.MILLISECONDS, time = 2000)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS, time = 4000)
+public class BackupReadBenchmark {
+
+    @Param({"1000", "10000"})
+    private int featureCount;
+
+    @Param({"false", "true"})
+    private boolean compressed;
+
+    private Path directory;
+    private ToggleBootstrapFileProvider provider;
+    private UnleashEngine engine;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("unleash-backup-bench");
+        Path backupFile = directory.resolve("unleash-repo.json");
+        UnleashConfig.Builder config =
+                UnleashConfig.builder()
+                        .appName("BackupReadBenchmark")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .backupFile(backupFile.toString());
+        if (compressed) {
+            config.compressedBackup();
+        }
+        new FeatureBackupHandlerFile(config.build())
+                .write(BenchmarkFeatures.features(featureCount, ToggleSet.CONSTRAINTS));
+        provider = new ToggleBootstrapFileProvider(backupFile.toString());
+        engine = new UnleashEngine();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(BackupReadBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public String read() {
+        return provider.read().get();
+    }
+
+    @Benchmark
+    public UnleashEngine readAndTakeState() throws YggdrasilInvalidInputException {
+        engine.takeState(provider.read().get());
+        return engine;
+    }
+}
@@ -0,0 +1,164 @@
+package io.getunleash;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result against a stored baseline and exits with 1 when a benchmark got
+ * slower, or allocates more per operation when run with -prof gc, by more than the threshold.
+ * Differences within the score errors of both runs are never reported.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar -prof gc -rf json -rff result.json
+ * java -cp target/benchmarks.jar io.getunleash.BaselineComparison output.json result.json [threshold %]
+ * </pre>
+ */
+public class BaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+    /** Allocation changes smaller than this are noise from the profiler, not the code. */
+    private static final double MIN_ALLOCATION_DELTA_BYTES = 16;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println(
+                    "Usage: BaselineComparison <baseline.json> <result.json> [threshold %]");
+            System.exit(2);
+        }
+        double threshold =
+                (args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT) / 100;
+        Map<String, JsonObject> baseline = read(args[0]);
+        Map<String, JsonObject> result = read(args[1]);
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JsonObject> entry : result.entrySet()) {
+            JsonObject previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                System.out.println("NEW        " + entry.getKey());
+                continue;
+            }
+            JsonObject current = entry.getValue();
+            boolean higherIsBetter = "thrpt".equals(current.get("mode").getAsString());
+            compare(
+                    entry.getKey(),
+                    previous.getAsJsonObject("primaryMetric"),
+                    current.getAsJsonObject("primaryMetric"),
+                    higherIsBetter,
+                    threshold,
+                    0,
+                    regressions);
+            JsonObject previousAllocation = allocation(previous);
+            JsonObject currentAllocation = allocation(current);
+            if (previousAllocation != null && currentAllocation != null) {
+                compare(
+                        entry.getKey() + " [" + ALLOCATION_METRIC + "]",
+                        previousAllocation,
+                        currentAllocation,
+                        false,
+                        threshold,
+                        MIN_ALLOCATION_DELTA_BYTES,
+                        regressions);
+            }
+        }
+
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions against " + args[0]);
+        } else {
+            System.out.println(regressions.size() + " regression(s) against " + args[0] + ":");
+            regressions.forEach(regression -> System.out.println("  " + regression));
+            System.exit(1);
+        }
+    }
+
+    private static void compare(
+            String name,
+            JsonObject previous,
+            JsonObject current,
+            boolean higherIsBetter,
+            double threshold,
+            double minDelta,
+            List<String> regressions) {
+        double before = previous.get("score").getAsDouble();
+        double after = current.get("score").getAsDouble();
+        double error = errorOf(previous) + errorOf(current);
+        double change = before == 0 ? 0 : (after - before) / before;
+        double worse = higherIsBetter ? -change : change;
+        boolean regressed =
+                worse > threshold
+                        && Math.abs(after - before) > error
+                        && Math.abs(after - before) > minDelta;
+        String line =
+                String.format(
+                        Locale.ROOT,
+                        "%-10s %s: %.3f -> %.3f %s (%+.1f%%)",
+                        regressed ? "REGRESSED" : worse < -threshold ? "IMPROVED" : "OK",
+                        name,
+                        before,
+                        after,
+                        current.get("scoreUnit").getAsString(),
+                        change * 100);
+        System.out.println(line);
+        if (regressed) {
+            regressions.add(line.substring(11));
+        }
+    }
+
+    private static double errorOf(JsonObject metric) {
+        JsonElement error = metric.get("scoreError");
+        // A single iteration has no error, which JMH writes as "NaN"
+        return error != null && error.isJsonPrimitive() && error.getAsJsonPrimitive().isNumber()
+                ? error.getAsDouble()
+                : 0;
+    }
+
+    private static JsonObject allocation(JsonObject benchmark) {
+        JsonObject secondary = benchmark.getAsJsonObject("secondaryMetrics");
+        if (secondary == null) {
+            return null;
+        }
+        for (Map.Entry<String, JsonElement> metric : secondary.entrySet()) {
+            // JMH prefixes profiler metrics with a middle dot
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return metric.getValue().getAsJsonObject();
+            }
+        }
+        return null;
+    }
+
+    /** Keys every run by benchmark, parameters and thread count. */
+    private static Map<String, JsonObject> read(String file) throws IOException {
+        Map<String, JsonObject> benchmarks = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : runs) {
+                JsonObject run = element.getAsJsonObject();
+                StringBuilder key = new StringBuilder(run.get("benchmark").getAsString());
+                JsonObject params = run.getAsJsonObject("params");
+                if (params != null) {
+                    Map<String, String> sorted = new TreeMap<>();
+                    for (Map.Entry<String, JsonElement> param : params.entrySet()) {
+                        sorted.put(param.getKey(), param.getValue().getAsString());
+                    }
+                    key.append(sorted);
+                }
+                key.append(" threads=").append(run.get("threads").getAsInt());
+                benchmarks.put(key.toString(), run);
+            }
+        }
+        return benchmarks;
+    }
+}
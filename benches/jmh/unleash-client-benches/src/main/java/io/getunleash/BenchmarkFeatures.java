@@ -0,0 +1,93 @@
+package io.getunleash;
+
+/** Generates client feature payloads and contexts of a given size for the benchmarks. */
+final class BenchmarkFeatures {
+
+    private BenchmarkFeatures() {}
+
+    static String features(int count, ToggleSet toggleSet) {
+        StringBuilder json = new StringBuilder("{\"version\":2,\"features\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"")
+                    .append(toggleName(i))
+                    .append("\",\"enabled\":true,\"strategies\":[{\"name\":\"flexibleRollout\",")
+                    .append("\"parameters\":{\"rollout\":\"50\",\"stickiness\":\"userId\",")
+                    .append("\"groupId\":\"")
+                    .append(toggleName(i))
+                    .append("\"}");
+            if (toggleSet == ToggleSet.CONSTRAINTS) {
+                json.append(",\"constraints\":[");
+                for (int c = 0; c < 5; c++) {
+                    if (c > 0) {
+                        json.append(',');
+                    }
+                    json.append(constraint("prop-" + c, "value-" + c));
+                }
+                json.append(']');
+            } else if (toggleSet == ToggleSet.SEGMENTS) {
+                json.append(",\"segments\":[1,2,3]");
+            }
+            json.append("}]}");
+        }
+        json.append(']');
+        if (toggleSet == ToggleSet.SEGMENTS) {
+            json.append(",\"segments\":[");
+            for (int s = 1; s <= 3; s++) {
+                if (s > 1) {
+                    json.append(',');
+                }
+                json.append("{\"id\":")
+                        .append(s)
+                        .append(",\"name\":\"segment-")
+                        .append(s)
+                        .append("\",\"constraints\":[")
+                        .append(constraint("prop-" + (2 * s - 2), "value-" + (2 * s - 2)))
+                        .append(',')
+                        .append(constraint("prop-" + (2 * s - 1), "value-" + (2 * s - 1)))
+                        .append("]}");
+            }
+            json.append(']');
+        }
+        return json.append('}').toString();
+    }
+
+    /** A single toggle using the given strategy, with one parameter. */
+    static String customStrategyFeature(String toggleName, String strategyName) {
+        return "{\"version\":2,\"features\":[{\"name\":\""
+                + toggleName
+                + "\",\"enabled\":true,\"strategies\":[{\"name\":\""
+                + strategyName
+                + "\",\"parameters\":{\"tenants\":\"acme,globex,initech\"}}]}]}";
+    }
+
+    private static String constraint(String contextName, String value) {
+        return "{\"contextName\":\""
+                + contextName
+                + "\",\"operator\":\"IN\",\"values\":[\"other\",\""
+                + value
+                + "\"],\"inverted\":false,\"caseInsensitive\":false}";
+    }
+
+    static String toggleName(int index) {
+        return "toggle-" + index;
+    }
+
+    /**
+     * A context with a user id and the given number of custom properties. The first six match the
+     * constraints and segments of the generated toggles.
+     */
+    static UnleashContext context(int propertyCount) {
+        return contextBuilder(propertyCount).build();
+    }
+
+    static UnleashContext.Builder contextBuilder(int propertyCount) {
+        UnleashContext.Builder builder = UnleashContext.builder().userId("user-42");
+        for (int i = 0; i < propertyCount; i++) {
+            builder.addProperty("prop-" + i, "value-" + i);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,105 @@
+package io.getunleash;
+
+import io.getunleash.util.UnleashConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * isEnabled from 1, 8 and 32 threads sharing one client, across context sizes and toggle sets of
+ * increasing cost. Each thread walks the toggles from its own offset so that the threads don't
+ * all evaluate the same toggle at the same time.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, timeUnit = TimeUnit.MILLISECONDS, time = 1000)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS, time = 2000)
+public class ConcurrentEvaluationBenchmark {
+
+    private static final int TOGGLE_COUNT = 64;
+
+    @Param({"0", "10", "50"})
+    private int contextProperties;
+
+    @Param({"PLAIN", "CONSTRAINTS", "SEGMENTS"})
+    private ToggleSet toggleSet;
+
+    private Unleash unleash;
+    private UnleashContext context;
+    private String[] toggleNames;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String features = BenchmarkFeatures.features(TOGGLE_COUNT, toggleSet);
+        unleash =
+                new DefaultUnleash(
+                        UnleashConfig.builder()
+                                .unleashAPI("https://localhost:1500")
+                                .apiKey("irrelevant")
+                                .appName("ConcurrentEvaluationBenchmark")
+                                .toggleBootstrapProvider(() -> Optional.of(features))
+                                .fetchTogglesInterval(0)
+                                .disablePolling()
+                                .disableMetrics()
+                                .build());
+        context = BenchmarkFeatures.context(contextProperties);
+        toggleNames = new String[TOGGLE_COUNT];
+        for (int i = 0; i < TOGGLE_COUNT; i++) {
+            toggleNames[i] = BenchmarkFeatures.toggleName(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        unleash.shutdown();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            next = (int) (Thread.currentThread().getId() * 7);
+        }
+
+        int next() {
+            return next++ & (TOGGLE_COUNT - 1);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(ConcurrentEvaluationBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean isEnabled1Thread(Cursor cursor) {
+        return unleash.isEnabled(toggleNames[cursor.next()], context);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean isEnabled8Threads(Cursor cursor) {
+        return unleash.isEnabled(toggleNames[cursor.next()], context);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean isEnabled32Threads(Cursor cursor) {
+        return unleash.isEnabled(toggleNames[cursor.next()], context);
+    }
+}
@@ -0,0 +1,133 @@
+package io.getunleash;
+
+import io.getunleash.strategy.FastStrategy;
+import io.getunleash.strategy.Strategy;
+import io.getunleash.strategy.StrategyContext;
+import io.getunleash.util.UnleashConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what a custom {@link Strategy} adds to an evaluation: the engine calls back into Java
+ * with the strategy parameters and the converted context for every evaluation of the toggle. A
+ * {@link FastStrategy} skips the conversion.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, timeUnit = TimeUnit.MILLISECONDS, time = 1000)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS, time = 2000)
+public class CustomStrategyBenchmark {
+
+    @Param({"0", "10", "50"})
+    private int contextProperties;
+
+    private Unleash custom;
+    private Unleash fast;
+    private Unleash builtIn;
+    private UnleashContext context;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context =
+                BenchmarkFeatures.contextBuilder(contextProperties)
+                        .addProperty("tenant", "globex")
+                        .build();
+        custom =
+                new DefaultUnleash(
+                        config(BenchmarkFeatures.customStrategyFeature("tenants", "tenant")),
+                        new TenantStrategy());
+        fast =
+                new DefaultUnleash(
+                        config(BenchmarkFeatures.customStrategyFeature("tenants", "tenant")),
+                        new FastTenantStrategy());
+        builtIn =
+                new DefaultUnleash(
+                        config(BenchmarkFeatures.features(1, ToggleSet.PLAIN)));
+    }
+
+    private static UnleashConfig config(String features) {
+        return UnleashConfig.builder()
+                .unleashAPI("https://localhost:1500")
+                .apiKey("irrelevant")
+                .appName("CustomStrategyBenchmark")
+                .toggleBootstrapProvider(() -> Optional.of(features))
+                .fetchTogglesInterval(0)
+                .disablePolling()
+                .disableMetrics()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        custom.shutdown();
+        fast.shutdown();
+        builtIn.shutdown();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(CustomStrategyBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public boolean customStrategy() {
+        return custom.isEnabled("tenants", context);
+    }
+
+    @Benchmark
+    public boolean fastStrategy() {
+        return fast.isEnabled("tenants", context);
+    }
+
+    @Benchmark
+    public boolean builtInStrategy() {
+        return builtIn.isEnabled(BenchmarkFeatures.toggleName(0), context);
+    }
+
+    private static class TenantStrategy implements Strategy {
+        @Override
+        public String getName() {
+            return "tenant";
+        }
+
+        @Override
+        public boolean isEnabled(Map<String, String> parameters, UnleashContext context) {
+            String tenants = parameters.get("tenants");
+            return tenants != null
+                    && context.getProperties().containsKey("tenant")
+                    && Arrays.asList(tenants.split(","))
+                            .contains(context.getProperties().get("tenant"));
+        }
+    }
+
+    private static class FastTenantStrategy implements FastStrategy {
+        @Override
+        public String getName() {
+            return "tenant";
+        }
+
+        @Override
+        public boolean isEnabled(Map<String, String> parameters, StrategyContext context) {
+            String tenants = parameters.get("tenants");
+            String tenant = context.getProperty("tenant");
+            return tenants != null
+                    && tenant != null
+                    && Arrays.asList(tenants.split(",")).contains(tenant);
+        }
+    }
+}
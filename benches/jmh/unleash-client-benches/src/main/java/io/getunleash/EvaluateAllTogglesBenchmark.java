@@ -0,0 +1,119 @@
+package io.getunleash;
+
+import static io.getunleash.variant.Variant.DISABLED_VARIANT;
+
+import io.getunleash.engine.FlatResponse;
+import io.getunleash.engine.VariantDef;
+import io.getunleash.repository.YggdrasilAdapters;
+import io.getunleash.util.UnleashConfig;
+import io.getunleash.variant.Variant;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares evaluateAllToggles with the per toggle path it replaced, which re-listed the toggles
+ * from the engine and re-applied the static context fields for every toggle.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, timeUnit = TimeUnit.MILLISECONDS, time = 2000)
+@Measurement(iterations = 5, timeUnit = TimeUnit.MILLISECONDS, time = 5000)
+public class EvaluateAllTogglesBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int toggleCount;
+
+    private UnleashConfig config;
+    private EngineProxy engineProxy;
+    private Unleash unleash;
+    private UnleashContext context;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String features = features(toggleCount);
+        config =
+                UnleashConfig.builder()
+                        .unleashAPI("https://localhost:1500")
+                        .apiKey("irrelevant")
+                        .appName("EvaluateAllTogglesBenchmark")
+                        .toggleBootstrapProvider(() -> Optional.of(features))
+                        .fetchTogglesInterval(0)
+                        .disablePolling()
+                        .disableMetrics()
+                        .build();
+        engineProxy = new EngineProxyImpl(config);
+        unleash = new DefaultUnleash(config, engineProxy);
+        context = UnleashContext.builder().userId("user-42").addProperty("tenant", "acme").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        unleash.shutdown();
+    }
+
+    private static String features(int count) {
+        StringBuilder json = new StringBuilder("{\"version\":2,\"features\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"toggle-")
+                    .append(i)
+                    .append("\",\"enabled\":true,\"strategies\":[{\"name\":\"flexibleRollout\",")
+                    .append("\"parameters\":{\"rollout\":\"50\",\"stickiness\":\"userId\",")
+                    .append("\"groupId\":\"toggle-")
+                    .append(i)
+                    .append("\"}}]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(EvaluateAllTogglesBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public void evaluateAllToggles(Blackhole bh) {
+        bh.consume(unleash.more().evaluateAllToggles(context));
+    }
+
+    @Benchmark
+    public void evaluateAllTogglesPerToggle(Blackhole bh) {
+        List<EvaluatedToggle> toggles =
+                engineProxy
+                        .listKnownToggles()
+                        .map(FeatureDefinition::getName)
+                        .map(
+                                toggleName -> {
+                                    UnleashContext enhancedContext =
+                                            context.applyStaticFields(config);
+                                    FlatResponse<VariantDef> response =
+                                            engineProxy.getVariant(toggleName, enhancedContext);
+                                    Variant variant =
+                                            YggdrasilAdapters.adapt(
+                                                    Optional.ofNullable(response.value),
+                                                    DISABLED_VARIANT);
+                                    return new EvaluatedToggle(
+                                            toggleName, variant.isFeatureEnabled(), variant);
+                                })
+                        .collect(Collectors.toList());
+        bh.consume(toggles);
+    }
+}
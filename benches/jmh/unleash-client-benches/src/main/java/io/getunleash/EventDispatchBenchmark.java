@@ -0,0 +1,104 @@
+package io.getunleash;
+
+import io.getunleash.event.ImpressionEvent;
+import io.getunleash.event.NoOpSubscriber;
+import io.getunleash.event.ToggleEvaluated;
+import io.getunleash.event.UnleashSubscriber;
+import io.getunleash.util.UnleashConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What a subscriber costs the evaluating thread. The toggle has impression data enabled, so the
+ * impressions subscriber gets an event per evaluation as well.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, timeUnit = TimeUnit.MILLISECONDS, time = 1000)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS, time = 2000)
+public class EventDispatchBenchmark {
+
+    private static final String FEATURES =
+            "{\"version\":2,\"features\":[{\"name\":\"impressions\",\"enabled\":true,"
+                    + "\"impressionData\":true,\"strategies\":[{\"name\":\"default\"}]}]}";
+
+    public enum SubscriberKind {
+        NONE,
+        TOGGLE_EVALUATED,
+        IMPRESSIONS
+    }
+
+    @Param({"NONE", "TOGGLE_EVALUATED", "IMPRESSIONS"})
+    private SubscriberKind subscriberKind;
+
+    private final LongAdder received = new LongAdder();
+    private Unleash unleash;
+    private UnleashContext context;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        unleash =
+                new DefaultUnleash(
+                        UnleashConfig.builder()
+                                .unleashAPI("https://localhost:1500")
+                                .apiKey("irrelevant")
+                                .appName("EventDispatchBenchmark")
+                                .toggleBootstrapProvider(() -> Optional.of(FEATURES))
+                                .subscriber(subscriber())
+                                .fetchTogglesInterval(0)
+                                .disablePolling()
+                                .disableMetrics()
+                                .build());
+        context = UnleashContext.builder().userId("user-42").build();
+    }
+
+    private UnleashSubscriber subscriber() {
+        switch (subscriberKind) {
+            case TOGGLE_EVALUATED:
+                return new UnleashSubscriber() {
+                    @Override
+                    public void toggleEvaluated(ToggleEvaluated toggleEvaluated) {
+                        received.increment();
+                    }
+                };
+            case IMPRESSIONS:
+                return new UnleashSubscriber() {
+                    @Override
+                    public void impression(ImpressionEvent impressionEvent) {
+                        received.increment();
+                    }
+                };
+            default:
+                return new NoOpSubscriber();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        unleash.shutdown();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(EventDispatchBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public boolean isEnabled() {
+        return unleash.isEnabled("impressions", context);
+    }
+}
@@ -0,0 +1,140 @@
+package io.getunleash;
+
+import com.sun.net.httpserver.HttpServer;
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.repository.HttpFeatureFetcher;
+import io.getunleash.util.UnleashConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reading a 1, 10 or 50 MB feature payload from a local server, compared with the way
+ * HttpFeatureFetcher used to read it: line by line for plain bodies, and through a 1 KB buffer
+ * and a ByteArrayOutputStream for gzipped ones. Run with -prof gc and look at gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, timeUnit = TimeUnit.MILLISECONDS, time = 2000)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS, time = 4000)
+public class FeatureFetchBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int payloadMegabytes;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private HttpServer server;
+    private URL featuresUrl;
+    private HttpFeatureFetcher fetcher;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        byte[] features = features(payloadMegabytes * 1024 * 1024);
+        byte[] body = gzip ? gzip(features) : features;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(
+                "/api/client/features",
+                exchange -> {
+                    exchange.getResponseHeaders().set("Content-Type", "application/json");
+                    if (gzip) {
+                        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                    }
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+        server.start();
+
+        String api = "http://localhost:" + server.getAddress().getPort() + "/api/";
+        featuresUrl = new URL(api + "client/features");
+        fetcher =
+                new HttpFeatureFetcher(
+                        UnleashConfig.builder()
+                                .appName("FeatureFetchBenchmark")
+                                .unleashAPI(api)
+                                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private static byte[] features(int bytes) {
+        int perFeature = BenchmarkFeatures.features(100, ToggleSet.PLAIN).length() / 100;
+        return BenchmarkFeatures.features(bytes / perFeature + 1, ToggleSet.PLAIN)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream stream = new GZIPOutputStream(compressed)) {
+            stream.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(FeatureFetchBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public String fetchFeatures() {
+        ClientFeaturesResponse response = fetcher.fetchFeatures();
+        return response.getClientFeatures().get();
+    }
+
+    @Benchmark
+    public String fetchFeaturesPreviousReader() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) featuresUrl.openConnection();
+        connection.setRequestProperty("Accept-Encoding", "gzip,deflate");
+        try {
+            if ("gzip".equalsIgnoreCase(connection.getHeaderField("Content-Encoding"))) {
+                try (GZIPInputStream stream = new GZIPInputStream(connection.getInputStream());
+                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+                    byte[] buffer = new byte[1024];
+                    int len;
+                    while ((len = stream.read(buffer)) != -1) {
+                        outputStream.write(buffer, 0, len);
+                    }
+                    return outputStream.toString("UTF-8");
+                }
+            }
+            try (BufferedReader reader =
+                    new BufferedReader(
+                            new InputStreamReader(
+                                    connection.getInputStream(), StandardCharsets.UTF_8))) {
+                return reader.lines().collect(Collectors.joining("\n"));
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
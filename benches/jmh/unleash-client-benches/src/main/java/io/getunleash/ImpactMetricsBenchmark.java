@@ -0,0 +1,83 @@
+package io.getunleash;
+
+import io.getunleash.impactmetrics.MetricsAPI;
+import io.getunleash.util.UnleashConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Histogram observations from 1, 8 and 32 threads, all recording into the same histogram. */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, timeUnit = TimeUnit.MILLISECONDS, time = 1000)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS, time = 2000)
+public class ImpactMetricsBenchmark {
+
+    private static final String HISTOGRAM = "request_duration_seconds";
+
+    private Unleash unleash;
+    private MetricsAPI metrics;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        unleash =
+                new DefaultUnleash(
+                        UnleashConfig.builder()
+                                .unleashAPI("https://localhost:1500")
+                                .apiKey("irrelevant")
+                                .appName("ImpactMetricsBenchmark")
+                                .toggleBootstrapProvider(
+                                        () -> Optional.of("{\"version\":2,\"features\":[]}"))
+                                .fetchTogglesInterval(0)
+                                .disablePolling()
+                                .disableMetrics()
+                                .build());
+        metrics = unleash.getImpactMetrics();
+        metrics.defineHistogram(HISTOGRAM, "Benchmark request durations");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        unleash.shutdown();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(ImpactMetricsBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(opt).run();
+    }
+
+    private void observe() {
+        metrics.observeHistogram(HISTOGRAM, ThreadLocalRandom.current().nextDouble(0, 10));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void observeHistogram1Thread() {
+        observe();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void observeHistogram8Threads() {
+        observe();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void observeHistogram32Threads() {
+        observe();
+    }
+}
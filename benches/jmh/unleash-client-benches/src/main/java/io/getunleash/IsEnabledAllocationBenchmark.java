@@ -0,0 +1,104 @@
+package io.getunleash;
+
+import io.getunleash.util.UnleashConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SDK side allocations of a single evaluation. Run with -prof gc, the
+ * applyStaticFields benchmarks should report ~0 B/op; whatever the isEnabled benchmarks report on
+ * top of that is spent crossing into the engine.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, timeUnit = TimeUnit.MILLISECONDS, time = 2000)
+@Measurement(iterations = 5, timeUnit = TimeUnit.MILLISECONDS, time = 5000)
+public class IsEnabledAllocationBenchmark {
+
+    private static final String FEATURES =
+            "{\"version\":2,\"features\":["
+                    + "{\"name\":\"simple\",\"enabled\":true,\"strategies\":[{\"name\":\"default\"}]},"
+                    + "{\"name\":\"rollout\",\"enabled\":true,\"strategies\":[{\"name\":\"flexibleRollout\","
+                    + "\"parameters\":{\"rollout\":\"50\",\"stickiness\":\"userId\",\"groupId\":\"rollout\"}}]}"
+                    + "]}";
+
+    private static final List<String> BATCH = Arrays.asList("simple", "rollout", "missing");
+
+    private UnleashConfig config;
+    private Unleash unleash;
+    private UnleashContext requestContext;
+    private UnleashContext frozenContext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        config =
+                UnleashConfig.builder()
+                        .unleashAPI("https://localhost:1500")
+                        .apiKey("irrelevant")
+                        .appName("IsEnabledAllocationBenchmark")
+                        .toggleBootstrapProvider(() -> Optional.of(FEATURES))
+                        .fetchTogglesInterval(0)
+                        .disablePolling()
+                        .disableMetrics()
+                        .build();
+        unleash = new DefaultUnleash(config);
+        requestContext = UnleashContext.builder().userId("user-42").addProperty("tenant", "acme").build();
+        frozenContext = requestContext.freeze();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        unleash.shutdown();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(IsEnabledAllocationBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public UnleashContext applyStaticFieldsToEmptyContext() {
+        return UnleashContext.EMPTY.applyStaticFields(config);
+    }
+
+    @Benchmark
+    public UnleashContext applyStaticFieldsToRequestContext() {
+        return requestContext.applyStaticFields(config);
+    }
+
+    @Benchmark
+    public void isEnabledWithDefaultContext(Blackhole bh) {
+        bh.consume(unleash.isEnabled("simple"));
+    }
+
+    @Benchmark
+    public void isEnabledWithRequestContext(Blackhole bh) {
+        bh.consume(unleash.isEnabled("rollout", requestContext));
+    }
+
+    @Benchmark
+    public void isEnabledWithFrozenContext(Blackhole bh) {
+        bh.consume(unleash.isEnabled("rollout", frozenContext));
+    }
+
+    @Benchmark
+    public void evaluateBatchWithRequestContext(Blackhole bh) {
+        bh.consume(unleash.more().evaluateBatch(BATCH, requestContext));
+    }
+}
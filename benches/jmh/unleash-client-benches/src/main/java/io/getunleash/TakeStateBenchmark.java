@@ -0,0 +1,55 @@
+package io.getunleash;
+
+import io.getunleash.engine.UnleashEngine;
+import io.getunleash.engine.YggdrasilInvalidInputException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a full payload into the engine, which is what every poll or streaming update that
+ * changed something ends up doing.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, timeUnit = TimeUnit.MILLISECONDS, time = 1000)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS, time = 2000)
+public class TakeStateBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int featureCount;
+
+    @Param({"PLAIN", "CONSTRAINTS", "SEGMENTS"})
+    private ToggleSet toggleSet;
+
+    private String features;
+    private UnleashEngine engine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        features = BenchmarkFeatures.features(featureCount, toggleSet);
+        engine = new UnleashEngine();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt =
+                new OptionsBuilder()
+                        .include(TakeStateBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public UnleashEngine takeState() throws YggdrasilInvalidInputException {
+        engine.takeState(features);
+        return engine;
+    }
+}
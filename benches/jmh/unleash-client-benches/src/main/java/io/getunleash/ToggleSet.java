@@ -0,0 +1,11 @@
+package io.getunleash;
+
+/** The shape of the toggles generated by {@link BenchmarkFeatures}, from cheapest to evaluate. */
+public enum ToggleSet {
+    /** A single flexibleRollout strategy per toggle. */
+    PLAIN,
+    /** Five constraints on context properties in front of the rollout. */
+    CONSTRAINTS,
+    /** Three segments with two constraints each in front of the rollout. */
+    SEGMENTS
+}
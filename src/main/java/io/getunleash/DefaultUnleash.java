@@ -5,7 +5,10 @@ import static io.getunleash.variant.Variant.DISABLED_VARIANT;
 import io.getunleash.engine.FlatResponse;
 import io.getunleash.engine.VariantDef;
 import io.getunleash.event.EventDispatcher;
+import io.getunleash.event.FeatureSource;
+import io.getunleash.event.ImpressionSampling;
 import io.getunleash.event.IsEnabledImpressionEvent;
+import io.getunleash.event.SubscriberCallback;
 import io.getunleash.event.ToggleEvaluated;
 import io.getunleash.event.VariantImpressionEvent;
 import io.getunleash.impactmetrics.ImpactMetricContext;
@@ -13,27 +16,37 @@ import io.getunleash.impactmetrics.ImpactMetricRegistryAndDataSource;
 import io.getunleash.impactmetrics.MetricsAPI;
 import io.getunleash.impactmetrics.MetricsAPIImpl;
 import io.getunleash.impactmetrics.VariantResolver;
+import io.getunleash.lang.Nullable;
 import io.getunleash.repository.FeatureRepository;
 import io.getunleash.repository.YggdrasilAdapters;
 import io.getunleash.strategy.*;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.variant.Variant;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiPredicate;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class DefaultUnleash implements Unleash {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultUnleash.class);
 
+    private static final BiPredicate<String, UnleashContext> DISABLED_FALLBACK =
+            (toggleName, context) -> false;
+
     private static ConcurrentHashMap<String, LongAdder> initCounts = new ConcurrentHashMap<>();
 
     private final FeatureRepository featureRepository;
     private final UnleashContextProvider contextProvider;
     private final EventDispatcher eventDispatcher;
+    private final ImpressionSampling impressionSampling;
     private final UnleashConfig config;
     private final MetricsAPI impactMetrics;
 
@@ -75,6 +88,7 @@ public class DefaultUnleash implements Unleash {
         this.featureRepository = engineProxy;
         this.contextProvider = contextProvider;
         this.eventDispatcher = eventDispatcher;
+        this.impressionSampling = unleashConfig.getImpressionSampling();
 
         ImpactMetricRegistryAndDataSource registry = unleashConfig.getImpactMetricsRegistry();
         VariantResolver variantResolver = this::getVariantForImpactMetrics;
@@ -120,15 +134,27 @@ public class DefaultUnleash implements Unleash {
             UnleashContext context,
             BiPredicate<String, UnleashContext> fallbackAction) {
 
-        UnleashContext enhancedContext = context.applyStaticFields(config);
+        return isEnabled(toggleName, context, context.applyStaticFields(config), fallbackAction);
+    }
 
-        Optional<FlatResponse<Boolean>> response =
-                Optional.ofNullable(this.featureRepository.isEnabled(toggleName, enhancedContext));
+    private boolean isEnabled(
+            String toggleName,
+            UnleashContext context,
+            UnleashContext enhancedContext,
+            BiPredicate<String, UnleashContext> fallbackAction) {
+        FlatResponse<Boolean> response =
+                this.featureRepository.isEnabled(toggleName, enhancedContext);
         boolean enabled =
-                response.flatMap(r -> Optional.ofNullable(r.value))
-                        .orElseGet(() -> fallbackAction.test(toggleName, enhancedContext));
-        eventDispatcher.dispatch(new ToggleEvaluated(toggleName, enabled));
-        if (response.map(r -> r.impressionData).orElse(false)) {
+                response != null && response.value != null
+                        ? response.value
+                        : fallbackAction.test(toggleName, enhancedContext);
+        if (eventDispatcher.isObserved(SubscriberCallback.TOGGLE_EVALUATED)) {
+            eventDispatcher.dispatch(new ToggleEvaluated(toggleName, enabled));
+        }
+        if (response != null
+                && response.impressionData
+                && eventDispatcher.isObserved(SubscriberCallback.IMPRESSION)
+                && impressionSampling.isSampled(toggleName)) {
             eventDispatcher.dispatch(new IsEnabledImpressionEvent(toggleName, enabled, context));
         }
         return enabled;
@@ -151,10 +177,15 @@ public class DefaultUnleash implements Unleash {
 
     @Override
     public Variant getVariant(String toggleName, UnleashContext context, Variant defaultValue) {
-        Optional<FlatResponse<VariantDef>> response = getVariantResponse(toggleName, context);
+        FlatResponse<VariantDef> response = getVariantResponse(toggleName, context);
         Variant variant = resolveVariant(response, defaultValue);
-        eventDispatcher.dispatch(new ToggleEvaluated(toggleName, variant.isFeatureEnabled()));
-        if (response.map(r -> r.impressionData).orElse(false)) {
+        if (eventDispatcher.isObserved(SubscriberCallback.TOGGLE_EVALUATED)) {
+            eventDispatcher.dispatch(new ToggleEvaluated(toggleName, variant.isFeatureEnabled()));
+        }
+        if (response != null
+                && response.impressionData
+                && eventDispatcher.isObserved(SubscriberCallback.IMPRESSION)
+                && impressionSampling.isSampled(toggleName)) {
             eventDispatcher.dispatch(
                     new VariantImpressionEvent(
                             toggleName, variant.isFeatureEnabled(), context, variant.getName()));
@@ -163,26 +194,78 @@ public class DefaultUnleash implements Unleash {
     }
 
     private Variant getVariantForImpactMetrics(String toggleName, UnleashContext context) {
-        Optional<FlatResponse<VariantDef>> response = getVariantResponse(toggleName, context);
+        FlatResponse<VariantDef> response = getVariantResponse(toggleName, context);
         return resolveVariant(response, Variant.DISABLED_VARIANT);
     }
 
-    private Optional<FlatResponse<VariantDef>> getVariantResponse(
-            String toggleName, UnleashContext context) {
+    @Nullable
+    private FlatResponse<VariantDef> getVariantResponse(String toggleName, UnleashContext context) {
         UnleashContext enhancedContext = context.applyStaticFields(config);
-        return Optional.ofNullable(this.featureRepository.getVariant(toggleName, enhancedContext));
+        return this.featureRepository.getVariant(toggleName, enhancedContext);
     }
 
     private Variant resolveVariant(
-            Optional<FlatResponse<VariantDef>> response, Variant defaultValue) {
-        Optional<VariantDef> variantDef = response.map(r -> r.value);
-        return YggdrasilAdapters.adapt(variantDef, defaultValue);
+            @Nullable FlatResponse<VariantDef> response, Variant defaultValue) {
+        return YggdrasilAdapters.adapt(response != null ? response.value : null, defaultValue);
+    }
+
+    /**
+     * Completes once the client has toggles to evaluate, whether fetched from Unleash or loaded
+     * from the backup or bootstrap provider, with where they came from. Unlike {@link
+     * io.getunleash.event.UnleashSubscriber#onReady}, it also completes for a client that got its
+     * toggles before the caller asked. Bound the wait with {@link CompletableFuture#orTimeout} or
+     * {@link CompletableFuture#get(long, TimeUnit)}.
+     *
+     * <p>Unless the client is ready already, the future completes on the client's scheduler, so
+     * what is chained onto it never runs while toggles are being loaded.
+     *
+     * @return a future of its own for every call, so completing it doesn't affect other callers
+     */
+    public CompletableFuture<FeatureSource> whenReady() {
+        CompletableFuture<FeatureSource> readiness = featureRepository.getReadiness();
+        if (readiness.isDone()) {
+            return readiness.copy();
+        }
+        CompletableFuture<FeatureSource> handedOut = new CompletableFuture<>();
+        readiness.thenAccept(source -> completeLater(handedOut, source));
+        return handedOut;
+    }
+
+    private void completeLater(CompletableFuture<FeatureSource> handedOut, FeatureSource source) {
+        try {
+            config.getScheduledExecutor().scheduleOnce(() -> handedOut.complete(source));
+        } catch (RejectedExecutionException e) {
+            // The client shut down, there is nothing being loaded any more to hold up
+            handedOut.complete(source);
+        }
+    }
+
+    /**
+     * @return true if the client has toggles to evaluate, see {@link #whenReady()}
+     */
+    public boolean isReady() {
+        return featureRepository.getReadiness().isDone();
+    }
+
+    /**
+     * Waits up to the timeout for the client to have toggles to evaluate, see {@link #whenReady()}.
+     *
+     * @return where the toggles came from, or empty if there were none in time
+     */
+    public Optional<FeatureSource> awaitReady(Duration timeout) throws InterruptedException {
+        try {
+            return Optional.of(
+                    featureRepository.getReadiness().get(timeout.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException | ExecutionException e) {
+            return Optional.empty();
+        }
     }
 
     @Override
     public void shutdown() {
         featureRepository.shutdown();
         config.getScheduledExecutor().shutdown();
+        config.getEventBus().shutdown();
     }
 
     @Override
@@ -199,18 +282,12 @@ public class DefaultUnleash implements Unleash {
 
         @Override
         public List<String> getFeatureToggleNames() {
-            return featureRepository
-                    .listKnownToggles()
-                    .map(FeatureDefinition::getName)
-                    .collect(Collectors.toList());
+            return new ArrayList<>(featureRepository.getToggleNames());
         }
 
         @Override
         public Optional<FeatureDefinition> getFeatureToggleDefinition(String toggleName) {
-            return featureRepository
-                    .listKnownToggles()
-                    .filter(toggle -> toggle.getName().equals(toggleName))
-                    .findFirst();
+            return featureRepository.getToggleDefinition(toggleName);
         }
 
         @Override
@@ -220,21 +297,36 @@ public class DefaultUnleash implements Unleash {
 
         @Override
         public List<EvaluatedToggle> evaluateAllToggles(UnleashContext context) {
-            return featureRepository
-                    .listKnownToggles()
-                    .map(FeatureDefinition::getName)
-                    .map(
-                            toggleName -> {
-                                UnleashContext enhancedContext = context.applyStaticFields(config);
-                                FlatResponse<VariantDef> response =
-                                        featureRepository.getVariant(toggleName, enhancedContext);
-                                Optional<VariantDef> variantDef = Optional.of(response.value);
-                                Variant variant =
-                                        YggdrasilAdapters.adapt(variantDef, DISABLED_VARIANT);
-                                return new EvaluatedToggle(
-                                        toggleName, variant.isFeatureEnabled(), variant);
-                            })
-                    .collect(Collectors.toList());
+            UnleashContext enhancedContext = context.applyStaticFields(config).freeze();
+            List<String> toggleNames = featureRepository.getToggleNames();
+            List<EvaluatedToggle> toggles = new ArrayList<>(toggleNames.size());
+            for (String toggleName : toggleNames) {
+                Variant variant =
+                        resolveVariant(
+                                featureRepository.getVariant(toggleName, enhancedContext),
+                                DISABLED_VARIANT);
+                toggles.add(new EvaluatedToggle(toggleName, variant.isFeatureEnabled(), variant));
+            }
+            return toggles;
+        }
+
+        @Override
+        public EvaluatedToggles evaluateBatch(Collection<String> toggleNames) {
+            return evaluateBatch(toggleNames, contextProvider.getContext());
+        }
+
+        @Override
+        public EvaluatedToggles evaluateBatch(
+                Collection<String> toggleNames, UnleashContext context) {
+            UnleashContext enhancedContext = context.applyStaticFields(config).freeze();
+            String[] names = toggleNames.toArray(new String[0]);
+            BitSet enabled = new BitSet(names.length);
+            for (int i = 0; i < names.length; i++) {
+                if (isEnabled(names[i], context, enhancedContext, DISABLED_FALLBACK)) {
+                    enabled.set(i);
+                }
+            }
+            return new EvaluatedToggles(names, enabled);
         }
     }
 }
@@ -3,28 +3,43 @@ package io.getunleash;
 import io.getunleash.engine.FlatResponse;
 import io.getunleash.engine.UnleashEngine;
 import io.getunleash.engine.VariantDef;
+import io.getunleash.event.FeatureSource;
 import io.getunleash.lang.Nullable;
 import io.getunleash.metric.UnleashMetricService;
 import io.getunleash.metric.UnleashMetricServiceImpl;
 import io.getunleash.repository.FeatureRepositoryImpl;
 import io.getunleash.repository.YggdrasilAdapters;
+import io.getunleash.strategy.AsyncStrategyLoader;
 import io.getunleash.strategy.Strategy;
+import io.getunleash.strategy.StrategyCache;
 import io.getunleash.util.UnleashConfig;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class EngineProxyImpl implements EngineProxy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EngineProxyImpl.class);
 
     UnleashEngine unleashEngine;
     FeatureRepositoryImpl featureRepository;
     UnleashMetricService metricService;
+    private final AsyncStrategyLoader asyncStrategyLoader;
 
     public EngineProxyImpl(UnleashConfig unleashConfig, Strategy... strategies) {
-        Map<String, Strategy> strategyMap = buildStrategyMap(strategies);
+        this.asyncStrategyLoader = new AsyncStrategyLoader(unleashConfig.getAsyncStrategies());
+        Map<String, Strategy> strategyMap =
+                buildStrategyMap(
+                        strategies,
+                        asyncStrategyLoader.getStrategies(),
+                        unleashConfig.getStrategyCaches());
+        asyncStrategyLoader.start();
 
         this.unleashEngine =
                 new UnleashEngine(
@@ -63,12 +78,31 @@ public class EngineProxyImpl implements EngineProxy {
         return this.featureRepository.listKnownToggles();
     }
 
+    @Override
+    public List<String> getToggleNames() {
+        return this.featureRepository.getToggleNames();
+    }
+
+    @Override
+    public Optional<FeatureDefinition> getToggleDefinition(String toggleName) {
+        return this.featureRepository.getToggleDefinition(toggleName);
+    }
+
+    @Override
+    public CompletableFuture<FeatureSource> getReadiness() {
+        return this.featureRepository.getReadiness();
+    }
+
     @Override
     public void shutdown() {
+        asyncStrategyLoader.close();
         this.featureRepository.shutdown();
     }
 
-    private static Map<String, Strategy> buildStrategyMap(@Nullable Strategy[] strategies) {
+    private static Map<String, Strategy> buildStrategyMap(
+            @Nullable Strategy[] strategies,
+            List<Strategy> asyncStrategies,
+            List<StrategyCache> strategyCaches) {
         Map<String, Strategy> map = new HashMap<>();
 
         if (strategies != null) {
@@ -77,6 +111,21 @@ public class EngineProxyImpl implements EngineProxy {
             }
         }
 
+        for (Strategy asyncStrategy : asyncStrategies) {
+            map.put(asyncStrategy.getName(), asyncStrategy);
+        }
+
+        for (StrategyCache cache : strategyCaches) {
+            Strategy strategy = map.get(cache.getStrategyName());
+            if (strategy == null) {
+                LOGGER.warn(
+                        "No strategy named {} is registered, its strategy cache won't be used",
+                        cache.getStrategyName());
+                continue;
+            }
+            map.put(cache.getStrategyName(), cache.wrap(strategy));
+        }
+
         return map;
     }
 }
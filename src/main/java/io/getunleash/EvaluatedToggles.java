@@ -0,0 +1,74 @@
+package io.getunleash;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of {@link MoreOperations#evaluateBatch}. Toggles keep the position they had in the
+ * requested collection, and their states are packed into a single {@link BitSet}.
+ */
+public class EvaluatedToggles {
+    private final String[] toggleNames;
+    private final BitSet enabled;
+
+    EvaluatedToggles(String[] toggleNames, BitSet enabled) {
+        this.toggleNames = toggleNames;
+        this.enabled = enabled;
+    }
+
+    /** Picks the requested toggles from all evaluated toggles, unknown toggles are disabled. */
+    static EvaluatedToggles select(
+            Collection<String> toggleNames, List<EvaluatedToggle> evaluatedToggles) {
+        Map<String, Boolean> byName = new HashMap<>(evaluatedToggles.size() * 2);
+        for (EvaluatedToggle toggle : evaluatedToggles) {
+            byName.put(toggle.getName(), toggle.isEnabled());
+        }
+        String[] names = toggleNames.toArray(new String[0]);
+        BitSet enabled = new BitSet(names.length);
+        for (int i = 0; i < names.length; i++) {
+            enabled.set(i, byName.getOrDefault(names[i], false));
+        }
+        return new EvaluatedToggles(names, enabled);
+    }
+
+    public int size() {
+        return toggleNames.length;
+    }
+
+    public String getName(int index) {
+        return toggleNames[index];
+    }
+
+    public boolean isEnabled(int index) {
+        if (index < 0 || index >= toggleNames.length) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for length " + toggleNames.length);
+        }
+        return enabled.get(index);
+    }
+
+    /**
+     * @return whether the toggle was enabled, or false if it was not part of the batch.
+     */
+    public boolean isEnabled(String toggleName) {
+        for (int i = 0; i < toggleNames.length; i++) {
+            if (toggleNames[i].equals(toggleName)) {
+                return enabled.get(i);
+            }
+        }
+        return false;
+    }
+
+    public Map<String, Boolean> asMap() {
+        Map<String, Boolean> map = new LinkedHashMap<>();
+        for (int i = 0; i < toggleNames.length; i++) {
+            map.put(toggleNames[i], enabled.get(i));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
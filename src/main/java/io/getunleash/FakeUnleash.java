@@ -268,5 +268,21 @@ public class FakeUnleash implements Unleash {
                                             getVariant(toggleName)))
                     .collect(Collectors.toList());
         }
+
+        @Override
+        public EvaluatedToggles evaluateBatch(Collection<String> toggleNames) {
+            return evaluateBatch(toggleNames, UnleashContext.EMPTY);
+        }
+
+        @Override
+        public EvaluatedToggles evaluateBatch(
+                Collection<String> toggleNames, UnleashContext context) {
+            String[] names = toggleNames.toArray(new String[0]);
+            BitSet enabled = new BitSet(names.length);
+            for (int i = 0; i < names.length; i++) {
+                enabled.set(i, isEnabled(names[i], context));
+            }
+            return new EvaluatedToggles(names, enabled);
+        }
     }
 }
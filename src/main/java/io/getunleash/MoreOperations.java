@@ -1,5 +1,6 @@
 package io.getunleash;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +20,27 @@ public interface MoreOperations {
      * @return
      */
     List<EvaluatedToggle> evaluateAllToggles(UnleashContext context);
+
+    /**
+     * Evaluate the given toggles against the default context. The default implementation picks them
+     * from {@link #evaluateAllToggles()}, implementations should override it with a cheaper
+     * evaluation of just the requested toggles.
+     */
+    default EvaluatedToggles evaluateBatch(Collection<String> toggleNames) {
+        return EvaluatedToggles.select(toggleNames, evaluateAllToggles());
+    }
+
+    /**
+     * Evaluate the given toggles against a single context. The context is enriched and frozen once
+     * for the whole batch, which makes this cheaper than calling {@link Unleash#isEnabled} in a
+     * loop. Usage metrics and impression events are still recorded for every toggle, and toggles
+     * unknown to the SDK evaluate to false.
+     *
+     * @param toggleNames the toggles to evaluate, duplicates are evaluated again
+     * @param context the context to evaluate the toggles with
+     * @return the states of the toggles, in the order they were requested
+     */
+    default EvaluatedToggles evaluateBatch(Collection<String> toggleNames, UnleashContext context) {
+        return EvaluatedToggles.select(toggleNames, evaluateAllToggles(context));
+    }
 }
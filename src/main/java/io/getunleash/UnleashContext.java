@@ -1,14 +1,25 @@
 package io.getunleash;
 
+import io.getunleash.engine.Context;
 import io.getunleash.lang.Nullable;
+import io.getunleash.repository.YggdrasilAdapters;
 import io.getunleash.util.UnleashConfig;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 public class UnleashContext {
+    /**
+     * A context without any fields set. Its properties can not be modified, which allows it to be
+     * shared between threads and evaluations.
+     */
+    public static final UnleashContext EMPTY =
+            new UnleashContext(null, null, null, null, null, null, Collections.emptyMap());
+
     private final Optional<String> appName;
     private final Optional<String> environment;
     private final Optional<String> userId;
@@ -17,6 +28,16 @@ public class UnleashContext {
     private final Optional<ZonedDateTime> currentTime;
 
     private final Map<String, String> properties;
+    private final boolean frozen;
+
+    /** The adapted engine context of a frozen context, computed on first evaluation. */
+    @Nullable private volatile Context engineContext;
+
+    /**
+     * The result of the last {@link #applyStaticFields(UnleashConfig)} call, reused as long as the
+     * static fields of the config stay the same.
+     */
+    @Nullable private volatile UnleashContext withStaticFields;
 
     public UnleashContext(
             String userId, String sessionId, String remoteAddress, Map<String, String> properties) {
@@ -48,6 +69,30 @@ public class UnleashContext {
         this.remoteAddress = Optional.ofNullable(remoteAddress);
         this.currentTime = Optional.ofNullable(currentTime);
         this.properties = properties;
+        this.frozen = false;
+    }
+
+    private UnleashContext(
+            Optional<String> appName, Optional<String> environment, UnleashContext source) {
+        this.appName = appName;
+        this.environment = environment;
+        this.userId = source.userId;
+        this.sessionId = source.sessionId;
+        this.remoteAddress = source.remoteAddress;
+        this.currentTime = source.currentTime;
+        this.properties = source.properties;
+        this.frozen = source.frozen;
+    }
+
+    private UnleashContext(UnleashContext source, ZonedDateTime currentTime) {
+        this.appName = source.appName;
+        this.environment = source.environment;
+        this.userId = source.userId;
+        this.sessionId = source.sessionId;
+        this.remoteAddress = source.remoteAddress;
+        this.currentTime = Optional.of(currentTime);
+        this.properties = Collections.unmodifiableMap(new HashMap<>(source.properties));
+        this.frozen = true;
     }
 
     public Optional<String> getUserId() {
@@ -95,15 +140,74 @@ public class UnleashContext {
         }
     }
 
+    /**
+     * Fills in appName and environment from the config when they are not set on this context.
+     * Returns this context when both are already set. Otherwise the enriched context shares the
+     * properties of this context and is remembered, so applying the same config again does not
+     * allocate.
+     *
+     * @param config the config providing the static fields
+     * @return a context with appName and environment set
+     */
     public UnleashContext applyStaticFields(UnleashConfig config) {
-        Builder builder = new Builder(this);
-        if (!this.environment.isPresent()) {
-            builder.environment(config.getEnvironment());
+        if (this.environment.isPresent() && this.appName.isPresent()) {
+            return this;
+        }
+        String staticAppName = this.appName.orElse(config.getAppName());
+        String staticEnvironment = this.environment.orElse(config.getEnvironment());
+
+        UnleashContext enriched = this.withStaticFields;
+        if (enriched != null
+                && Objects.equals(enriched.appName.orElse(null), staticAppName)
+                && Objects.equals(enriched.environment.orElse(null), staticEnvironment)) {
+            return enriched;
+        }
+        enriched =
+                new UnleashContext(
+                        Optional.ofNullable(staticAppName),
+                        Optional.ofNullable(staticEnvironment),
+                        this);
+        this.withStaticFields = enriched;
+        return enriched;
+    }
+
+    /**
+     * Returns a frozen copy of this context, meant to be reused for many evaluations, e.g. all
+     * toggles evaluated while handling one request. The frozen copy has its properties copied into
+     * an unmodifiable map and its current time pinned to now if it was not set, so every evaluation
+     * sees the same time. It is adapted for the evaluation engine once, on first use, instead of on
+     * every evaluation.
+     *
+     * @return a frozen copy of this context, or this context if it is already frozen
+     */
+    public UnleashContext freeze() {
+        if (frozen) {
+            return this;
+        }
+        return new UnleashContext(
+                this, currentTime.orElseGet(() -> ZonedDateTime.now(ZoneOffset.UTC)));
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * The context as passed to the evaluation engine. A frozen context computes it once and returns
+     * the same read-only instance afterwards, any other context is adapted on every call.
+     *
+     * @return the engine context for this context
+     */
+    public Context getEngineContext() {
+        if (!frozen) {
+            return YggdrasilAdapters.adapt(this);
         }
-        if (!this.appName.isPresent()) {
-            builder.appName(config.getAppName());
+        Context adapted = this.engineContext;
+        if (adapted == null) {
+            adapted = YggdrasilAdapters.adaptFrozen(this);
+            this.engineContext = adapted;
         }
-        return builder.build();
+        return adapted;
     }
 
     public static Builder builder() {
@@ -4,6 +4,6 @@ public interface UnleashContextProvider {
     UnleashContext getContext();
 
     static UnleashContextProvider getDefaultProvider() {
-        return () -> UnleashContext.builder().build();
+        return () -> UnleashContext.EMPTY;
     }
 }
@@ -2,6 +2,7 @@ package io.getunleash.event;
 
 import io.getunleash.FeatureDefinition;
 import io.getunleash.util.ClientFeaturesParser;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,8 @@ public final class ClientFeaturesResponse implements UnleashEvent {
     private final Status statusCode;
     private final int httpStatusCode;
     private final Optional<String> location;
+    private final boolean delta;
+    private final Optional<Duration> retryAfter;
     private List<FeatureDefinition> features;
 
     private ClientFeaturesResponse(
@@ -23,10 +26,22 @@ public final class ClientFeaturesResponse implements UnleashEvent {
             int httpStatusCode,
             Optional<String> clientFeatures,
             Optional<String> location) {
+        this(status, httpStatusCode, clientFeatures, location, false, Optional.empty());
+    }
+
+    private ClientFeaturesResponse(
+            Status status,
+            int httpStatusCode,
+            Optional<String> clientFeatures,
+            Optional<String> location,
+            boolean delta,
+            Optional<Duration> retryAfter) {
         this.statusCode = status;
         this.clientFeatures = clientFeatures;
         this.httpStatusCode = httpStatusCode;
         this.location = location;
+        this.delta = delta;
+        this.retryAfter = retryAfter;
     }
 
     public static ClientFeaturesResponse notChanged() {
@@ -39,11 +54,28 @@ public final class ClientFeaturesResponse implements UnleashEvent {
                 Status.CHANGED, 200, Optional.of(clientFeatures), Optional.empty());
     }
 
+    /**
+     * @param events changes in the format of the delta API, applied on top of the current state
+     */
+    public static ClientFeaturesResponse delta(String events) {
+        return new ClientFeaturesResponse(
+                Status.CHANGED, 200, Optional.of(events), Optional.empty(), true, Optional.empty());
+    }
+
     public static ClientFeaturesResponse unavailable(int statusCode, Optional<String> location) {
         return new ClientFeaturesResponse(
                 Status.UNAVAILABLE, statusCode, Optional.empty(), location);
     }
 
+    /**
+     * @param retryAfter how long the Unleash API asked us to wait, from its Retry-After header
+     */
+    public static ClientFeaturesResponse unavailable(
+            int statusCode, Optional<String> location, Optional<Duration> retryAfter) {
+        return new ClientFeaturesResponse(
+                Status.UNAVAILABLE, statusCode, Optional.empty(), location, false, retryAfter);
+    }
+
     public Optional<String> getClientFeatures() {
         return clientFeatures;
     }
@@ -56,8 +88,16 @@ public final class ClientFeaturesResponse implements UnleashEvent {
         return statusCode;
     }
 
+    /**
+     * @return true if {@link #getClientFeatures()} holds delta events rather than the full set of
+     *     features. {@link #getFeatures()} is null for those.
+     */
+    public boolean isDelta() {
+        return delta;
+    }
+
     public List<FeatureDefinition> getFeatures() {
-        if (clientFeatures.isPresent() && features == null) {
+        if (clientFeatures.isPresent() && !delta && features == null) {
             features = ClientFeaturesParser.parse(clientFeatures.get());
         }
         return features;
@@ -67,6 +107,10 @@ public final class ClientFeaturesResponse implements UnleashEvent {
         return location.orElse(null);
     }
 
+    public Optional<Duration> getRetryAfter() {
+        return retryAfter;
+    }
+
     @Override
     public String toString() {
         return "ClientFeatureResponse:"
@@ -0,0 +1,156 @@
+package io.getunleash.event;
+
+import io.getunleash.lang.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RingBuffer} with a single drain task that hands every queued element to the consumer.
+ * Producers only schedule a new drain when none is pending, so a burst of elements costs one task
+ * and elements are consumed in the order they were offered. A queue created with {@link #batched}
+ * hands them over as lists instead, of at most the given batch size.
+ *
+ * <p>With {@link OverflowPolicy#BLOCK}, a full queue makes producers wait for at most {@link
+ * #MAX_BLOCK_NANOS} before the element is dropped after all. Producers on the thread that drains
+ * never wait: the drain can't run while they do, and with a single-threaded scheduler that holds
+ * for every task on it, not just the drain itself.
+ */
+final class DrainingQueue<E> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DrainingQueue.class);
+    private static final long MAX_BLOCK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RingBuffer<E> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final Consumer<Runnable> scheduler;
+    @Nullable private final Consumer<E> consumer;
+    @Nullable private final Consumer<List<E>> batchConsumer;
+    private final int maxBatchSize;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final LongAdder dropped = new LongAdder();
+    // The thread the last drain ran on, which is the scheduler's thread if it only has one
+    @Nullable private volatile Thread drainerThread;
+
+    DrainingQueue(
+            int capacity,
+            OverflowPolicy overflowPolicy,
+            Consumer<Runnable> scheduler,
+            Consumer<E> consumer) {
+        this(capacity, overflowPolicy, scheduler, consumer, null, 1);
+    }
+
+    private DrainingQueue(
+            int capacity,
+            OverflowPolicy overflowPolicy,
+            Consumer<Runnable> scheduler,
+            @Nullable Consumer<E> consumer,
+            @Nullable Consumer<List<E>> batchConsumer,
+            int maxBatchSize) {
+        this.buffer = new RingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.scheduler = scheduler;
+        this.consumer = consumer;
+        this.batchConsumer = batchConsumer;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    static <E> DrainingQueue<E> batched(
+            int capacity,
+            int maxBatchSize,
+            OverflowPolicy overflowPolicy,
+            Consumer<Runnable> scheduler,
+            Consumer<List<E>> batchConsumer) {
+        return new DrainingQueue<>(
+                capacity, overflowPolicy, scheduler, null, batchConsumer, maxBatchSize);
+    }
+
+    /**
+     * @return false if the element was dropped because the queue was full
+     */
+    boolean offer(E element) {
+        long deadline = 0;
+        while (!buffer.offer(element)) {
+            if (overflowPolicy == OverflowPolicy.DROP || Thread.currentThread() == drainerThread) {
+                dropped.increment();
+                return false;
+            }
+            if (deadline == 0) {
+                deadline = System.nanoTime() + MAX_BLOCK_NANOS;
+            } else if (System.nanoTime() - deadline > 0) {
+                LOGGER.debug("Gave up waiting for the queue to make room");
+                dropped.increment();
+                return false;
+            }
+            scheduleDrain();
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    int size() {
+        return buffer.size();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.accept(this::drain);
+            } catch (RuntimeException e) {
+                drainScheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        drainerThread = Thread.currentThread();
+        do {
+            if (batchConsumer != null) {
+                drainBatches(batchConsumer);
+            } else {
+                drainElements(consumer);
+            }
+            drainScheduled.set(false);
+            // An element offered after the last poll may have seen the drain as still scheduled
+        } while (!buffer.isEmpty() && drainScheduled.compareAndSet(false, true));
+    }
+
+    private void drainElements(Consumer<E> consumer) {
+        E element;
+        while ((element = buffer.poll()) != null) {
+            try {
+                consumer.accept(element);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Subscriber failed to handle {}", element, e);
+            }
+        }
+    }
+
+    private void drainBatches(Consumer<List<E>> batchConsumer) {
+        E element;
+        while ((element = buffer.poll()) != null) {
+            List<E> batch = new ArrayList<>(Math.min(maxBatchSize, buffer.size() + 1));
+            batch.add(element);
+            while (batch.size() < maxBatchSize && (element = buffer.poll()) != null) {
+                batch.add(element);
+            }
+            try {
+                batchConsumer.accept(Collections.unmodifiableList(batch));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Subscriber failed to handle a batch of {} events", batch.size(), e);
+            }
+        }
+    }
+}
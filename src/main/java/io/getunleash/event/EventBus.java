@@ -0,0 +1,55 @@
+package io.getunleash.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fans events out to the additional subscribers registered on {@link
+ * io.getunleash.util.UnleashConfig.Builder#addSubscriber}. Every subscriber gets its own bounded
+ * queue and executor, so a slow subscriber drops its own events instead of holding up toggle
+ * fetching, metrics or the other subscribers. Each subscriber receives events in the order they
+ * were dispatched.
+ */
+public final class EventBus {
+    private final List<SubscriberChannel> channels;
+
+    public EventBus(List<SubscriberRegistration> registrations) {
+        List<SubscriberChannel> channels = new ArrayList<>(registrations.size());
+        for (SubscriberRegistration registration : registrations) {
+            channels.add(new SubscriberChannel(registration));
+        }
+        this.channels = Collections.unmodifiableList(channels);
+    }
+
+    boolean isObserved(SubscriberCallback callback) {
+        for (SubscriberChannel channel : channels) {
+            if (channel.isObserved(callback)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void publish(UnleashEvent event) {
+        for (SubscriberChannel channel : channels) {
+            channel.publish(event);
+        }
+    }
+
+    /**
+     * @return one snapshot per registered subscriber, in registration order
+     */
+    public List<SubscriberQueueMetrics> getSubscriberMetrics() {
+        List<SubscriberQueueMetrics> metrics = new ArrayList<>(channels.size());
+        for (SubscriberChannel channel : channels) {
+            metrics.add(channel.getMetrics());
+        }
+        return metrics;
+    }
+
+    /** Stops the threads created for subscribers that were registered without an executor. */
+    public void shutdown() {
+        channels.forEach(SubscriberChannel::shutdown);
+    }
+}
@@ -1,23 +1,157 @@
 package io.getunleash.event;
 
+import io.getunleash.lang.Nullable;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class EventDispatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventDispatcher.class);
+    private static final int MAX_IMPRESSION_BATCH_SIZE = 256;
 
     private final UnleashSubscriber unleashSubscriber;
     private final UnleashScheduledExecutor unleashScheduledExecutor;
+    private final Set<SubscriberCallback> observedCallbacks;
+    private final EventBus eventBus;
+    private final int toggleEvaluationBufferSize;
+    private final OverflowPolicy toggleEvaluationOverflowPolicy;
+    private final OverflowPolicy impressionOverflowPolicy;
+    private final AtomicBoolean warnedToggleEvaluationsDropped = new AtomicBoolean(false);
+    private final AtomicBoolean warnedImpressionsDropped = new AtomicBoolean(false);
+
+    @Nullable private volatile DrainingQueue<ToggleEvaluated> toggleEvaluations;
+    @Nullable private volatile DrainingQueue<ImpressionEvent> impressions;
 
     public EventDispatcher(UnleashConfig unleashConfig) {
         this.unleashSubscriber = unleashConfig.getSubscriber();
         this.unleashScheduledExecutor = unleashConfig.getScheduledExecutor();
+        this.observedCallbacks = SubscriberCallback.observedBy(unleashSubscriber);
+        this.eventBus = unleashConfig.getEventBus();
+        this.toggleEvaluationBufferSize = unleashConfig.getToggleEvaluationBufferSize();
+        this.toggleEvaluationOverflowPolicy = unleashConfig.getToggleEvaluationOverflowPolicy();
+        this.impressionOverflowPolicy = unleashConfig.getImpressionOverflowPolicy();
+    }
+
+    /**
+     * Lets callers skip building events, and dispatching them, when the configured subscribers
+     * would ignore them anyway.
+     *
+     * @return false if no subscriber overrides either the callback or {@link UnleashSubscriber#on}
+     */
+    public boolean isObserved(SubscriberCallback callback) {
+        return observedCallbacks.contains(callback) || eventBus.isObserved(callback);
+    }
+
+    /**
+     * @return how many {@link ToggleEvaluated} events were discarded because the buffer was full
+     */
+    public long getDroppedToggleEvaluations() {
+        DrainingQueue<ToggleEvaluated> queue = toggleEvaluations;
+        return queue != null ? queue.getDropped() : 0;
+    }
+
+    /**
+     * @return how many {@link ImpressionEvent}s were discarded because the buffer was full
+     */
+    public long getDroppedImpressions() {
+        DrainingQueue<ImpressionEvent> queue = impressions;
+        return queue != null ? queue.getDropped() : 0;
     }
 
     public void dispatch(UnleashEvent unleashEvent) {
-        unleashScheduledExecutor.scheduleOnce(
-                () -> {
-                    unleashSubscriber.on(unleashEvent);
-                    unleashEvent.publishTo(unleashSubscriber);
-                });
+        eventBus.publish(unleashEvent);
+        SubscriberCallback callback = SubscriberCallback.of(unleashEvent);
+        if (callback != null && !observedCallbacks.contains(callback)) {
+            return;
+        }
+        if (unleashEvent instanceof ToggleEvaluated) {
+            dispatchToggleEvaluated((ToggleEvaluated) unleashEvent);
+            return;
+        }
+        if (unleashEvent instanceof ImpressionEvent) {
+            dispatchImpression((ImpressionEvent) unleashEvent);
+            return;
+        }
+        unleashScheduledExecutor.scheduleOnce(() -> publish(unleashEvent));
+    }
+
+    private void publish(UnleashEvent unleashEvent) {
+        unleashSubscriber.on(unleashEvent);
+        unleashEvent.publishTo(unleashSubscriber);
+    }
+
+    /**
+     * Evaluations are queued in a ring buffer instead of becoming an executor task each. Only one
+     * drain task is scheduled at a time, and it publishes everything queued up until then.
+     */
+    private void dispatchToggleEvaluated(ToggleEvaluated toggleEvaluated) {
+        DrainingQueue<ToggleEvaluated> queue = toggleEvaluationQueue();
+        if (!queue.offer(toggleEvaluated)
+                && warnedToggleEvaluationsDropped.compareAndSet(false, true)) {
+            LOGGER.warn(
+                    "Dropping toggle evaluation events, the subscriber can't keep up. Consider increasing toggleEvaluationBufferSize");
+        }
+    }
+
+    private void publishImpressions(List<ImpressionEvent> impressionEvents) {
+        for (ImpressionEvent impressionEvent : impressionEvents) {
+            unleashSubscriber.on(impressionEvent);
+        }
+        unleashSubscriber.impressions(impressionEvents);
+    }
+
+    /**
+     * Impressions share the buffer size of toggle evaluations, but have an overflow policy of their
+     * own and reach the subscriber as batches through {@link UnleashSubscriber#impressions}.
+     */
+    private void dispatchImpression(ImpressionEvent impressionEvent) {
+        DrainingQueue<ImpressionEvent> queue = impressionQueue();
+        if (!queue.offer(impressionEvent) && warnedImpressionsDropped.compareAndSet(false, true)) {
+            LOGGER.warn(
+                    "Dropping impression events, the subscriber can't keep up. Consider increasing toggleEvaluationBufferSize or sampling impressions");
+        }
+    }
+
+    private DrainingQueue<ImpressionEvent> impressionQueue() {
+        DrainingQueue<ImpressionEvent> queue = impressions;
+        if (queue == null) {
+            synchronized (this) {
+                queue = impressions;
+                if (queue == null) {
+                    queue =
+                            DrainingQueue.batched(
+                                    toggleEvaluationBufferSize,
+                                    MAX_IMPRESSION_BATCH_SIZE,
+                                    impressionOverflowPolicy,
+                                    unleashScheduledExecutor::scheduleOnce,
+                                    this::publishImpressions);
+                    impressions = queue;
+                }
+            }
+        }
+        return queue;
+    }
+
+    private DrainingQueue<ToggleEvaluated> toggleEvaluationQueue() {
+        DrainingQueue<ToggleEvaluated> queue = toggleEvaluations;
+        if (queue == null) {
+            synchronized (this) {
+                queue = toggleEvaluations;
+                if (queue == null) {
+                    queue =
+                            new DrainingQueue<>(
+                                    toggleEvaluationBufferSize,
+                                    toggleEvaluationOverflowPolicy,
+                                    unleashScheduledExecutor::scheduleOnce,
+                                    this::publish);
+                    toggleEvaluations = queue;
+                }
+            }
+        }
+        return queue;
     }
 }
@@ -0,0 +1,21 @@
+package io.getunleash.event;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random version 4 UUIDs for events. {@link UUID#randomUUID()} draws from a shared {@link
+ * java.security.SecureRandom}, which is contended and much slower than needed for ids that only
+ * have to be unique.
+ */
+final class EventIds {
+
+    private EventIds() {}
+
+    static String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
@@ -0,0 +1,11 @@
+package io.getunleash.event;
+
+/** Where a client got the toggles it serves from, from the least to the most recent. */
+public enum FeatureSource {
+    /** The bootstrap provider, usually a file shipped with the application */
+    BOOTSTRAP,
+    /** The backup the client wrote the last time it fetched toggles */
+    BACKUP,
+    /** The Unleash API, by polling or streaming */
+    NETWORK
+}
@@ -0,0 +1,66 @@
+package io.getunleash.event;
+
+import java.time.Duration;
+
+/**
+ * Published once a fetched feature payload has gone through every stage of an update: fetching it,
+ * loading it into the engine and writing it to the backup file.
+ */
+public final class FeaturesUpdated implements UnleashEvent {
+    private final int payloadLength;
+    private final Duration fetchDuration;
+    private final Duration ingestDuration;
+    private final Duration backupDuration;
+
+    public FeaturesUpdated(
+            int payloadLength,
+            Duration fetchDuration,
+            Duration ingestDuration,
+            Duration backupDuration) {
+        this.payloadLength = payloadLength;
+        this.fetchDuration = fetchDuration;
+        this.ingestDuration = ingestDuration;
+        this.backupDuration = backupDuration;
+    }
+
+    /**
+     * @return the length of the feature payload, in characters
+     */
+    public int getPayloadLength() {
+        return payloadLength;
+    }
+
+    public Duration getFetchDuration() {
+        return fetchDuration;
+    }
+
+    /**
+     * @return how long the engine took to parse the payload and swap it in
+     */
+    public Duration getIngestDuration() {
+        return ingestDuration;
+    }
+
+    public Duration getBackupDuration() {
+        return backupDuration;
+    }
+
+    @Override
+    public void publishTo(UnleashSubscriber unleashSubscriber) {
+        unleashSubscriber.featuresUpdated(this);
+    }
+
+    @Override
+    public String toString() {
+        return "FeaturesUpdated{"
+                + "payloadLength="
+                + payloadLength
+                + ", fetchDuration="
+                + fetchDuration
+                + ", ingestDuration="
+                + ingestDuration
+                + ", backupDuration="
+                + backupDuration
+                + '}';
+    }
+}
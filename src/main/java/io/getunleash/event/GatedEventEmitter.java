@@ -17,10 +17,22 @@ public final class GatedEventEmitter {
         }
     }
 
+    public boolean isObserved(SubscriberCallback callback) {
+        return eventDispatcher.isObserved(callback);
+    }
+
     public void update(ClientFeaturesResponse clientFeaturesResponse) {
         eventDispatcher.dispatch(clientFeaturesResponse);
     }
 
+    public void updated(FeaturesUpdated featuresUpdated) {
+        eventDispatcher.dispatch(featuresUpdated);
+    }
+
+    public void startupCompleted(StartupCompleted startupCompleted) {
+        eventDispatcher.dispatch(startupCompleted);
+    }
+
     public void error(UnleashException exception) {
         eventDispatcher.dispatch(exception);
     }
@@ -1,7 +1,7 @@
 package io.getunleash.event;
 
 import io.getunleash.UnleashContext;
-import java.util.UUID;
+import java.util.Collections;
 
 public class ImpressionEvent implements UnleashEvent {
     private String featureName;
@@ -29,7 +29,7 @@ public class ImpressionEvent implements UnleashEvent {
     public ImpressionEvent(String featureName, boolean enabled, UnleashContext context) {
         this.featureName = featureName;
         this.enabled = enabled;
-        this.eventId = UUID.randomUUID().toString();
+        this.eventId = EventIds.next();
         this.context = context;
     }
 
@@ -42,6 +42,6 @@ public class ImpressionEvent implements UnleashEvent {
 
     @Override
     public void publishTo(UnleashSubscriber unleashSubscriber) {
-        unleashSubscriber.impression(this);
+        unleashSubscriber.impressions(Collections.singletonList(this));
     }
 }
@@ -0,0 +1,46 @@
+package io.getunleash.event;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which evaluations of a toggle with impression data enabled produce an {@link
+ * ImpressionEvent}. Rates go from 0 (never) to 1 (always), and toggles without a rate of their own
+ * use the default rate.
+ */
+public final class ImpressionSampling {
+    public static final ImpressionSampling ALL =
+            new ImpressionSampling(1.0, Collections.emptyMap());
+
+    private final double defaultRate;
+    private final Map<String, Double> toggleRates;
+
+    public ImpressionSampling(double defaultRate, Map<String, Double> toggleRates) {
+        checkRate("impression sample rate", defaultRate);
+        toggleRates.forEach((toggleName, rate) -> checkRate(toggleName, rate));
+        this.defaultRate = defaultRate;
+        this.toggleRates = Collections.unmodifiableMap(new HashMap<>(toggleRates));
+    }
+
+    private static void checkRate(String name, double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException(
+                    "The sample rate of " + name + " must be between 0 and 1, was " + rate);
+        }
+    }
+
+    public double getSampleRate(String toggleName) {
+        if (toggleRates.isEmpty()) {
+            return defaultRate;
+        }
+        Double rate = toggleRates.get(toggleName);
+        return rate != null ? rate : defaultRate;
+    }
+
+    public boolean isSampled(String toggleName) {
+        double rate = getSampleRate(toggleName);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,13 @@
+package io.getunleash.event;
+
+/** What to do with an event when the buffer it is queued in is full. */
+public enum OverflowPolicy {
+    /** Discard the event and count it as dropped. */
+    DROP,
+    /**
+     * Wait for the dispatcher to make room, slowing down the caller. The event is dropped after all
+     * if no room is made within a second, or right away on the thread that delivers events, which
+     * could otherwise wait for itself.
+     */
+    BLOCK
+}
@@ -0,0 +1,51 @@
+package io.getunleash.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published by a client using parallel startup once every source of toggles has either delivered
+ * them or turned out to have none. The network counts as delivered with its first set of toggles,
+ * or as having none if the first fetch fails.
+ */
+public final class StartupCompleted implements UnleashEvent {
+    private final Map<FeatureSource, Duration> timings;
+    private final List<FeatureSource> loaded;
+
+    public StartupCompleted(Map<FeatureSource, Duration> timings, List<FeatureSource> loaded) {
+        Map<FeatureSource, Duration> copy = new EnumMap<>(FeatureSource.class);
+        copy.putAll(timings);
+        this.timings = Collections.unmodifiableMap(copy);
+        this.loaded = Collections.unmodifiableList(new ArrayList<>(loaded));
+    }
+
+    /**
+     * @return how long after the client started each source had its toggles, for the sources that
+     *     had any
+     */
+    public Map<FeatureSource, Duration> getTimings() {
+        return timings;
+    }
+
+    /**
+     * @return the sources whose toggles were loaded, in order. A source that delivered after a more
+     *     recent one is left out, and the last is what the client serves.
+     */
+    public List<FeatureSource> getLoaded() {
+        return loaded;
+    }
+
+    @Override
+    public void publishTo(UnleashSubscriber unleashSubscriber) {
+        unleashSubscriber.startupCompleted(this);
+    }
+
+    @Override
+    public String toString() {
+        return "StartupCompleted{" + "timings=" + timings + ", loaded=" + loaded + '}';
+    }
+}
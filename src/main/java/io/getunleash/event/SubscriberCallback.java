@@ -0,0 +1,90 @@
+package io.getunleash.event;
+
+import io.getunleash.lang.Nullable;
+import io.getunleash.metric.ClientMetrics;
+import io.getunleash.metric.ClientRegistration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@link UnleashSubscriber} callbacks an event can be published to. Errors are left out on
+ * purpose, since the default {@link UnleashSubscriber#onError} logs them and is therefore always
+ * interested.
+ */
+public enum SubscriberCallback {
+    READY("onReady", UnleashReady.class),
+    TOGGLE_EVALUATED("toggleEvaluated", ToggleEvaluated.class),
+    TOGGLES_FETCHED("togglesFetched", ClientFeaturesResponse.class),
+    CLIENT_METRICS("clientMetrics", ClientMetrics.class),
+    CLIENT_REGISTERED("clientRegistered", ClientRegistration.class),
+    FEATURES_BOOTSTRAPPED("featuresBootstrapped", FeatureSet.class),
+    FEATURES_BACKED_UP("featuresBackedUp", FeatureSet.class),
+    FEATURES_BACKUP_RESTORED("featuresBackupRestored", FeatureSet.class),
+    FEATURES_UPDATED("featuresUpdated", FeaturesUpdated.class),
+    STARTUP_COMPLETED("startupCompleted", StartupCompleted.class),
+    IMPRESSION("impression", ImpressionEvent.class);
+
+    private final String methodName;
+    private final Class<?> parameterType;
+
+    SubscriberCallback(String methodName, Class<?> parameterType) {
+        this.methodName = methodName;
+        this.parameterType = parameterType;
+    }
+
+    /**
+     * @return the callbacks the subscriber overrides, or all of them if it overrides {@link
+     *     UnleashSubscriber#on}
+     */
+    static Set<SubscriberCallback> observedBy(UnleashSubscriber subscriber) {
+        if (overrides(subscriber, "on", UnleashEvent.class)) {
+            return EnumSet.allOf(SubscriberCallback.class);
+        }
+        Set<SubscriberCallback> observed = EnumSet.noneOf(SubscriberCallback.class);
+        for (SubscriberCallback callback : values()) {
+            if (overrides(subscriber, callback.methodName, callback.parameterType)) {
+                observed.add(callback);
+            }
+        }
+        if (overrides(subscriber, "impressions", List.class)) {
+            observed.add(IMPRESSION);
+        }
+        return observed;
+    }
+
+    static boolean overrides(
+            UnleashSubscriber subscriber, String methodName, Class<?> parameterType) {
+        try {
+            return subscriber.getClass().getMethod(methodName, parameterType).getDeclaringClass()
+                    != UnleashSubscriber.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * @return the callback the event is published to, or null if it can't be told up front
+     */
+    @Nullable
+    static SubscriberCallback of(UnleashEvent event) {
+        if (event instanceof ToggleEvaluated) {
+            return TOGGLE_EVALUATED;
+        } else if (event instanceof ImpressionEvent) {
+            return IMPRESSION;
+        } else if (event instanceof ClientFeaturesResponse) {
+            return TOGGLES_FETCHED;
+        } else if (event instanceof ClientMetrics) {
+            return CLIENT_METRICS;
+        } else if (event instanceof ClientRegistration) {
+            return CLIENT_REGISTERED;
+        } else if (event instanceof UnleashReady) {
+            return READY;
+        } else if (event instanceof FeaturesUpdated) {
+            return FEATURES_UPDATED;
+        } else if (event instanceof StartupCompleted) {
+            return STARTUP_COMPLETED;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,101 @@
+package io.getunleash.event;
+
+import io.getunleash.UnleashException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Delivers events to one subscriber, in order, from its own queue and executor. */
+final class SubscriberChannel {
+    private final UnleashSubscriber subscriber;
+    private final Set<SubscriberCallback> observedCallbacks;
+    private final boolean errorsObserved;
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final DrainingQueue<Envelope> queue;
+    private volatile long lastLagNanos;
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    SubscriberChannel(SubscriberRegistration registration) {
+        this.subscriber = registration.getSubscriber();
+        this.observedCallbacks = SubscriberCallback.observedBy(subscriber);
+        this.errorsObserved =
+                SubscriberCallback.overrides(subscriber, "on", UnleashEvent.class)
+                        || SubscriberCallback.overrides(
+                                subscriber, "onError", UnleashException.class);
+        this.ownsExecutor = registration.getExecutor() == null;
+        this.executor = ownsExecutor ? newExecutor() : registration.getExecutor();
+        this.queue =
+                new DrainingQueue<>(
+                        registration.getQueueCapacity(),
+                        OverflowPolicy.DROP,
+                        executor::execute,
+                        this::deliver);
+    }
+
+    private static ExecutorService newExecutor() {
+        return Executors.newSingleThreadExecutor(
+                runnable -> {
+                    Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                    thread.setName("unleash-subscriber-executor");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    boolean isObserved(SubscriberCallback callback) {
+        return observedCallbacks.contains(callback);
+    }
+
+    void publish(UnleashEvent event) {
+        SubscriberCallback callback = SubscriberCallback.of(event);
+        boolean observed =
+                callback != null
+                        ? observedCallbacks.contains(callback)
+                        : !(event instanceof UnleashException) || errorsObserved;
+        if (observed) {
+            queue.offer(new Envelope(event, System.nanoTime()));
+        }
+    }
+
+    private void deliver(Envelope envelope) {
+        long lag = System.nanoTime() - envelope.enqueuedAt;
+        lastLagNanos = lag;
+        maxLagNanos.accumulateAndGet(lag, Math::max);
+        subscriber.on(envelope.event);
+        envelope.event.publishTo(subscriber);
+    }
+
+    SubscriberQueueMetrics getMetrics() {
+        return new SubscriberQueueMetrics(
+                subscriber,
+                queue.size(),
+                queue.getDropped(),
+                Duration.ofNanos(lastLagNanos),
+                Duration.ofNanos(maxLagNanos.get()));
+    }
+
+    void shutdown() {
+        if (ownsExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private static final class Envelope {
+        private final UnleashEvent event;
+        private final long enqueuedAt;
+
+        private Envelope(UnleashEvent event, long enqueuedAt) {
+            this.event = event;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(event);
+        }
+    }
+}
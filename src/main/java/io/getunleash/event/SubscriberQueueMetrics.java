@@ -0,0 +1,57 @@
+package io.getunleash.event;
+
+import java.time.Duration;
+
+/** A snapshot of the queue in front of a subscriber registered on the {@link EventBus}. */
+public final class SubscriberQueueMetrics {
+    private final UnleashSubscriber subscriber;
+    private final int queueDepth;
+    private final long droppedEvents;
+    private final Duration lastLag;
+    private final Duration maxLag;
+
+    SubscriberQueueMetrics(
+            UnleashSubscriber subscriber,
+            int queueDepth,
+            long droppedEvents,
+            Duration lastLag,
+            Duration maxLag) {
+        this.subscriber = subscriber;
+        this.queueDepth = queueDepth;
+        this.droppedEvents = droppedEvents;
+        this.lastLag = lastLag;
+        this.maxLag = maxLag;
+    }
+
+    public UnleashSubscriber getSubscriber() {
+        return subscriber;
+    }
+
+    /**
+     * @return the number of events waiting to be delivered
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * @return the number of events discarded because the queue was full
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * @return how long the most recently delivered event waited in the queue
+     */
+    public Duration getLastLag() {
+        return lastLag;
+    }
+
+    /**
+     * @return the longest any event has waited in the queue
+     */
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+}
@@ -0,0 +1,41 @@
+package io.getunleash.event;
+
+import io.getunleash.lang.Nullable;
+import java.util.concurrent.Executor;
+
+/** An additional subscriber, together with how its events should be queued and delivered. */
+public final class SubscriberRegistration {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final UnleashSubscriber subscriber;
+    @Nullable private final Executor executor;
+    private final int queueCapacity;
+
+    /**
+     * @param subscriber the subscriber to deliver events to
+     * @param executor runs the deliveries, or null to give the subscriber a thread of its own
+     * @param queueCapacity how many events can wait for the subscriber before new ones are dropped
+     */
+    public SubscriberRegistration(
+            UnleashSubscriber subscriber, @Nullable Executor executor, int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1");
+        }
+        this.subscriber = subscriber;
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public UnleashSubscriber getSubscriber() {
+        return subscriber;
+    }
+
+    @Nullable
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+}
@@ -3,6 +3,7 @@ package io.getunleash.event;
 import io.getunleash.UnleashException;
 import io.getunleash.metric.ClientMetrics;
 import io.getunleash.metric.ClientRegistration;
+import java.util.List;
 import org.slf4j.LoggerFactory;
 
 public interface UnleashSubscriber {
@@ -30,5 +31,19 @@ public interface UnleashSubscriber {
 
     default void featuresBackupRestored(FeatureSet featureCollection) {}
 
+    default void featuresUpdated(FeaturesUpdated featuresUpdated) {}
+
+    default void startupCompleted(StartupCompleted startupCompleted) {}
+
     default void impression(ImpressionEvent impressionEvent) {}
+
+    /**
+     * Receives impression events in batches, in the order the toggles were evaluated. Calls {@link
+     * #impression} for each event unless overridden.
+     */
+    default void impressions(List<ImpressionEvent> impressionEvents) {
+        for (ImpressionEvent impressionEvent : impressionEvents) {
+            impression(impressionEvent);
+        }
+    }
 }
@@ -12,6 +12,8 @@ import io.getunleash.util.InstantSerializer;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashURLs;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
 import java.net.URL;
@@ -73,7 +75,7 @@ public class DefaultHttpMetricsSender implements MetricSender {
 
     private int post(URL url, Object o) throws UnleashException {
 
-        HttpURLConnection connection = null;
+        HttpURLConnection connection;
         try {
             if (this.unleashConfig.getProxy() != null) {
                 connection = (HttpURLConnection) url.openConnection(this.unleashConfig.getProxy());
@@ -101,15 +103,22 @@ public class DefaultHttpMetricsSender implements MetricSender {
             connection.connect();
 
             // TODO should probably check response code to detect errors?
-            return connection.getResponseCode();
+            int responseCode = connection.getResponseCode();
+            // Reading the response to the end, rather than disconnecting, keeps the connection
+            // alive for the next post
+            try (InputStream response =
+                    responseCode < 400
+                            ? connection.getInputStream()
+                            : connection.getErrorStream()) {
+                if (response != null) {
+                    response.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            return responseCode;
         } catch (IOException e) {
             throw new UnleashException("Could not post to Unleash API", e);
         } catch (IllegalStateException e) {
             throw new UnleashException(e.getMessage(), e);
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
-            }
         }
     }
 }
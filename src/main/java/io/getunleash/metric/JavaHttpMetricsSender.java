@@ -0,0 +1,139 @@
+package io.getunleash.metric;
+
+import static io.getunleash.util.UnleashConfig.UNLEASH_INTERVAL;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.getunleash.UnleashException;
+import io.getunleash.event.EventDispatcher;
+import io.getunleash.impactmetrics.HistogramBucketSerializer;
+import io.getunleash.util.AtomicLongSerializer;
+import io.getunleash.util.DateTimeSerializer;
+import io.getunleash.util.InstantSerializer;
+import io.getunleash.util.UnleashConfig;
+import io.getunleash.util.UnleashHttpClient;
+import java.io.IOException;
+import java.net.URL;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends metrics through the {@link UnleashHttpClient} that the configuration shares with the
+ * feature fetcher. Set up with {@link UnleashConfig.Builder#pooledHttpClient()}.
+ */
+public class JavaHttpMetricsSender implements MetricSender {
+
+    private final Gson gson;
+    private final EventDispatcher eventDispatcher;
+    private final UnleashConfig unleashConfig;
+    private final UnleashHttpClient httpClient;
+    private final URL clientRegistrationURL;
+    private final URL clientMetricsURL;
+
+    public JavaHttpMetricsSender(UnleashConfig unleashConfig) {
+        this.unleashConfig = unleashConfig;
+        this.httpClient =
+                unleashConfig.getHttpClient() != null
+                        ? unleashConfig.getHttpClient()
+                        : new UnleashHttpClient(unleashConfig);
+        this.eventDispatcher = new EventDispatcher(unleashConfig);
+        this.clientMetricsURL = unleashConfig.getUnleashURLs().getClientMetricsURL();
+        this.clientRegistrationURL = unleashConfig.getUnleashURLs().getClientRegisterURL();
+
+        GsonBuilder gsonBuilder =
+                new GsonBuilder()
+                        .registerTypeAdapter(LocalDateTime.class, new DateTimeSerializer())
+                        .registerTypeAdapter(Instant.class, new InstantSerializer())
+                        .registerTypeAdapter(AtomicLong.class, new AtomicLongSerializer());
+
+        this.gson = HistogramBucketSerializer.Register(gsonBuilder).create();
+    }
+
+    @Override
+    public int registerClient(ClientRegistration registration) {
+        if (!unleashConfig.isDisableMetrics()) {
+            try {
+                int statusCode = post(clientRegistrationURL, registration);
+                eventDispatcher.dispatch(registration);
+                return statusCode;
+            } catch (UnleashException ex) {
+                eventDispatcher.dispatch(ex);
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int sendMetrics(ClientMetrics metrics) {
+        if (!unleashConfig.isDisableMetrics() && metrics.getBucket() != null) {
+            try {
+                int statusCode = post(clientMetricsURL, metrics);
+                eventDispatcher.dispatch(metrics);
+                return statusCode;
+            } catch (UnleashException ex) {
+                eventDispatcher.dispatch(ex);
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public CompletableFuture<Integer> sendMetricsAsync(ClientMetrics metrics) {
+        if (unleashConfig.isDisableMetrics() || metrics.getBucket() == null) {
+            return CompletableFuture.completedFuture(-1);
+        }
+        HttpRequest request;
+        try {
+            request = request(clientMetricsURL, metrics);
+        } catch (IllegalArgumentException e) {
+            eventDispatcher.dispatch(new UnleashException(e.getMessage(), e));
+            return CompletableFuture.completedFuture(-1);
+        }
+        return httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle(
+                        (response, failure) -> {
+                            if (failure != null) {
+                                eventDispatcher.dispatch(
+                                        new UnleashException(
+                                                "Could not post to Unleash API",
+                                                failure instanceof CompletionException
+                                                        ? failure.getCause()
+                                                        : failure));
+                                return -1;
+                            }
+                            eventDispatcher.dispatch(metrics);
+                            return response.statusCode();
+                        });
+    }
+
+    private HttpRequest request(URL url, Object o) {
+        return httpClient
+                .newRequest(url, unleashConfig.getSendMetricsReadTimeout())
+                .header(UNLEASH_INTERVAL, unleashConfig.getSendMetricsIntervalMillis())
+                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(o)))
+                .build();
+    }
+
+    private int post(URL url, Object o) throws UnleashException {
+        try {
+            HttpRequest request = request(url, o);
+            // Reading the (small) body to the end lets the connection go back to the pool
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            throw new UnleashException("Could not post to Unleash API", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnleashException("Interrupted while posting to Unleash API", e);
+        } catch (IllegalArgumentException e) {
+            throw new UnleashException(e.getMessage(), e);
+        }
+    }
+}
@@ -1,7 +1,24 @@
 package io.getunleash.metric;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface MetricSender {
     int registerClient(ClientRegistration registration);
 
     int sendMetrics(ClientMetrics metrics);
+
+    /**
+     * Sends without holding up the calling thread while waiting for the Unleash API. By default
+     * this calls {@link #sendMetrics} on the calling thread.
+     *
+     * @return a future completed with the status code, or -1 if the metrics could not be sent, or
+     *     exceptionally if sending failed with an exception
+     */
+    default CompletableFuture<Integer> sendMetricsAsync(ClientMetrics metrics) {
+        try {
+            return CompletableFuture.completedFuture(sendMetrics(metrics));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
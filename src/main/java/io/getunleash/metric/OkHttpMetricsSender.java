@@ -14,7 +14,10 @@ import io.getunleash.util.UnleashConfig;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -90,15 +93,45 @@ public class OkHttpMetricsSender implements MetricSender {
         return -1;
     }
 
-    private int post(HttpUrl url, Object o) {
+    @Override
+    public CompletableFuture<Integer> sendMetricsAsync(ClientMetrics metrics) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        if (config.isDisableMetrics()) {
+            future.complete(-1);
+            return future;
+        }
+        client.newCall(request(clientMetricsUrl, metrics))
+                .enqueue(
+                        new Callback() {
+                            @Override
+                            public void onResponse(Call call, Response response) {
+                                try (response) {
+                                    eventDispatcher.dispatch(metrics);
+                                    future.complete(response.code());
+                                }
+                            }
+
+                            @Override
+                            public void onFailure(Call call, IOException e) {
+                                eventDispatcher.dispatch(
+                                        new UnleashException("Could not post to Unleash API", e));
+                                future.complete(-1);
+                            }
+                        });
+        return future;
+    }
+
+    private Request request(HttpUrl url, Object o) {
         RequestBody body = RequestBody.create(gson.toJson(o), JSON);
-        Request request =
-                new Request.Builder()
-                        .url(url)
-                        .post(body)
-                        .addHeader(UNLEASH_INTERVAL, config.getSendMetricsIntervalMillis())
-                        .build();
-        try (Response response = this.client.newCall(request).execute()) {
+        return new Request.Builder()
+                .url(url)
+                .post(body)
+                .addHeader(UNLEASH_INTERVAL, config.getSendMetricsIntervalMillis())
+                .build();
+    }
+
+    private int post(HttpUrl url, Object o) {
+        try (Response response = this.client.newCall(request(url, o)).execute()) {
             return response.code();
         } catch (IOException ioEx) {
             throw new UnleashException("Could not post to Unleash API", ioEx);
@@ -1,7 +1,9 @@
 package io.getunleash.metric;
 
+import io.getunleash.UnleashException;
 import io.getunleash.engine.MetricsBucket;
 import io.getunleash.engine.UnleashEngine;
+import io.getunleash.event.EventDispatcher;
 import io.getunleash.impactmetrics.CollectedMetric;
 import io.getunleash.impactmetrics.ImpactMetricRegistryAndDataSource;
 import io.getunleash.util.Throttler;
@@ -11,11 +13,13 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class UnleashMetricServiceImpl implements UnleashMetricService {
     private final LocalDateTime started;
     private final UnleashConfig unleashConfig;
     private final MetricSender metricSender;
+    private final EventDispatcher eventDispatcher;
 
     // synchronization is handled in the engine itself
     private final UnleashEngine engine;
@@ -24,6 +28,8 @@ public class UnleashMetricServiceImpl implements UnleashMetricService {
 
     private final ImpactMetricRegistryAndDataSource impactMetricsRegistry;
 
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+
     public UnleashMetricServiceImpl(
             UnleashConfig unleashConfig, UnleashScheduledExecutor executor, UnleashEngine engine) {
         this(
@@ -41,6 +47,7 @@ public class UnleashMetricServiceImpl implements UnleashMetricService {
         this.started = LocalDateTime.now(ZoneId.of("UTC"));
         this.unleashConfig = unleashConfig;
         this.metricSender = metricSender;
+        this.eventDispatcher = new EventDispatcher(unleashConfig);
         this.throttler =
                 new Throttler(
                         (int) unleashConfig.getSendMetricsInterval(),
@@ -60,34 +67,64 @@ public class UnleashMetricServiceImpl implements UnleashMetricService {
         metricSender.registerClient(registration);
     }
 
+    /**
+     * Only starts sending on the scheduler thread. A tick that comes while the previous metrics are
+     * still being sent is left out, so the next send starts after the previous one completed.
+     */
     private Runnable sendMetrics() {
         return () -> {
-            if (throttler.performAction()) {
+            if (!sending.compareAndSet(false, true)) {
+                return;
+            }
+            if (!throttler.performAction()) {
+                throttler.skipped();
+                sending.set(false);
+                return;
+            }
+            List<CollectedMetric> collected = null;
+            try {
                 MetricsBucket bucket = this.engine.getMetrics();
 
-                List<CollectedMetric> impactMetrics = impactMetricsRegistry.collect();
-                List<CollectedMetric> impactMetricsOrNull =
-                        impactMetrics.isEmpty() ? null : impactMetrics;
+                collected = impactMetricsRegistry.collect();
+                List<CollectedMetric> impactMetricsOrNull = collected.isEmpty() ? null : collected;
 
                 ClientMetrics metrics =
                         new ClientMetrics(unleashConfig, bucket, impactMetricsOrNull);
-                int statusCode = metricSender.sendMetrics(metrics);
-                if (statusCode >= 200 && statusCode < 400) {
-                    throttler.decrementFailureCountAndResetSkips();
-                }
-                if (statusCode >= 400) {
-                    throttler.handleHttpErrorCodes(statusCode);
-                    if (impactMetricsOrNull != null) {
-                        impactMetricsRegistry.restore(impactMetricsOrNull);
-                    }
+                metricSender
+                        .sendMetricsAsync(metrics)
+                        .whenComplete(
+                                (statusCode, failure) -> {
+                                    try {
+                                        onSent(
+                                                failure != null ? -1 : statusCode,
+                                                impactMetricsOrNull);
+                                    } finally {
+                                        sending.set(false);
+                                    }
+                                });
+            } catch (RuntimeException e) {
+                // Nothing will complete this send, so the next tick has to be able to start one
+                if (collected != null && !collected.isEmpty()) {
+                    impactMetricsRegistry.restore(collected);
                 }
-
-            } else {
-                throttler.skipped();
+                sending.set(false);
+                eventDispatcher.dispatch(new UnleashException("Could not send metrics", e));
             }
         };
     }
 
+    private void onSent(int statusCode, List<CollectedMetric> impactMetricsOrNull) {
+        if (statusCode >= 200 && statusCode < 400) {
+            throttler.decrementFailureCountAndResetSkips();
+        }
+        if (statusCode >= 400) {
+            throttler.handleHttpErrorCodes(statusCode);
+            if (impactMetricsOrNull != null) {
+                impactMetricsRegistry.restore(impactMetricsOrNull);
+            }
+        }
+    }
+
     protected int getSkips() {
         return this.throttler.getSkips();
     }
@@ -4,15 +4,19 @@ import io.getunleash.engine.UnleashEngine;
 import io.getunleash.event.EventDispatcher;
 import io.getunleash.event.GatedEventEmitter;
 import io.getunleash.util.UnleashConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class AdaptiveFetcher implements FetchWorker, ModeController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveFetcher.class);
 
     interface WorkersProvider {
         Workers create(
                 UnleashConfig config,
                 BackupHandler backup,
                 UnleashEngine engine,
-                ModeController controller);
+                ModeController controller,
+                EngineStateListener stateListener);
     }
 
     static final class Workers {
@@ -29,19 +33,49 @@ public class AdaptiveFetcher implements FetchWorker, ModeController {
             UnleashConfig config,
             BackupHandler backup,
             UnleashEngine engine,
-            ModeController controller) {
-        GatedEventEmitter eventEmitter = new GatedEventEmitter(new EventDispatcher(config));
+            ModeController controller,
+            EngineStateListener stateListener) {
+        return defaultWorkers(
+                config,
+                backup,
+                engine,
+                controller,
+                stateListener,
+                new GatedEventEmitter(new EventDispatcher(config)));
+    }
 
+    private static Workers defaultWorkers(
+            UnleashConfig config,
+            BackupHandler backup,
+            UnleashEngine engine,
+            ModeController controller,
+            EngineStateListener stateListener,
+            GatedEventEmitter eventEmitter) {
+        FeatureFetcher fetcher = config.getUnleashFeatureFetcherFactory().apply(config);
+        Runnable deltaFailureListener = () -> {};
+        if (config.isDeltaPollingMode()) {
+            if (fetcher instanceof DeltaTransport) {
+                DeltaFeatureFetcher deltaFetcher =
+                        new DeltaFeatureFetcher((DeltaTransport) fetcher);
+                deltaFailureListener = deltaFetcher::deltaFailed;
+                fetcher = deltaFetcher;
+            } else {
+                LOGGER.warn(
+                        "{} can't request deltas, polling for all features instead",
+                        fetcher.getClass().getName());
+            }
+        }
         PollingFeatureFetcher polling =
                 new PollingFeatureFetcher(
                         config,
-                        config.getUnleashFeatureFetcherFactory().apply(config),
-                        engine,
-                        backup,
-                        eventEmitter);
+                        fetcher,
+                        eventEmitter,
+                        new FeatureUpdatePipeline(
+                                engine, backup, stateListener, eventEmitter, deltaFailureListener));
 
         StreamingFeatureFetcherImpl streaming =
-                new StreamingFeatureFetcherImpl(config, eventEmitter, engine, backup, controller);
+                new StreamingFeatureFetcherImpl(
+                        config, eventEmitter, engine, backup, controller, stateListener);
 
         return new Workers(polling, streaming);
     }
@@ -51,16 +85,47 @@ public class AdaptiveFetcher implements FetchWorker, ModeController {
     private final boolean startWithStreaming;
 
     public AdaptiveFetcher(UnleashConfig config, BackupHandler backup, UnleashEngine engine) {
-        this(config, backup, engine, AdaptiveFetcher::defaultWorkers);
+        this(config, backup, engine, () -> {});
+    }
+
+    AdaptiveFetcher(
+            UnleashConfig config,
+            BackupHandler backup,
+            UnleashEngine engine,
+            EngineStateListener stateListener) {
+        this(config, backup, engine, stateListener, AdaptiveFetcher::defaultWorkers);
+    }
+
+    /** Reports fetches, errors and readiness through the given emitter. */
+    AdaptiveFetcher(
+            UnleashConfig config,
+            BackupHandler backup,
+            UnleashEngine engine,
+            EngineStateListener stateListener,
+            GatedEventEmitter eventEmitter) {
+        this(
+                config,
+                backup,
+                engine,
+                stateListener,
+                (cfg, backupHandler, unleashEngine, controller, listener) ->
+                        defaultWorkers(
+                                cfg,
+                                backupHandler,
+                                unleashEngine,
+                                controller,
+                                listener,
+                                eventEmitter));
     }
 
     AdaptiveFetcher(
             UnleashConfig config,
             BackupHandler backup,
             UnleashEngine engine,
+            EngineStateListener stateListener,
             WorkersProvider provider) {
         this.startWithStreaming = config.isStreamingMode();
-        Workers workers = provider.create(config, backup, engine, this);
+        Workers workers = provider.create(config, backup, engine, this, stateListener);
 
         this.pollingFetcher = workers.polling;
         this.streamingFetcher = workers.streaming;
@@ -0,0 +1,54 @@
+package io.getunleash.repository;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes backups on an executor of its own, so that a slow disk doesn't hold up the thread that
+ * received the features. A state still waiting to be written is replaced by a newer one, only the
+ * latest of a burst of updates reaches the disk.
+ */
+final class BackupWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackupWriter.class);
+
+    private final BackupHandler backupHandler;
+    private final Executor executor;
+    private final AtomicReference<String> pending = new AtomicReference<>();
+
+    BackupWriter(BackupHandler backupHandler, Executor executor) {
+        this.backupHandler = backupHandler;
+        this.executor = executor;
+    }
+
+    void submit(String state) {
+        if (pending.getAndSet(state) == null) {
+            executor.execute(this::writePending);
+        }
+    }
+
+    void start() {
+        // A state submitted while stopped was never scheduled
+        pending.set(null);
+        StageExecutor.startIfStage(executor);
+    }
+
+    /** Discards the state waiting to be written. */
+    void stop() {
+        StageExecutor.stopIfStage(executor);
+        pending.set(null);
+    }
+
+    private void writePending() {
+        String state = pending.getAndSet(null);
+        if (state == null) {
+            return;
+        }
+        try {
+            backupHandler.write(state);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unleash could not write the feature backup", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.getunleash.repository;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.getunleash.UnleashException;
+import io.getunleash.event.ClientFeaturesResponse;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the delta API for the changes since the last revision, which the engine applies on top of
+ * its current state. When the changes don't follow on from what was applied before, the revision is
+ * dropped and the next response hydrates the full state. If the Unleash API has no delta endpoint,
+ * every later poll goes to the full feature fetcher instead.
+ */
+final class DeltaFeatureFetcher implements FeatureFetcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeltaFeatureFetcher.class);
+    private static final long NO_REVISION = -1;
+
+    private final DeltaTransport deltaFetcher;
+    private final FeatureFetcher fullFetcher;
+    private volatile boolean deltasUnsupported;
+    private volatile long lastEventId = NO_REVISION;
+
+    /** Sends the delta requests through the client of the full fetcher. */
+    DeltaFeatureFetcher(DeltaTransport fullFetcher) {
+        this(fullFetcher.forDeltas(), fullFetcher);
+    }
+
+    DeltaFeatureFetcher(DeltaTransport deltaFetcher, FeatureFetcher fullFetcher) {
+        this.deltaFetcher = deltaFetcher;
+        this.fullFetcher = fullFetcher;
+    }
+
+    @Override
+    public ClientFeaturesResponse fetchFeatures() throws UnleashException {
+        try {
+            return fetchFeaturesAsync().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof UnleashException
+                    ? (UnleashException) e.getCause()
+                    : new UnleashException("Could not fetch toggles", e.getCause());
+        }
+    }
+
+    /**
+     * Every request, including the hydration or full fetch that may follow a delta, goes through
+     * the asynchronous path of its fetcher, so polling never waits for the Unleash API.
+     */
+    @Override
+    public CompletableFuture<ClientFeaturesResponse> fetchFeaturesAsync() {
+        if (deltasUnsupported) {
+            return fullFetcher.fetchFeaturesAsync();
+        }
+        return deltaFetcher.fetchFeaturesAsync().thenCompose(this::onDelta);
+    }
+
+    private CompletableFuture<ClientFeaturesResponse> onDelta(ClientFeaturesResponse response) {
+        if (isUnsupported(response)) {
+            LOGGER.warn(
+                    "The Unleash API responded {} to a delta request, polling for all features instead",
+                    response.getHttpStatusCode());
+            deltasUnsupported = true;
+            return fullFetcher.fetchFeaturesAsync();
+        }
+        if (response.getStatus() != ClientFeaturesResponse.Status.CHANGED) {
+            return CompletableFuture.completedFuture(response);
+        }
+        Events events = Events.scan(response.getClientFeatures().get());
+        if (!events.hydration
+                && (lastEventId == NO_REVISION || events.firstEventId <= lastEventId)) {
+            LOGGER.info(
+                    "Delta starting at event {} doesn't follow event {}, fetching all features",
+                    events.firstEventId,
+                    lastEventId);
+            deltaFailed();
+            return deltaFetcher.fetchFeaturesAsync().thenCompose(this::onHydration);
+        }
+        return CompletableFuture.completedFuture(accepted(response, events));
+    }
+
+    private CompletableFuture<ClientFeaturesResponse> onHydration(ClientFeaturesResponse response) {
+        if (response.getStatus() != ClientFeaturesResponse.Status.CHANGED) {
+            return CompletableFuture.completedFuture(response);
+        }
+        Events events = Events.scan(response.getClientFeatures().get());
+        if (!events.hydration) {
+            return fullFetcher.fetchFeaturesAsync();
+        }
+        return CompletableFuture.completedFuture(accepted(response, events));
+    }
+
+    private ClientFeaturesResponse accepted(ClientFeaturesResponse response, Events events) {
+        if (events.lastEventId == NO_REVISION) {
+            return ClientFeaturesResponse.notChanged();
+        }
+        lastEventId = events.lastEventId;
+        return response;
+    }
+
+    /**
+     * Called when the engine couldn't apply a delta this fetcher returned. Its state no longer
+     * matches the revision, so the next fetch asks for a hydration instead of the changes since.
+     */
+    void deltaFailed() {
+        deltaFetcher.forgetRevision();
+        lastEventId = NO_REVISION;
+    }
+
+    private static boolean isUnsupported(ClientFeaturesResponse response) {
+        int status = response.getHttpStatusCode();
+        return response.getStatus() == ClientFeaturesResponse.Status.UNAVAILABLE
+                && (status == HttpURLConnection.HTTP_NOT_FOUND
+                        || status == HttpURLConnection.HTTP_BAD_METHOD
+                        || status == HttpURLConnection.HTTP_NOT_IMPLEMENTED);
+    }
+
+    /** The ids and types of the events in a delta, read without materialising the features. */
+    static final class Events {
+        final boolean hydration;
+        final long firstEventId;
+        final long lastEventId;
+
+        private Events(boolean hydration, long firstEventId, long lastEventId) {
+            this.hydration = hydration;
+            this.firstEventId = firstEventId;
+            this.lastEventId = lastEventId;
+        }
+
+        static Events scan(String delta) {
+            boolean hydration = false;
+            long first = NO_REVISION;
+            long last = NO_REVISION;
+            try (JsonReader reader = new JsonReader(new StringReader(delta))) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (!reader.nextName().equals("events")
+                            || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            String name = reader.nextName();
+                            if (name.equals("type")) {
+                                hydration |= reader.nextString().equals("hydration");
+                            } else if (name.equals("eventId")) {
+                                long eventId = reader.nextLong();
+                                first = first == NO_REVISION ? eventId : Math.min(first, eventId);
+                                last = Math.max(last, eventId);
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                    }
+                    reader.endArray();
+                }
+                reader.endObject();
+            } catch (IOException | IllegalStateException | NumberFormatException e) {
+                throw new UnleashException("Could not read the delta from the Unleash API", e);
+            }
+            return new Events(hydration, first, last);
+        }
+    }
+}
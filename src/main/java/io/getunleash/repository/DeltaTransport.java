@@ -0,0 +1,16 @@
+package io.getunleash.repository;
+
+/**
+ * A feature fetcher whose client can also send the requests of {@link DeltaFeatureFetcher}, so that
+ * polling for deltas goes through the client and interceptors the fetcher was set up with.
+ */
+interface DeltaTransport extends FeatureFetcher {
+    /**
+     * @return a fetcher of the delta API sharing this fetcher's client, whose ETag is the revision
+     *     the next delta starts from
+     */
+    DeltaTransport forDeltas();
+
+    /** Makes the next request ask for everything, instead of what changed since the last one. */
+    void forgetRevision();
+}
@@ -0,0 +1,9 @@
+package io.getunleash.repository;
+
+/** Notified after the engine has successfully taken a new state, or failed to get one. */
+interface EngineStateListener {
+    void onStateChanged();
+
+    /** The toggles could not be fetched, or the engine rejected what was fetched. */
+    default void onFetchFailed() {}
+}
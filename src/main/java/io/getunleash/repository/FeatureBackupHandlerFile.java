@@ -4,12 +4,29 @@ import com.google.gson.JsonParseException;
 import io.getunleash.UnleashException;
 import io.getunleash.event.EventDispatcher;
 import io.getunleash.event.FeatureSet;
+import io.getunleash.event.SubscriberCallback;
 import io.getunleash.event.UnleashEvent;
 import io.getunleash.event.UnleashSubscriber;
+import io.getunleash.lang.Nullable;
 import io.getunleash.util.UnleashConfig;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,22 +34,32 @@ public class FeatureBackupHandlerFile implements BackupHandler {
     private static final Logger LOG = LoggerFactory.getLogger(FeatureBackupHandlerFile.class);
 
     private final String backupFile;
+    private final boolean compressed;
     private final EventDispatcher eventDispatcher;
+    // Digest of what the backup file is known to hold, guarded by this
+    @Nullable private byte[] lastDigest;
 
     public FeatureBackupHandlerFile(UnleashConfig config) {
         this.backupFile = config.getBackupFile();
+        this.compressed = config.isCompressedBackup();
         this.eventDispatcher = new EventDispatcher(config);
     }
 
     @Override
     public Optional<String> read() {
         LOG.info("Unleash will try to load feature toggle states from temporary backup");
-        try (BufferedReader reader = new BufferedReader(new FileReader(backupFile))) {
-            String clientFeatures = reader.lines().collect(Collectors.joining("\n"));
+        try {
+            // Not mapped, since the backup gets replaced while the client runs
+            String clientFeatures = FeatureSnapshot.read(Paths.get(backupFile));
+            synchronized (this) {
+                lastDigest = digestOf(clientFeatures);
+            }
 
-            eventDispatcher.dispatch(new FeatureBackupRead(clientFeatures));
+            if (eventDispatcher.isObserved(SubscriberCallback.FEATURES_BACKUP_RESTORED)) {
+                eventDispatcher.dispatch(new FeatureBackupRead(clientFeatures));
+            }
             return Optional.of(clientFeatures);
-        } catch (FileNotFoundException e) {
+        } catch (NoSuchFileException e) {
             LOG.info(
                     "Unleash could not find the backup-file '"
                             + backupFile
@@ -46,16 +73,99 @@ public class FeatureBackupHandlerFile implements BackupHandler {
         }
     }
 
+    /**
+     * Writes the features to a temporary file next to the backup, forces it to disk and then moves
+     * it over the backup, so that a crash halfway through leaves the previous backup intact.
+     * Features identical to what the backup already holds are not written again.
+     */
     @Override
-    public void write(String features) {
-        try (FileWriter writer = new FileWriter(backupFile)) {
-            writer.write(features);
-            eventDispatcher.dispatch(new FeatureBackupWritten(features));
+    public synchronized void write(String features) {
+        byte[] digest = digestOf(features);
+        if (Arrays.equals(digest, lastDigest)) {
+            LOG.debug("Feature toggles are unchanged, skipping the backup");
+            return;
+        }
+        Path target = Paths.get(backupFile).toAbsolutePath();
+        Path temp = null;
+        try {
+            temp = tempFileFor(target);
+            try (FileChannel channel =
+                    FileChannel.open(
+                            temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer content =
+                        ByteBuffer.wrap(
+                                compressed
+                                        ? FeatureSnapshot.encode(features, Instant.now())
+                                        : features.getBytes(StandardCharsets.UTF_8));
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+                channel.force(true);
+            }
+            copyPermissions(target, temp);
+            moveOver(temp, target);
+            temp = null;
+            lastDigest = digest;
+            if (eventDispatcher.isObserved(SubscriberCallback.FEATURES_BACKED_UP)) {
+                eventDispatcher.dispatch(new FeatureBackupWritten(features));
+            }
         } catch (IOException e) {
             eventDispatcher.dispatch(
                     new UnleashException(
                             "Unleash was unable to backup feature toggles to file: " + backupFile,
                             e));
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * A file name of its own next to the target. Unlike {@link Files#createTempFile}, the file gets
+     * created with the default permissions rather than readable by the owner only.
+     */
+    private static Path tempFileFor(Path target) {
+        return target.resolveSibling(
+                target.getFileName()
+                        + "."
+                        + Long.toUnsignedString(ThreadLocalRandom.current().nextLong())
+                        + ".tmp");
+    }
+
+    /** Keeps the permissions the backup was given, if there is one already. */
+    private static void copyPermissions(Path backup, Path temp) throws IOException {
+        if (!Files.exists(backup)
+                || !Files.getFileStore(temp)
+                        .supportsFileAttributeView(PosixFileAttributeView.class)) {
+            return;
+        }
+        Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(backup));
+    }
+
+    private static void moveOver(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            LOG.debug("The file system can't replace {} atomically", target);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.debug("Could not remove temporary backup file {}", path, e);
+        }
+    }
+
+    private static byte[] digestOf(String features) {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest(features.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not build hash for backup", e);
         }
     }
 
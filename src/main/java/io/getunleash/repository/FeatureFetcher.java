@@ -2,7 +2,23 @@ package io.getunleash.repository;
 
 import io.getunleash.UnleashException;
 import io.getunleash.event.ClientFeaturesResponse;
+import java.util.concurrent.CompletableFuture;
 
 public interface FeatureFetcher {
     ClientFeaturesResponse fetchFeatures() throws UnleashException;
+
+    /**
+     * Fetches without holding up the calling thread while waiting for the Unleash API. By default
+     * this calls {@link #fetchFeatures()} on the calling thread.
+     *
+     * @return a future completed with the response, or exceptionally with an {@link
+     *     UnleashException}
+     */
+    default CompletableFuture<ClientFeaturesResponse> fetchFeaturesAsync() {
+        try {
+            return CompletableFuture.completedFuture(fetchFeatures());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
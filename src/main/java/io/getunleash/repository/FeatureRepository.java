@@ -4,7 +4,12 @@ import io.getunleash.FeatureDefinition;
 import io.getunleash.UnleashContext;
 import io.getunleash.engine.FlatResponse;
 import io.getunleash.engine.VariantDef;
+import io.getunleash.event.FeatureSource;
 import io.getunleash.lang.Nullable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public interface FeatureRepository {
@@ -17,5 +22,27 @@ public interface FeatureRepository {
 
     Stream<FeatureDefinition> listKnownToggles();
 
+    /**
+     * Lists the names of the known toggles. Implementations are free to return a snapshot that is
+     * shared between callers, so the returned list must not be modified.
+     */
+    default List<String> getToggleNames() {
+        return listKnownToggles().map(FeatureDefinition::getName).collect(Collectors.toList());
+    }
+
+    default Optional<FeatureDefinition> getToggleDefinition(String toggleName) {
+        return listKnownToggles().filter(toggle -> toggle.getName().equals(toggleName)).findFirst();
+    }
+
+    /**
+     * @return a future completed, with the source of the toggles, once there are toggles to
+     *     evaluate. Repositories that don't keep track of it return one that never completes. It
+     *     may complete while the engine is being updated, so callers hand out futures that complete
+     *     on a thread of their own rather than this one.
+     */
+    default CompletableFuture<FeatureSource> getReadiness() {
+        return new CompletableFuture<>();
+    }
+
     void shutdown();
 }
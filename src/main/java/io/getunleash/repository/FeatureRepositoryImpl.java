@@ -3,15 +3,24 @@ package io.getunleash.repository;
 import io.getunleash.FeatureDefinition;
 import io.getunleash.UnleashContext;
 import io.getunleash.UnleashException;
+import io.getunleash.engine.FeatureDef;
 import io.getunleash.engine.FlatResponse;
 import io.getunleash.engine.UnleashEngine;
 import io.getunleash.engine.VariantDef;
 import io.getunleash.engine.YggdrasilInvalidInputException;
 import io.getunleash.event.EventDispatcher;
+import io.getunleash.event.FeatureSource;
 import io.getunleash.event.GatedEventEmitter;
+import io.getunleash.lang.Nullable;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +32,23 @@ public class FeatureRepositoryImpl implements FeatureRepository {
     private final FetchWorker fetcher;
     private final GatedEventEmitter eventDispatcher;
     private final UnleashEngine engine;
+    @Nullable private final StartupRace startupRace;
+    private final CompletableFuture<FeatureSource> readiness = new CompletableFuture<>();
+    private volatile ToggleIndex toggleIndex = ToggleIndex.EMPTY;
+    private final EngineStateListener stateListener =
+            new EngineStateListener() {
+                @Override
+                public void onStateChanged() {
+                    onFetched();
+                }
+
+                @Override
+                public void onFetchFailed() {
+                    if (startupRace != null) {
+                        startupRace.networkFailed();
+                    }
+                }
+            };
 
     public FeatureRepositoryImpl(UnleashConfig unleashConfig, UnleashEngine engine) {
         this(unleashConfig, new FeatureBackupHandlerFile(unleashConfig), engine);
@@ -36,7 +62,13 @@ public class FeatureRepositoryImpl implements FeatureRepository {
         this.featureBackupHandler = featureBackupHandler;
         this.engine = engine;
         this.eventDispatcher = readyOnceGate;
-        this.fetcher = new AdaptiveFetcher(unleashConfig, featureBackupHandler, engine);
+        this.startupRace = startupRace(unleashConfig, engine, readyOnceGate);
+        this.fetcher =
+                unleashConfig.isSharedFeatureState()
+                        ? SharedFeatureState.join(
+                                unleashConfig, engine, stateListener, readyOnceGate)
+                        : new AdaptiveFetcher(
+                                unleashConfig, featureBackupHandler, engine, stateListener);
         this.bootstrapper = unleashConfig.getToggleBootstrapProvider();
         this.initCollections(unleashConfig.getScheduledExecutor());
     }
@@ -54,18 +86,40 @@ public class FeatureRepositoryImpl implements FeatureRepository {
         this.engine = engine;
         this.bootstrapper = bootstrapHandler;
         this.eventDispatcher = readyOnceGate;
+        this.startupRace = startupRace(unleashConfig, engine, readyOnceGate);
         this.fetcher = fetcher;
         this.initCollections(unleashConfig.getScheduledExecutor());
     }
 
+    @Nullable
+    private StartupRace startupRace(
+            UnleashConfig config, UnleashEngine engine, GatedEventEmitter eventEmitter) {
+        if (!config.isParallelStartup()) {
+            return null;
+        }
+        boolean networkExpected =
+                !config.isDisablePolling()
+                        || config.isStreamingMode()
+                        || config.isSynchronousFetchOnInitialisation();
+        return new StartupRace(engine, this::loadedLocally, eventEmitter, networkExpected);
+    }
+
     private void initCollections(UnleashScheduledExecutor executor) {
+        if (startupRace != null) {
+            startupRace.start(featureBackupHandler, bootstrapper);
+            fetcher.start();
+            return;
+        }
         Optional<String> features = this.featureBackupHandler.read();
+        FeatureSource source = FeatureSource.BACKUP;
         if (!features.isPresent() && this.bootstrapper != null) {
             features = this.bootstrapper.read();
+            source = FeatureSource.BOOTSTRAP;
         }
         if (features.isPresent()) {
             try {
                 this.engine.takeState(features.get());
+                loadedLocally(source);
             } catch (YggdrasilInvalidInputException e) {
                 LOGGER.error("Error when initializing feature toggles", e);
                 eventDispatcher.error(new UnleashException("Failed to read backup file:", e));
@@ -99,8 +153,69 @@ public class FeatureRepositoryImpl implements FeatureRepository {
         return this.engine.listKnownToggles().stream().map(FeatureDefinition::new);
     }
 
+    @Override
+    public List<String> getToggleNames() {
+        return toggleIndex.names;
+    }
+
+    @Override
+    public Optional<FeatureDefinition> getToggleDefinition(String toggleName) {
+        return Optional.ofNullable(toggleIndex.definitions.get(toggleName));
+    }
+
+    private void onFetched() {
+        if (startupRace != null) {
+            startupRace.networkLoaded();
+        }
+        refreshToggleIndex();
+        readiness.complete(FeatureSource.NETWORK);
+    }
+
+    private void loadedLocally(FeatureSource source) {
+        refreshToggleIndex();
+        readiness.complete(source);
+    }
+
+    @Override
+    public CompletableFuture<FeatureSource> getReadiness() {
+        return readiness;
+    }
+
+    // Synchronized so a slower refresh can't overwrite the index of a newer state
+    private synchronized void refreshToggleIndex() {
+        this.toggleIndex = ToggleIndex.of(engine.listKnownToggles());
+    }
+
     @Override
     public void shutdown() {
+        if (startupRace != null) {
+            startupRace.stop();
+        }
         this.fetcher.stop();
     }
+
+    /** The toggles known to the engine at one point in time, looked up by name. */
+    private static final class ToggleIndex {
+        static final ToggleIndex EMPTY =
+                new ToggleIndex(Collections.emptyList(), Collections.emptyMap());
+
+        final List<String> names;
+        final Map<String, FeatureDefinition> definitions;
+
+        private ToggleIndex(List<String> names, Map<String, FeatureDefinition> definitions) {
+            this.names = names;
+            this.definitions = definitions;
+        }
+
+        static ToggleIndex of(List<FeatureDef> toggles) {
+            List<String> names = new ArrayList<>(toggles.size());
+            Map<String, FeatureDefinition> definitions = new HashMap<>();
+            for (FeatureDef toggle : toggles) {
+                names.add(toggle.getName());
+                definitions.put(toggle.getName(), new FeatureDefinition(toggle));
+            }
+            return new ToggleIndex(
+                    Collections.unmodifiableList(names), Collections.unmodifiableMap(definitions));
+        }
+    }
 }
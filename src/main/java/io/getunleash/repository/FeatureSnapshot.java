@@ -0,0 +1,236 @@
+package io.getunleash.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The compressed format of backups and bootstrap files. A snapshot starts with a header that a JSON
+ * document can't start with, followed by the gzip compressed state:
+ *
+ * <pre>
+ * magic      4 bytes  "UNLS"
+ * version    2 bytes  {@link #VERSION}
+ * written    8 bytes  epoch milliseconds
+ * checksum   8 bytes  CRC32 of the uncompressed state
+ * length     4 bytes  length of the uncompressed state in bytes
+ * state               gzip of the UTF-8 encoded state
+ * </pre>
+ *
+ * Readers accept both snapshots and plain JSON, so switching format never loses a backup.
+ */
+final class FeatureSnapshot {
+    static final int MAGIC = 0x554e4c53; // "UNLS"
+    static final short VERSION = 1;
+    private static final int HEADER_LENGTH = 4 + 2 + 8 + 8 + 4;
+    private static final int READ_CHUNK = 64 * 1024;
+    // Deflate never inflates a byte to more than 1032 bytes
+    private static final long MAX_COMPRESSION_RATIO = 1032;
+
+    private final String state;
+    private final Instant written;
+
+    private FeatureSnapshot(String state, Instant written) {
+        this.state = state;
+        this.written = written;
+    }
+
+    String getState() {
+        return state;
+    }
+
+    Instant getWritten() {
+        return written;
+    }
+
+    static byte[] encode(String state, Instant written) throws IOException {
+        byte[] content = state.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_LENGTH + content.length / 4);
+        DataOutputStream header = new DataOutputStream(bytes);
+        header.writeInt(MAGIC);
+        header.writeShort(VERSION);
+        header.writeLong(written.toEpochMilli());
+        header.writeLong(checksumOf(content));
+        header.writeInt(content.length);
+        header.flush();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decompresses a snapshot straight from a mapping of the file, so that its compressed form
+     * never passes through the heap. Plain JSON is read as by {@link #read(Path)}, since building
+     * the string needs the bytes on the heap anyway. Only for files that aren't replaced while the
+     * client runs: some platforms refuse to replace a file that is still mapped, and a mapping only
+     * goes away once it has been garbage collected.
+     */
+    static String map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int size = sizeOf(channel, path);
+            ByteBuffer magic = ByteBuffer.allocate(Math.min(size, 4));
+            while (magic.hasRemaining()) {
+                if (channel.read(magic, magic.position()) < 0) {
+                    break;
+                }
+            }
+            magic.flip();
+            if (!isSnapshot(magic)) {
+                return read(channel, size);
+            }
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)).getState();
+        }
+    }
+
+    /**
+     * Reads the file into a buffer of exactly its size, a chunk at a time, so that the JDK never
+     * needs a temporary direct buffer as large as the file.
+     */
+    static String read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, sizeOf(channel, path));
+        }
+    }
+
+    private static String read(FileChannel channel, int size) throws IOException {
+        ByteBuffer content = ByteBuffer.allocate(size);
+        while (content.hasRemaining()) {
+            int chunk = Math.min(content.remaining(), READ_CHUNK);
+            ByteBuffer slice = content.slice();
+            slice.limit(chunk);
+            if (channel.read(slice, content.position()) < 0) {
+                break;
+            }
+            content.position(content.position() + slice.position());
+        }
+        content.flip();
+        return toState(content);
+    }
+
+    private static int sizeOf(FileChannel channel, Path path) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IOException("Feature file is too large to load: " + path);
+        }
+        return (int) size;
+    }
+
+    /**
+     * @return the state held by the buffer, decompressed if it is a snapshot and as UTF-8 text
+     *     otherwise
+     * @throws IOException if the buffer holds a snapshot that is truncated, corrupt or of a newer
+     *     format version
+     */
+    static String toState(ByteBuffer content) throws IOException {
+        if (!isSnapshot(content)) {
+            if (content.hasArray()) {
+                return new String(
+                        content.array(),
+                        content.arrayOffset() + content.position(),
+                        content.remaining(),
+                        StandardCharsets.UTF_8);
+            }
+            byte[] bytes = new byte[content.remaining()];
+            content.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return decode(content).getState();
+    }
+
+    static boolean isSnapshot(byte[] bytes) {
+        return isSnapshot(ByteBuffer.wrap(bytes));
+    }
+
+    private static boolean isSnapshot(ByteBuffer content) {
+        return content.remaining() >= 4 && content.getInt(content.position()) == MAGIC;
+    }
+
+    static FeatureSnapshot decode(byte[] bytes) throws IOException {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    private static FeatureSnapshot decode(ByteBuffer content) throws IOException {
+        ByteBuffer in = content.duplicate();
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a feature snapshot");
+            }
+            short version = in.getShort();
+            if (version > VERSION) {
+                throw new IOException("Unsupported feature snapshot version " + version);
+            }
+            Instant written = Instant.ofEpochMilli(in.getLong());
+            long checksum = in.getLong();
+            int length = in.getInt();
+            if (length < 0
+                    || length > Integer.MAX_VALUE - 8
+                    || length > in.remaining() * MAX_COMPRESSION_RATIO) {
+                throw new IOException("Feature snapshot is corrupt");
+            }
+            byte[] state = new byte[length];
+            try (DataInputStream gzip =
+                    new DataInputStream(new GZIPInputStream(new ByteBufferInputStream(in)))) {
+                gzip.readFully(state);
+            }
+            if (checksumOf(state) != checksum) {
+                throw new IOException("Feature snapshot checksum mismatch");
+            }
+            return new FeatureSnapshot(new String(state, StandardCharsets.UTF_8), written);
+        } catch (EOFException | BufferUnderflowException e) {
+            throw new IOException("Feature snapshot is truncated", e);
+        }
+    }
+
+    private static long checksumOf(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+        return crc.getValue();
+    }
+
+    /** Lets {@link GZIPInputStream} read straight from a heap, direct or mapped buffer. */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package io.getunleash.repository;
+
+import io.getunleash.UnleashException;
+import io.getunleash.engine.UnleashEngine;
+import io.getunleash.engine.YggdrasilInvalidInputException;
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.event.FeaturesUpdated;
+import io.getunleash.event.GatedEventEmitter;
+import io.getunleash.event.SubscriberCallback;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Takes fetched features through the remaining stages of an update, each on a thread of its own so
+ * that a large payload doesn't hold up the scheduler: loading them into the engine, and then
+ * writing them to the backup file. A stage that falls behind skips every payload that a later full
+ * set of features replaces. Deltas are applied in order, since each builds on the last.
+ */
+final class FeatureUpdatePipeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FeatureUpdatePipeline.class);
+    private static final Duration SLOW_STAGE = Duration.ofSeconds(1);
+
+    private final UnleashEngine engine;
+    private final BackupHandler backupHandler;
+    private final EngineStateListener stateListener;
+    private final GatedEventEmitter eventEmitter;
+    private final Runnable deltaFailureListener;
+    private final Executor ingestExecutor;
+    private final Executor backupExecutor;
+    private final Deque<Update> pendingIngest = new ArrayDeque<>();
+    private boolean ingestScheduled; // guarded by pendingIngest
+    private final AtomicReference<Update> pendingBackup = new AtomicReference<>();
+
+    FeatureUpdatePipeline(
+            UnleashEngine engine,
+            BackupHandler backupHandler,
+            EngineStateListener stateListener,
+            GatedEventEmitter eventEmitter) {
+        this(engine, backupHandler, stateListener, eventEmitter, () -> {});
+    }
+
+    /**
+     * @param deltaFailureListener told when the engine rejected a delta, so that the fetcher stops
+     *     asking for the changes since a state the engine doesn't have
+     */
+    FeatureUpdatePipeline(
+            UnleashEngine engine,
+            BackupHandler backupHandler,
+            EngineStateListener stateListener,
+            GatedEventEmitter eventEmitter,
+            Runnable deltaFailureListener) {
+        this(
+                engine,
+                backupHandler,
+                stateListener,
+                eventEmitter,
+                deltaFailureListener,
+                new StageExecutor("unleash-feature-ingest"),
+                new StageExecutor("unleash-feature-backup"));
+    }
+
+    FeatureUpdatePipeline(
+            UnleashEngine engine,
+            BackupHandler backupHandler,
+            EngineStateListener stateListener,
+            GatedEventEmitter eventEmitter,
+            Executor ingestExecutor,
+            Executor backupExecutor) {
+        this(
+                engine,
+                backupHandler,
+                stateListener,
+                eventEmitter,
+                () -> {},
+                ingestExecutor,
+                backupExecutor);
+    }
+
+    FeatureUpdatePipeline(
+            UnleashEngine engine,
+            BackupHandler backupHandler,
+            EngineStateListener stateListener,
+            GatedEventEmitter eventEmitter,
+            Runnable deltaFailureListener,
+            Executor ingestExecutor,
+            Executor backupExecutor) {
+        this.engine = engine;
+        this.backupHandler = backupHandler;
+        this.stateListener = stateListener;
+        this.eventEmitter = eventEmitter;
+        this.deltaFailureListener = deltaFailureListener;
+        this.ingestExecutor = ingestExecutor;
+        this.backupExecutor = backupExecutor;
+    }
+
+    void start() {
+        // Updates submitted while stopped were never scheduled
+        discardPending();
+        StageExecutor.startIfStage(ingestExecutor);
+        StageExecutor.startIfStage(backupExecutor);
+    }
+
+    /** Discards the updates that haven't been loaded or backed up yet. */
+    void stop() {
+        StageExecutor.stopIfStage(ingestExecutor);
+        StageExecutor.stopIfStage(backupExecutor);
+        discardPending();
+    }
+
+    /** Tells the listener that a fetch failed before there was anything to load. */
+    void fetchFailed() {
+        stateListener.onFetchFailed();
+    }
+
+    private void discardPending() {
+        synchronized (pendingIngest) {
+            pendingIngest.clear();
+            ingestScheduled = false;
+        }
+        pendingBackup.set(null);
+    }
+
+    /**
+     * Loads the features into the engine on the calling thread, for callers that need them
+     * available before they continue, and leaves the backup to its own stage.
+     */
+    void ingest(ClientFeaturesResponse response, Duration fetchDuration)
+            throws YggdrasilInvalidInputException {
+        Update update = new Update(response, fetchDuration);
+        ingest(update);
+        submitBackup(update);
+    }
+
+    /** Hands the features over to the ingest stage and returns right away. */
+    void submit(ClientFeaturesResponse response, Duration fetchDuration) {
+        Update update = new Update(response, fetchDuration);
+        synchronized (pendingIngest) {
+            if (!update.delta) {
+                pendingIngest.clear();
+            }
+            pendingIngest.add(update);
+            if (ingestScheduled) {
+                return;
+            }
+            ingestScheduled = true;
+        }
+        ingestExecutor.execute(this::runIngest);
+    }
+
+    private void runIngest() {
+        while (true) {
+            Update update;
+            synchronized (pendingIngest) {
+                update = pendingIngest.poll();
+                if (update == null) {
+                    ingestScheduled = false;
+                    return;
+                }
+            }
+            try {
+                ingest(update);
+                submitBackup(update);
+            } catch (YggdrasilInvalidInputException e) {
+                eventEmitter.error(new UnleashException("Error when fetching features", e));
+            } catch (RuntimeException e) {
+                eventEmitter.error(new UnleashException("Error when loading features", e));
+            }
+        }
+    }
+
+    private void ingest(Update update) throws YggdrasilInvalidInputException {
+        long start = System.nanoTime();
+        // Held until the listener knows, so a parallel startup can't load an older state in between
+        synchronized (engine) {
+            try {
+                engine.takeState(update.clientFeatures);
+            } catch (YggdrasilInvalidInputException | RuntimeException e) {
+                if (update.delta) {
+                    deltaFailed();
+                }
+                stateListener.onFetchFailed();
+                throw e;
+            }
+            // A delta only makes sense on top of the state it was applied to, so the backup gets
+            // the resulting state, read here before a later update changes it
+            update.backup =
+                    update.delta ? YggdrasilAdapters.stateOf(engine) : update.clientFeatures;
+            stateListener.onStateChanged();
+        }
+        update.ingestDuration = elapsedSince(start);
+        warnIfSlow("Loading features into the engine", update.ingestDuration);
+        eventEmitter.ready();
+    }
+
+    /**
+     * Later deltas build on the one that failed, so they are dropped as well, and the fetcher
+     * hydrates the full state on its next poll.
+     */
+    private void deltaFailed() {
+        synchronized (pendingIngest) {
+            pendingIngest.removeIf(pending -> pending.delta);
+        }
+        LOGGER.warn("The engine rejected a delta, fetching all features on the next poll");
+        deltaFailureListener.run();
+    }
+
+    private void submitBackup(Update update) {
+        if (pendingBackup.getAndSet(update) == null) {
+            backupExecutor.execute(this::runBackup);
+        }
+    }
+
+    private void runBackup() {
+        Update update = pendingBackup.getAndSet(null);
+        if (update == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            backupHandler.write(update.backup);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unleash could not write the feature backup", e);
+        }
+        Duration backupDuration = elapsedSince(start);
+        warnIfSlow("Writing the feature backup", backupDuration);
+        LOGGER.debug(
+                "Updated {} characters of features: fetch {}, ingest {}, backup {}",
+                update.clientFeatures.length(),
+                update.fetchDuration,
+                update.ingestDuration,
+                backupDuration);
+        if (eventEmitter.isObserved(SubscriberCallback.FEATURES_UPDATED)) {
+            eventEmitter.updated(
+                    new FeaturesUpdated(
+                            update.clientFeatures.length(),
+                            update.fetchDuration,
+                            update.ingestDuration,
+                            backupDuration));
+        }
+    }
+
+    private static Duration elapsedSince(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    private static void warnIfSlow(String stage, Duration duration) {
+        if (duration.compareTo(SLOW_STAGE) > 0) {
+            LOGGER.warn("{} took {} ms", stage, duration.toMillis());
+        }
+    }
+
+    private static final class Update {
+        private final String clientFeatures;
+        private final boolean delta;
+        private final Duration fetchDuration;
+        // Written by the ingest stage before the update is handed to the backup stage
+        private volatile String backup;
+        private volatile Duration ingestDuration = Duration.ZERO;
+
+        private Update(ClientFeaturesResponse response, Duration fetchDuration) {
+            this.clientFeatures = response.getClientFeatures().get();
+            this.delta = response.isDelta();
+            this.fetchDuration = fetchDuration;
+        }
+    }
+}
@@ -4,31 +4,54 @@ import static io.getunleash.util.UnleashConfig.UNLEASH_INTERVAL;
 
 import io.getunleash.UnleashException;
 import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.util.Throttler;
 import io.getunleash.util.UnleashConfig;
 import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.zip.GZIPInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class HttpFeatureFetcher implements FeatureFetcher {
+public class HttpFeatureFetcher implements FeatureFetcher, DeltaTransport {
 
     private static final Logger LOG = LoggerFactory.getLogger(HttpFeatureFetcher.class);
-    private Optional<String> etag = Optional.empty();
+    private static final int GZIP_BUFFER_SIZE = 16 * 1024;
+    private volatile Optional<String> etag = Optional.empty();
+    private final ResponseBuffer responseBuffer = new ResponseBuffer();
 
     private final UnleashConfig config;
 
     private final URL toggleUrl;
+    private final boolean delta;
 
     public HttpFeatureFetcher(UnleashConfig config) {
+        this(
+                config,
+                config.getUnleashURLs()
+                        .getFetchTogglesURL(config.getProjectName(), config.getNamePrefix()),
+                false);
+    }
+
+    private HttpFeatureFetcher(UnleashConfig config, URL toggleUrl, boolean delta) {
         this.config = config;
-        this.toggleUrl =
+        this.toggleUrl = toggleUrl;
+        this.delta = delta;
+    }
+
+    @Override
+    public DeltaTransport forDeltas() {
+        return new HttpFeatureFetcher(
+                config,
                 config.getUnleashURLs()
-                        .getFetchTogglesURL(config.getProjectName(), config.getNamePrefix());
+                        .getClientDeltaURL(config.getProjectName(), config.getNamePrefix()),
+                true);
+    }
+
+    @Override
+    public void forgetRevision() {
+        etag = Optional.empty();
     }
 
     @Override
@@ -47,11 +70,35 @@ public class HttpFeatureFetcher implements FeatureFetcher {
             throw new UnleashException(e.getMessage(), e);
         } finally {
             if (connection != null) {
-                connection.disconnect();
+                release(connection);
             }
         }
     }
 
+    /**
+     * Leaves the connection open for the JDK to reuse on the next poll, instead of disconnecting,
+     * which would close the socket. Only an error body can still be unread at this point, the body
+     * of a redirect is read by {@link #discardRedirect}.
+     */
+    private static void release(HttpURLConnection connection) {
+        try (InputStream error = connection.getErrorStream()) {
+            if (error != null) {
+                error.transferTo(OutputStream.nullOutputStream());
+            }
+        } catch (IOException ignored) {
+            // The JDK won't reuse a connection that failed
+        }
+    }
+
+    /** A redirect has its body on the input stream, which has to be read to reuse the socket. */
+    private static void discardRedirect(HttpURLConnection redirect) {
+        try (InputStream body = redirect.getInputStream()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException ignored) {
+            // The JDK won't reuse a connection that failed
+        }
+    }
+
     private ClientFeaturesResponse getFeatureResponse(
             HttpURLConnection request, boolean followRedirect) throws IOException {
         int responseCode = request.getResponseCode();
@@ -60,25 +107,15 @@ public class HttpFeatureFetcher implements FeatureFetcher {
             etag = Optional.ofNullable(request.getHeaderField("ETag"));
             String contentEncoding = request.getHeaderField("Content-Encoding");
             if ("gzip".equalsIgnoreCase(contentEncoding)) {
-                try (GZIPInputStream stream = new GZIPInputStream(request.getInputStream())) {
-                    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                        byte[] buffer = new byte[1024];
-                        int len;
-                        while ((len = stream.read(buffer)) != -1) {
-                            outputStream.write(buffer, 0, len);
-                        }
-                        String clientFeatures = outputStream.toString(StandardCharsets.UTF_8);
-                        return ClientFeaturesResponse.updated(clientFeatures);
-                    }
+                // Content-Length is the compressed size here, so the buffer sizes itself
+                try (GZIPInputStream stream =
+                        new GZIPInputStream(request.getInputStream(), GZIP_BUFFER_SIZE)) {
+                    return response(responseBuffer.readUtf8(stream, -1));
                 }
             } else {
-                try (BufferedReader reader =
-                        new BufferedReader(
-                                new InputStreamReader(
-                                        request.getInputStream(), StandardCharsets.UTF_8))) {
-                    String clientFeatures = reader.lines().collect(Collectors.joining("\n"));
-
-                    return ClientFeaturesResponse.updated(clientFeatures);
+                try (InputStream stream = request.getInputStream()) {
+                    return response(
+                            responseBuffer.readUtf8(stream, request.getContentLengthLong()));
                 }
             }
         } else if (followRedirect
@@ -89,11 +126,23 @@ public class HttpFeatureFetcher implements FeatureFetcher {
         } else if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
             return ClientFeaturesResponse.notChanged();
         } else {
-            return ClientFeaturesResponse.unavailable(responseCode, getLocationHeader(request));
+            if (responseCode < HttpURLConnection.HTTP_BAD_REQUEST) {
+                // A redirect that isn't followed
+                discardRedirect(request);
+            }
+            return ClientFeaturesResponse.unavailable(
+                    responseCode,
+                    getLocationHeader(request),
+                    Throttler.parseRetryAfter(request.getHeaderField("Retry-After")));
         }
     }
 
+    private ClientFeaturesResponse response(String body) {
+        return delta ? ClientFeaturesResponse.delta(body) : ClientFeaturesResponse.updated(body);
+    }
+
     private ClientFeaturesResponse followRedirect(HttpURLConnection request) throws IOException {
+        discardRedirect(request);
         String newUrl =
                 getLocationHeader(request)
                         .orElseThrow(
@@ -101,14 +150,18 @@ public class HttpFeatureFetcher implements FeatureFetcher {
                                         new IllegalStateException(
                                                 "No Location header found in redirect response."));
 
-        request = openConnection(new URL(newUrl));
-        request.connect();
-        LOG.info(
-                "Redirecting from {} to {}. Please consider updating your config.",
-                this.toggleUrl,
-                newUrl);
+        HttpURLConnection redirected = openConnection(new URL(newUrl));
+        try {
+            redirected.connect();
+            LOG.info(
+                    "Redirecting from {} to {}. Please consider updating your config.",
+                    this.toggleUrl,
+                    newUrl);
 
-        return getFeatureResponse(request, false);
+            return getFeatureResponse(redirected, false);
+        } finally {
+            release(redirected);
+        }
     }
 
     private Optional<String> getLocationHeader(HttpURLConnection connection) {
@@ -0,0 +1,159 @@
+package io.getunleash.repository;
+
+import static io.getunleash.util.UnleashConfig.UNLEASH_INTERVAL;
+
+import io.getunleash.UnleashException;
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.util.Throttler;
+import io.getunleash.util.UnleashConfig;
+import io.getunleash.util.UnleashHttpClient;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Fetches toggles through the {@link UnleashHttpClient} that the configuration shares with the
+ * metrics sender. Set up with {@link UnleashConfig.Builder#pooledHttpClient()}.
+ */
+public class JavaHttpFeatureFetcher implements FeatureFetcher, DeltaTransport {
+    private final UnleashConfig config;
+    private final UnleashHttpClient httpClient;
+    private final URL toggleUrl;
+    private final boolean delta;
+    private final ResponseBuffer responseBuffer = new ResponseBuffer();
+    private volatile Optional<String> etag = Optional.empty();
+
+    public JavaHttpFeatureFetcher(UnleashConfig config) {
+        this(
+                config,
+                config.getHttpClient() != null
+                        ? config.getHttpClient()
+                        : new UnleashHttpClient(config),
+                config.getUnleashURLs()
+                        .getFetchTogglesURL(config.getProjectName(), config.getNamePrefix()),
+                false);
+    }
+
+    private JavaHttpFeatureFetcher(
+            UnleashConfig config, UnleashHttpClient httpClient, URL toggleUrl, boolean delta) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.toggleUrl = toggleUrl;
+        this.delta = delta;
+    }
+
+    @Override
+    public DeltaTransport forDeltas() {
+        return new JavaHttpFeatureFetcher(
+                config,
+                httpClient,
+                config.getUnleashURLs()
+                        .getClientDeltaURL(config.getProjectName(), config.getNamePrefix()),
+                true);
+    }
+
+    @Override
+    public void forgetRevision() {
+        etag = Optional.empty();
+    }
+
+    @Override
+    public ClientFeaturesResponse fetchFeatures() throws UnleashException {
+        try {
+            HttpResponse<InputStream> response =
+                    httpClient.send(request(), HttpResponse.BodyHandlers.ofInputStream());
+            return toFeaturesResponse(response);
+        } catch (IOException e) {
+            throw new UnleashException("Could not fetch toggles", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnleashException("Interrupted while fetching toggles", e);
+        } catch (IllegalArgumentException e) {
+            throw new UnleashException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Waits for the response headers on the client's executor. The body is read on the thread
+     * completing the future, which is a client thread unless the response was already there.
+     */
+    @Override
+    public CompletableFuture<ClientFeaturesResponse> fetchFeaturesAsync() {
+        HttpRequest request;
+        try {
+            request = request();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new UnleashException(e.getMessage(), e));
+        }
+        return httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .handle(
+                        (response, failure) -> {
+                            if (failure != null) {
+                                Throwable cause =
+                                        failure instanceof CompletionException
+                                                ? failure.getCause()
+                                                : failure;
+                                throw new UnleashException("Could not fetch toggles", cause);
+                            }
+                            try {
+                                return toFeaturesResponse(response);
+                            } catch (IOException e) {
+                                throw new UnleashException("Could not fetch toggles", e);
+                            }
+                        });
+    }
+
+    private HttpRequest request() {
+        HttpRequest.Builder request =
+                httpClient
+                        .newRequest(toggleUrl, config.getFetchTogglesReadTimeout())
+                        .header(UNLEASH_INTERVAL, config.getFetchTogglesIntervalMillis())
+                        .header("Accept-Encoding", "gzip")
+                        .GET();
+        etag.ifPresent(value -> request.header("If-None-Match", value));
+        return request.build();
+    }
+
+    private ClientFeaturesResponse toFeaturesResponse(HttpResponse<InputStream> response)
+            throws IOException {
+        // The body has to be read to the end for the connection to be reused
+        try (InputStream body = response.body()) {
+            int status = response.statusCode();
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return ClientFeaturesResponse.notChanged();
+            }
+            if (status >= 300) {
+                body.transferTo(OutputStream.nullOutputStream());
+                return ClientFeaturesResponse.unavailable(
+                        status,
+                        response.headers().firstValue("Location"),
+                        Throttler.parseRetryAfter(
+                                response.headers().firstValue("Retry-After").orElse(null)));
+            }
+            etag = response.headers().firstValue("ETag");
+            if (response.headers()
+                    .firstValue("Content-Encoding")
+                    .filter("gzip"::equalsIgnoreCase)
+                    .isPresent()) {
+                try (GZIPInputStream stream = new GZIPInputStream(body)) {
+                    return response(responseBuffer.readUtf8(stream, -1));
+                }
+            }
+            long contentLength = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+            return response(responseBuffer.readUtf8(body, contentLength));
+        }
+    }
+
+    private ClientFeaturesResponse response(String body) {
+        return delta ? ClientFeaturesResponse.delta(body) : ClientFeaturesResponse.updated(body);
+    }
+}
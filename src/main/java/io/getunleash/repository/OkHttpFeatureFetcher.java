@@ -6,25 +6,39 @@ import com.google.gson.JsonSyntaxException;
 import io.getunleash.UnleashException;
 import io.getunleash.event.ClientFeaturesResponse;
 import io.getunleash.util.OkHttpClientConfigurer;
+import io.getunleash.util.Throttler;
 import io.getunleash.util.UnleashConfig;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
-public class OkHttpFeatureFetcher implements FeatureFetcher {
+public class OkHttpFeatureFetcher implements FeatureFetcher, DeltaTransport {
+    // The revision is sent explicitly, a cached delta would only ever be stale
+    private static final CacheControl DELTA_CACHE_CONTROL =
+            new CacheControl.Builder().noCache().noStore().build();
+
+    private final UnleashConfig unleashConfig;
     private final HttpUrl toggleUrl;
     private final OkHttpClient client;
     private final String interval;
+    private final boolean delta;
+    private volatile Optional<String> etag = Optional.empty();
 
     public OkHttpFeatureFetcher(UnleashConfig unleashConfig) {
+        this.unleashConfig = unleashConfig;
         this.interval = unleashConfig.getFetchTogglesIntervalMillis();
+        this.delta = false;
         File tempDir = null;
         try {
             tempDir = Files.createTempDirectory("http_cache").toFile();
@@ -54,7 +68,9 @@ public class OkHttpFeatureFetcher implements FeatureFetcher {
     }
 
     public OkHttpFeatureFetcher(UnleashConfig unleashConfig, OkHttpClient client) {
+        this.unleashConfig = unleashConfig;
         this.interval = unleashConfig.getFetchTogglesIntervalMillis();
+        this.delta = false;
         this.client = OkHttpClientConfigurer.configureInterceptor(unleashConfig, client);
         this.toggleUrl =
                 Objects.requireNonNull(
@@ -66,29 +82,96 @@ public class OkHttpFeatureFetcher implements FeatureFetcher {
                                                 unleashConfig.getNamePrefix())));
     }
 
+    /** A fetcher of the delta API that shares the client, and with it the connection pool. */
+    private OkHttpFeatureFetcher(OkHttpFeatureFetcher fullFetcher) {
+        this.unleashConfig = fullFetcher.unleashConfig;
+        this.interval = fullFetcher.interval;
+        this.delta = true;
+        this.client = fullFetcher.client;
+        this.toggleUrl =
+                Objects.requireNonNull(
+                        HttpUrl.get(
+                                unleashConfig
+                                        .getUnleashURLs()
+                                        .getClientDeltaURL(
+                                                unleashConfig.getProjectName(),
+                                                unleashConfig.getNamePrefix())));
+    }
+
+    @Override
+    public DeltaTransport forDeltas() {
+        return new OkHttpFeatureFetcher(this);
+    }
+
+    @Override
+    public void forgetRevision() {
+        etag = Optional.empty();
+    }
+
     @Override
     public ClientFeaturesResponse fetchFeatures() throws UnleashException {
-        Request request =
-                new Request.Builder()
-                        .url(toggleUrl)
-                        .get()
-                        .addHeader(UNLEASH_INTERVAL, interval)
-                        .build();
+        try (Response response = client.newCall(request()).execute()) {
+            return toFeaturesResponse(response);
+        } catch (IOException ioEx) {
+            throw new UnleashException("Could not fetch toggles", ioEx);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ClientFeaturesResponse> fetchFeaturesAsync() {
+        CompletableFuture<ClientFeaturesResponse> future = new CompletableFuture<>();
+        client.newCall(request())
+                .enqueue(
+                        new Callback() {
+                            @Override
+                            public void onResponse(Call call, Response response) {
+                                try (response) {
+                                    future.complete(toFeaturesResponse(response));
+                                } catch (RuntimeException e) {
+                                    future.completeExceptionally(e);
+                                }
+                            }
+
+                            @Override
+                            public void onFailure(Call call, IOException e) {
+                                future.completeExceptionally(
+                                        new UnleashException("Could not fetch toggles", e));
+                            }
+                        });
+        return future;
+    }
+
+    private Request request() {
+        Request.Builder request =
+                new Request.Builder().url(toggleUrl).get().addHeader(UNLEASH_INTERVAL, interval);
+        if (delta) {
+            request.cacheControl(DELTA_CACHE_CONTROL);
+            etag.ifPresent(value -> request.header("If-None-Match", value));
+        }
+        return request.build();
+    }
+
+    private ClientFeaturesResponse toFeaturesResponse(Response response) {
         int code = 200;
-        try (Response response = client.newCall(request).execute()) {
+        try {
             if (response.isSuccessful()) {
                 if (response.networkResponse() != null
                         && response.networkResponse().code() == 304) {
                     return ClientFeaturesResponse.notChanged();
                 }
                 String features = response.body().string();
-
+                if (delta) {
+                    etag = Optional.ofNullable(response.header("ETag"));
+                    return ClientFeaturesResponse.delta(features);
+                }
                 return ClientFeaturesResponse.updated(features);
             } else if (response.code() == 304) {
                 return ClientFeaturesResponse.notChanged();
             } else {
                 return ClientFeaturesResponse.unavailable(
-                        response.code(), Optional.of(toggleUrl.toString()));
+                        response.code(),
+                        Optional.of(toggleUrl.toString()),
+                        Throttler.parseRetryAfter(response.header("Retry-After")));
             }
         } catch (IOException | NullPointerException ioEx) {
             throw new UnleashException("Could not fetch toggles", ioEx);
@@ -0,0 +1,79 @@
+package io.getunleash.repository;
+
+import io.getunleash.lang.Nullable;
+import io.getunleash.util.UnleashScheduledExecutor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the poll at a slightly different interval every time, so that instances which started
+ * together, for instance during a deploy, don't keep reaching the Unleash API at the same moment.
+ * The first poll comes at a random point of the interval after the usual one, each next one up to
+ * the jitter early or late.
+ *
+ * <p>Falls back to {@link UnleashScheduledExecutor#setInterval} for executors that can't delay
+ * one-off tasks.
+ */
+final class PollScheduler {
+    private final UnleashScheduledExecutor executor;
+    private final long intervalSeconds;
+    private final double jitter;
+    private volatile boolean stopped;
+    @Nullable private volatile Future<Void> next;
+
+    PollScheduler(UnleashScheduledExecutor executor, long intervalSeconds, double jitter) {
+        this.executor = executor;
+        this.intervalSeconds = intervalSeconds;
+        this.jitter = jitter;
+    }
+
+    void start(Runnable poll) {
+        long intervalMillis = TimeUnit.SECONDS.toMillis(intervalSeconds);
+        long firstDelay =
+                jitter > 0
+                        ? intervalMillis + ThreadLocalRandom.current().nextLong(intervalMillis)
+                        : intervalMillis;
+        next = executor.schedule(() -> runAndReschedule(poll), firstDelay, TimeUnit.MILLISECONDS);
+        if (next == null) {
+            executor.setInterval(
+                    () -> {
+                        if (!stopped) {
+                            poll.run();
+                        }
+                    },
+                    intervalSeconds,
+                    intervalSeconds);
+        }
+    }
+
+    /** No poll starts after this, the one that may be running is left to finish. */
+    void stop() {
+        stopped = true;
+        Future<Void> pending = next;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+    private void runAndReschedule(Runnable poll) {
+        if (stopped) {
+            return;
+        }
+        try {
+            poll.run();
+        } finally {
+            if (!stopped) {
+                next =
+                        executor.schedule(
+                                () -> runAndReschedule(poll), nextDelay(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    long nextDelay() {
+        long intervalMillis = TimeUnit.SECONDS.toMillis(intervalSeconds);
+        double offset = jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Math.round(intervalMillis * (1 + offset));
+    }
+}
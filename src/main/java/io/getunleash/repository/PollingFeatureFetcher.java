@@ -5,9 +5,12 @@ import io.getunleash.engine.UnleashEngine;
 import io.getunleash.engine.YggdrasilInvalidInputException;
 import io.getunleash.event.ClientFeaturesResponse;
 import io.getunleash.event.GatedEventEmitter;
+import io.getunleash.lang.Nullable;
 import io.getunleash.util.Throttler;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
@@ -19,9 +22,10 @@ class PollingFeatureFetcher implements FetchWorker {
     private final UnleashConfig unleashConfig;
     private final Throttler throttler;
     private final FeatureFetcher featureFetcher;
-    private final UnleashEngine engine;
-    private final BackupHandler featureBackupHandler;
     private final GatedEventEmitter eventEmitter;
+    private final FeatureUpdatePipeline pipeline;
+    private final AtomicBoolean fetching = new AtomicBoolean(false);
+    @Nullable private volatile PollScheduler scheduler;
     private volatile AtomicBoolean started = new AtomicBoolean(false);
 
     PollingFeatureFetcher(
@@ -30,11 +34,33 @@ class PollingFeatureFetcher implements FetchWorker {
             UnleashEngine engine,
             BackupHandler featureBackupHandler,
             GatedEventEmitter readyOnceGate) {
+        this(unleashConfig, fetcher, engine, featureBackupHandler, readyOnceGate, () -> {});
+    }
+
+    PollingFeatureFetcher(
+            UnleashConfig unleashConfig,
+            FeatureFetcher fetcher,
+            UnleashEngine engine,
+            BackupHandler featureBackupHandler,
+            GatedEventEmitter readyOnceGate,
+            EngineStateListener stateListener) {
+        this(
+                unleashConfig,
+                fetcher,
+                readyOnceGate,
+                new FeatureUpdatePipeline(
+                        engine, featureBackupHandler, stateListener, readyOnceGate));
+    }
+
+    PollingFeatureFetcher(
+            UnleashConfig unleashConfig,
+            FeatureFetcher fetcher,
+            GatedEventEmitter readyOnceGate,
+            FeatureUpdatePipeline pipeline) {
         this.unleashConfig = unleashConfig;
         this.featureFetcher = fetcher;
-        this.engine = engine;
-        this.featureBackupHandler = featureBackupHandler;
         this.eventEmitter = readyOnceGate;
+        this.pipeline = pipeline;
         this.throttler = initializeThrottler(unleashConfig);
     }
 
@@ -42,6 +68,7 @@ class PollingFeatureFetcher implements FetchWorker {
         return new Throttler(
                 (int) config.getFetchTogglesInterval(),
                 300,
+                (int) config.getIdleFetchTogglesInterval(),
                 config.getUnleashURLs().getFetchTogglesURL());
     }
 
@@ -51,6 +78,7 @@ class PollingFeatureFetcher implements FetchWorker {
             return;
         }
         LOGGER.info("Starting polling client");
+        pipeline.start();
 
         UnleashScheduledExecutor executor = unleashConfig.getScheduledExecutor();
         if (unleashConfig.isSynchronousFetchOnInitialisation()) {
@@ -72,10 +100,13 @@ class PollingFeatureFetcher implements FetchWorker {
         if (!unleashConfig.isDisablePolling()) {
             if (unleashConfig.getFetchTogglesInterval() > 0) {
                 Runnable updateFeatures = runSteadyStateFetch(this.eventEmitter::error);
-                executor.setInterval(
-                        updateFeatures,
-                        unleashConfig.getFetchTogglesInterval(),
-                        unleashConfig.getFetchTogglesInterval());
+                PollScheduler pollScheduler =
+                        new PollScheduler(
+                                executor,
+                                unleashConfig.getFetchTogglesInterval(),
+                                unleashConfig.getFetchTogglesJitter());
+                pollScheduler.start(updateFeatures);
+                this.scheduler = pollScheduler;
             }
         }
     }
@@ -84,20 +115,25 @@ class PollingFeatureFetcher implements FetchWorker {
     private Runnable runInitialFetch(final Consumer<UnleashException> handler) {
         return () -> {
             try {
+                long start = System.nanoTime();
                 ClientFeaturesResponse response = featureFetcher.fetchFeatures();
+                Duration fetchDuration = Duration.ofNanos(System.nanoTime() - start);
                 eventEmitter.update(response);
                 if (response.getStatus() == ClientFeaturesResponse.Status.CHANGED) {
-                    updateFeatures(response);
+                    pipeline.ingest(response, fetchDuration);
                 } else if (response.getStatus() == ClientFeaturesResponse.Status.UNAVAILABLE) {
                     if (unleashConfig.isSynchronousFetchOnInitialisation()) {
+                        // reported as a failed fetch by the catch below
                         throw new UnleashException(
                                 String.format(
                                         "Could not initialize Unleash, got response code %d",
                                         response.getHttpStatusCode()),
                                 null);
                     }
+                    pipeline.fetchFailed();
                 }
             } catch (UnleashException e) {
+                pipeline.fetchFailed();
                 handler.accept(e);
             } catch (YggdrasilInvalidInputException e) {
                 handler.accept(new UnleashException("Error on initial fetch", e));
@@ -105,37 +141,84 @@ class PollingFeatureFetcher implements FetchWorker {
         };
     }
 
+    /**
+     * The scheduler thread only starts the request, so a slow Unleash API doesn't hold up the
+     * metrics that share it. Ticks that come while a request is still running are left out, so the
+     * next poll only starts once the previous one completed.
+     */
     @SuppressWarnings("FutureReturnValueIgnored")
     private Runnable runSteadyStateFetch(final Consumer<UnleashException> handler) {
         return () -> {
-            if (throttler.performAction()) {
-                try {
-                    ClientFeaturesResponse response = featureFetcher.fetchFeatures();
-                    eventEmitter.update(response);
-                    if (response.getStatus() == ClientFeaturesResponse.Status.CHANGED) {
-                        updateFeatures(response);
-                    } else if (response.getStatus() == ClientFeaturesResponse.Status.UNAVAILABLE) {
-                        throttler.handleHttpErrorCodes(response.getHttpStatusCode());
-                        return;
-                    }
-                    throttler.decrementFailureCountAndResetSkips();
-                } catch (UnleashException e) {
-                    handler.accept(e);
-                } catch (YggdrasilInvalidInputException e) {
-                    handler.accept(new UnleashException("Error when fetching features", e));
+            if (!fetching.compareAndSet(false, true)) {
+                LOGGER.debug("Previous fetch hasn't completed yet, skipping this one");
+                return;
+            }
+            try {
+                if (throttler.performAction()) {
+                    long start = System.nanoTime();
+                    featureFetcher
+                            .fetchFeaturesAsync()
+                            .whenComplete(
+                                    (response, failure) -> {
+                                        try {
+                                            Duration fetchDuration =
+                                                    Duration.ofNanos(System.nanoTime() - start);
+                                            onFetched(response, failure, fetchDuration, handler);
+                                        } finally {
+                                            fetching.set(false);
+                                        }
+                                    });
+                } else {
+                    // We didn't do anything this iteration, just reduce the count
+                    throttler.skipped();
+                    fetching.set(false);
                 }
-            } else {
-                throttler.skipped(); // We didn't do anything this iteration, just reduce the count
+            } catch (RuntimeException e) {
+                // No future will complete this fetch, so the next tick has to be able to start one
+                fetching.set(false);
+                pipeline.fetchFailed();
+                handler.accept(
+                        e instanceof UnleashException
+                                ? (UnleashException) e
+                                : new UnleashException("Could not fetch toggles", e));
             }
         };
     }
 
-    private void updateFeatures(ClientFeaturesResponse response)
-            throws YggdrasilInvalidInputException {
-        String clientFeatures = response.getClientFeatures().get();
-        this.engine.takeState(clientFeatures);
-        this.featureBackupHandler.write(clientFeatures);
-        eventEmitter.ready();
+    private void onFetched(
+            ClientFeaturesResponse response,
+            Throwable failure,
+            Duration fetchDuration,
+            Consumer<UnleashException> handler) {
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+            pipeline.fetchFailed();
+            handler.accept(
+                    cause instanceof UnleashException
+                            ? (UnleashException) cause
+                            : new UnleashException("Could not fetch toggles", cause));
+            return;
+        }
+        try {
+            eventEmitter.update(response);
+            if (response.getStatus() == ClientFeaturesResponse.Status.CHANGED) {
+                // Loading a large payload into the engine shouldn't delay the next poll
+                // or the metrics that share this thread
+                pipeline.submit(response, fetchDuration);
+                throttler.changed();
+            } else if (response.getStatus() == ClientFeaturesResponse.Status.UNAVAILABLE) {
+                pipeline.fetchFailed();
+                throttler.handleHttpErrorCodes(
+                        response.getHttpStatusCode(), response.getRetryAfter());
+                return;
+            }
+            throttler.decrementFailureCountAndResetSkips();
+            if (response.getStatus() == ClientFeaturesResponse.Status.NOT_CHANGED) {
+                throttler.unchanged();
+            }
+        } catch (UnleashException e) {
+            handler.accept(e);
+        }
     }
 
     public Integer getFailures() {
@@ -148,8 +231,13 @@ class PollingFeatureFetcher implements FetchWorker {
 
     @Override
     public void stop() {
-        LOGGER.warn("Attempting to stop polling but this currently isn't supported.");
-        // Currently not supported but right now we don't need it
+        PollScheduler pollScheduler = scheduler;
+        if (pollScheduler != null) {
+            LOGGER.info("Stopping polling client");
+            pollScheduler.stop();
+            scheduler = null;
+        }
+        pipeline.stop();
         started.set(false);
     }
 }
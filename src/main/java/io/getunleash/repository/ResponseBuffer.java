@@ -0,0 +1,52 @@
+package io.getunleash.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a response body into a byte array that is kept between fetches, so that a large payload is
+ * decoded straight into its final string instead of going through a chain of intermediate copies.
+ * The array is sized from the expected length when there is one, and grows otherwise.
+ */
+final class ResponseBuffer {
+    static final int MIN_CAPACITY = 64 * 1024;
+    // Arrays can't quite reach Integer.MAX_VALUE on most VMs
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private byte[] buffer = new byte[0];
+
+    /**
+     * @param expectedLength the size of the body if known, e.g. from Content-Length, or a negative
+     *     number if not. A wrong value only costs an extra copy.
+     */
+    synchronized String readUtf8(InputStream stream, long expectedLength) throws IOException {
+        ensureCapacity(expectedLength > 0 ? expectedLength + 1 : MIN_CAPACITY, 0);
+        int length = 0;
+        int read;
+        while ((read = stream.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length == buffer.length) {
+                ensureCapacity((long) buffer.length * 2, length);
+            }
+        }
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    synchronized int capacity() {
+        return buffer.length;
+    }
+
+    private void ensureCapacity(long capacity, int bytesToKeep) throws IOException {
+        if (capacity <= buffer.length) {
+            return;
+        }
+        if (buffer.length == MAX_CAPACITY) {
+            throw new IOException("Response body is larger than " + MAX_CAPACITY + " bytes");
+        }
+        int newCapacity = (int) Math.min(Math.max(capacity, MIN_CAPACITY), MAX_CAPACITY);
+        byte[] larger = new byte[newCapacity];
+        System.arraycopy(buffer, 0, larger, 0, bytesToKeep);
+        buffer = larger;
+    }
+}
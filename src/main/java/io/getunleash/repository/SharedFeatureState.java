@@ -0,0 +1,215 @@
+package io.getunleash.repository;
+
+import io.getunleash.UnleashException;
+import io.getunleash.engine.UnleashEngine;
+import io.getunleash.engine.YggdrasilInvalidInputException;
+import io.getunleash.event.GatedEventEmitter;
+import io.getunleash.lang.Nullable;
+import io.getunleash.util.UnleashConfig;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One fetch loop, and one engine holding what it fetched, for all clients in the JVM that use the
+ * same Unleash API, API token, project and name prefix. Clients join with {@link #join}, and the
+ * loop runs as long as at least one of them has not shut down.
+ *
+ * <p>Every client keeps an engine of its own, so that its strategies and metrics stay its own.
+ * Those engines are given the shared state after every update, instead of each fetching it.
+ */
+final class SharedFeatureState implements EngineStateListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedFeatureState.class);
+
+    // Guards the map, and who joins, leaves and runs the loop of every state in it
+    private static final Map<List<String>, SharedFeatureState> STATES = new HashMap<>();
+
+    private final List<String> key;
+    private final UnleashEngine engine = new UnleashEngine();
+    private final List<Member> members = new CopyOnWriteArrayList<>();
+    @Nullable private Member loopOwner;
+    @Nullable private FetchWorker loop;
+    private boolean hasState; // guarded by this
+
+    private SharedFeatureState(List<String> key) {
+        this.key = key;
+    }
+
+    /**
+     * @return a worker that joins the shared state of the client's Unleash API and token when
+     *     started, and leaves it when stopped
+     */
+    static FetchWorker join(
+            UnleashConfig config,
+            UnleashEngine engine,
+            EngineStateListener stateListener,
+            GatedEventEmitter eventEmitter) {
+        return new Member(config, engine, stateListener, eventEmitter);
+    }
+
+    static List<String> keyOf(UnleashConfig config) {
+        return Arrays.asList(
+                config.getUnleashAPI().toString(),
+                config.getApiKey(),
+                config.getProjectName(),
+                config.getNamePrefix());
+    }
+
+    /**
+     * @return how many clients share the state of this client's Unleash API and token
+     */
+    static int clientsSharing(UnleashConfig config) {
+        synchronized (STATES) {
+            SharedFeatureState state = STATES.get(keyOf(config));
+            return state != null ? state.members.size() : 0;
+        }
+    }
+
+    @Override
+    public synchronized void onStateChanged() {
+        hasState = true;
+        String state = YggdrasilAdapters.stateOf(engine);
+        for (Member member : members) {
+            member.take(state);
+        }
+    }
+
+    /** Only passed on until there is a state, which members that join later catch up with. */
+    @Override
+    public synchronized void onFetchFailed() {
+        if (!hasState) {
+            members.forEach(member -> member.stateListener.onFetchFailed());
+        }
+    }
+
+    private synchronized void catchUp(Member member) {
+        if (hasState) {
+            member.take(YggdrasilAdapters.stateOf(engine));
+        }
+    }
+
+    /**
+     * Called while holding STATES, and only hands the loop to its owner. The loop is started with
+     * {@link #runLoop} once STATES is released, since its first fetch may be synchronous.
+     */
+    private FetchWorker newLoop(Member owner) {
+        loopOwner = owner;
+        loop =
+                new AdaptiveFetcher(
+                        owner.config,
+                        new FeatureBackupHandlerFile(owner.config),
+                        engine,
+                        this,
+                        owner.eventEmitter);
+        return loop;
+    }
+
+    // Called without holding STATES
+    private void runLoop(FetchWorker started) {
+        try {
+            started.start();
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn(
+                    "Could not hand the shared fetching over, the scheduler of the next client was shut down",
+                    e);
+        }
+        synchronized (STATES) {
+            if (loop == started) {
+                return;
+            }
+        }
+        // Handed over or stopped while it was starting
+        started.stop();
+    }
+
+    private static final class Member implements FetchWorker {
+        private final UnleashConfig config;
+        private final UnleashEngine engine;
+        private final EngineStateListener stateListener;
+        private final GatedEventEmitter eventEmitter;
+        @Nullable private SharedFeatureState joined;
+
+        private Member(
+                UnleashConfig config,
+                UnleashEngine engine,
+                EngineStateListener stateListener,
+                GatedEventEmitter eventEmitter) {
+            this.config = config;
+            this.engine = engine;
+            this.stateListener = stateListener;
+            this.eventEmitter = eventEmitter;
+        }
+
+        @Override
+        public void start() {
+            SharedFeatureState state;
+            FetchWorker loop;
+            synchronized (STATES) {
+                if (joined != null) {
+                    return;
+                }
+                state = STATES.computeIfAbsent(keyOf(config), SharedFeatureState::new);
+                state.members.add(this);
+                joined = state;
+                loop = state.loop == null ? state.newLoop(this) : null;
+            }
+            if (loop != null) {
+                state.runLoop(loop);
+                return;
+            }
+            LOGGER.info(
+                    "Sharing the toggles of {} other client(s) for the same Unleash API and token",
+                    state.members.size() - 1);
+            state.catchUp(this);
+        }
+
+        @Override
+        public void stop() {
+            SharedFeatureState state;
+            FetchWorker stopped;
+            FetchWorker handedOver = null;
+            synchronized (STATES) {
+                state = joined;
+                if (state == null) {
+                    return;
+                }
+                joined = null;
+                state.members.remove(this);
+                if (state.loopOwner != this) {
+                    return;
+                }
+                stopped = state.loop;
+                if (state.members.isEmpty()) {
+                    state.loop = null;
+                    state.loopOwner = null;
+                    STATES.remove(state.key);
+                } else {
+                    // The loop runs on the executor and reports to the subscriber of its owner
+                    handedOver = state.newLoop(state.members.get(0));
+                }
+            }
+            stopped.stop();
+            if (handedOver != null) {
+                state.runLoop(handedOver);
+            }
+        }
+
+        private void take(String state) {
+            try {
+                synchronized (engine) {
+                    engine.takeState(state);
+                    stateListener.onStateChanged();
+                }
+                eventEmitter.ready();
+            } catch (YggdrasilInvalidInputException e) {
+                LOGGER.error("Could not take the shared state of the toggles", e);
+                eventEmitter.error(new UnleashException("Could not take shared state", e));
+            }
+        }
+    }
+}
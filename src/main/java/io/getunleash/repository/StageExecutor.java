@@ -0,0 +1,84 @@
+package io.getunleash.repository;
+
+import io.getunleash.lang.Nullable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single thread for one stage of an update, that goes away when there is nothing to do. Once
+ * stopped, queued tasks are discarded and new ones ignored until the owning worker starts again, so
+ * nothing touches the engine or the backup after the client shut down.
+ */
+final class StageExecutor implements Executor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StageExecutor.class);
+
+    private final String name;
+    @Nullable private ExecutorService executor; // guarded by this
+    private boolean stopped; // guarded by this
+
+    StageExecutor(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public synchronized void execute(Runnable task) {
+        if (stopped) {
+            LOGGER.debug("Not running {} work after it was stopped", name);
+            return;
+        }
+        if (executor == null) {
+            executor = newExecutor(name);
+        }
+        executor.execute(task);
+    }
+
+    synchronized void start() {
+        stopped = false;
+    }
+
+    /** Discards queued tasks and interrupts the one that is running. */
+    synchronized void stop() {
+        stopped = true;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /** Stops the executor if it is a stage executor, and leaves any other executor alone. */
+    static void stopIfStage(Executor executor) {
+        if (executor instanceof StageExecutor) {
+            ((StageExecutor) executor).stop();
+        }
+    }
+
+    static void startIfStage(Executor executor) {
+        if (executor instanceof StageExecutor) {
+            ((StageExecutor) executor).start();
+        }
+    }
+
+    private static ExecutorService newExecutor(String name) {
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        1,
+                        1,
+                        30,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                            thread.setName(name);
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
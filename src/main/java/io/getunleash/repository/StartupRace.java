@@ -0,0 +1,156 @@
+package io.getunleash.repository;
+
+import io.getunleash.UnleashException;
+import io.getunleash.engine.UnleashEngine;
+import io.getunleash.engine.YggdrasilInvalidInputException;
+import io.getunleash.event.FeatureSource;
+import io.getunleash.event.GatedEventEmitter;
+import io.getunleash.event.StartupCompleted;
+import io.getunleash.event.SubscriberCallback;
+import io.getunleash.lang.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the backup and the bootstrap provider each on a thread of its own, while the fetcher gets
+ * the toggles from Unleash. Toggles from a source are only loaded if nothing more recent is loaded
+ * yet, in the order of {@link FeatureSource}.
+ *
+ * <p>Everything that loads toggles into the engine holds the engine's monitor until its listener
+ * has been told, so {@link #networkLoaded} always runs before an older source could get its turn.
+ */
+final class StartupRace {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupRace.class);
+
+    private final UnleashEngine engine;
+    private final Consumer<FeatureSource> loadedListener;
+    private final GatedEventEmitter eventEmitter;
+    private final long start = System.nanoTime();
+    // Guarded by engine
+    private final Map<FeatureSource, Duration> timings = new EnumMap<>(FeatureSource.class);
+    private final List<FeatureSource> loaded = new ArrayList<>();
+    private int unsettled;
+    private boolean networkSettled;
+    private boolean stopped;
+    private final List<StageExecutor> readers = new ArrayList<>();
+
+    StartupRace(
+            UnleashEngine engine,
+            Consumer<FeatureSource> loadedListener,
+            GatedEventEmitter eventEmitter,
+            boolean networkExpected) {
+        this.engine = engine;
+        this.loadedListener = loadedListener;
+        this.eventEmitter = eventEmitter;
+        this.unsettled = 2 + (networkExpected ? 1 : 0);
+    }
+
+    /** Starts reading the local sources and returns right away. */
+    void start(BackupHandler backupHandler, @Nullable ToggleBootstrapProvider bootstrapper) {
+        load(FeatureSource.BACKUP, backupHandler::read);
+        load(FeatureSource.BOOTSTRAP, bootstrapper != null ? bootstrapper::read : Optional::empty);
+    }
+
+    /** Stops reading, and makes sure nothing read after this gets loaded. */
+    void stop() {
+        synchronized (engine) {
+            stopped = true;
+            readers.forEach(StageExecutor::stop);
+        }
+    }
+
+    private void load(FeatureSource source, Supplier<Optional<String>> reader) {
+        StageExecutor executor =
+                new StageExecutor("unleash-startup-" + source.name().toLowerCase(Locale.ROOT));
+        synchronized (engine) {
+            readers.add(executor);
+        }
+        CompletableFuture.supplyAsync(reader, executor)
+                .whenComplete(
+                        (features, failure) -> {
+                            if (failure != null) {
+                                LOGGER.warn("Could not read the {} at startup", source, failure);
+                            }
+                            loaded(source, features != null ? features : Optional.empty());
+                        });
+    }
+
+    private void loaded(FeatureSource source, Optional<String> features) {
+        synchronized (engine) {
+            if (stopped) {
+                return;
+            }
+            if (features.isPresent()) {
+                timings.put(source, elapsed());
+                if (!loaded.isEmpty() && loaded.get(loaded.size() - 1).compareTo(source) > 0) {
+                    LOGGER.debug(
+                            "Not loading the {}, toggles from the {} arrived first",
+                            source,
+                            loaded.get(loaded.size() - 1));
+                } else {
+                    try {
+                        engine.takeState(features.get());
+                        loaded.add(source);
+                        loadedListener.accept(source);
+                    } catch (YggdrasilInvalidInputException e) {
+                        LOGGER.error("Error when initializing feature toggles", e);
+                        eventEmitter.error(new UnleashException("Failed to load the " + source, e));
+                    }
+                }
+            }
+            settled();
+        }
+    }
+
+    /** Called with the engine's monitor held, every time the fetcher loaded toggles. */
+    void networkLoaded() {
+        if (!timings.containsKey(FeatureSource.NETWORK)) {
+            timings.put(FeatureSource.NETWORK, elapsed());
+            loaded.add(FeatureSource.NETWORK);
+            settleNetwork();
+        }
+    }
+
+    /**
+     * Called every time the fetcher could not load toggles. A first attempt that failed settles the
+     * network all the same, so that startup completes with what the other sources loaded.
+     */
+    void networkFailed() {
+        synchronized (engine) {
+            if (!stopped) {
+                settleNetwork();
+            }
+        }
+    }
+
+    private void settleNetwork() {
+        if (!networkSettled) {
+            networkSettled = true;
+            settled();
+        }
+    }
+
+    private void settled() {
+        if (--unsettled != 0) {
+            return;
+        }
+        LOGGER.info("Started with toggles from {}, arriving after {}", loaded, timings);
+        if (eventEmitter.isObserved(SubscriberCallback.STARTUP_COMPLETED)) {
+            eventEmitter.startupCompleted(new StartupCompleted(timings, loaded));
+        }
+    }
+
+    private Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
@@ -10,6 +10,7 @@ import io.getunleash.engine.UnleashEngine;
 import io.getunleash.engine.YggdrasilInvalidInputException;
 import io.getunleash.event.ClientFeaturesResponse;
 import io.getunleash.event.GatedEventEmitter;
+import io.getunleash.event.SubscriberCallback;
 import io.getunleash.lang.Nullable;
 import io.getunleash.util.UnleashConfig;
 import java.net.URI;
@@ -28,9 +29,10 @@ class StreamingFeatureFetcherImpl implements FetchWorker {
     private final UnleashConfig config;
     private final GatedEventEmitter eventDispatcher;
     private final UnleashEngine engine;
-    private final BackupHandler featureBackupHandler;
+    private final BackupWriter backupWriter;
     private final FailoverStrategy failoverStrategy;
     private final ModeController modeController;
+    private final EngineStateListener stateListener;
     private boolean ready;
 
     @Nullable private volatile BackgroundEventSource eventSource;
@@ -41,13 +43,24 @@ class StreamingFeatureFetcherImpl implements FetchWorker {
             UnleashEngine engine,
             BackupHandler featureBackupHandler,
             ModeController modeController) {
+        this(config, eventDispatcher, engine, featureBackupHandler, modeController, () -> {});
+    }
+
+    StreamingFeatureFetcherImpl(
+            UnleashConfig config,
+            GatedEventEmitter eventDispatcher,
+            UnleashEngine engine,
+            BackupHandler featureBackupHandler,
+            ModeController modeController,
+            EngineStateListener stateListener) {
         this(
                 config,
                 eventDispatcher,
                 engine,
                 featureBackupHandler,
                 new FailoverStrategy(DEFAULT_MAX_FAILURES, DEFAULT_FAIL_WINDOW_MS),
-                modeController);
+                modeController,
+                stateListener);
     }
 
     StreamingFeatureFetcherImpl(
@@ -57,16 +70,38 @@ class StreamingFeatureFetcherImpl implements FetchWorker {
             BackupHandler featureBackupHandler,
             FailoverStrategy failoverStrategy,
             ModeController modeController) {
+        this(
+                config,
+                eventDispatcher,
+                engine,
+                featureBackupHandler,
+                failoverStrategy,
+                modeController,
+                () -> {});
+    }
+
+    StreamingFeatureFetcherImpl(
+            UnleashConfig config,
+            GatedEventEmitter eventDispatcher,
+            UnleashEngine engine,
+            BackupHandler featureBackupHandler,
+            FailoverStrategy failoverStrategy,
+            ModeController modeController,
+            EngineStateListener stateListener) {
         this.config = config;
         this.eventDispatcher = eventDispatcher;
         this.engine = engine;
-        this.featureBackupHandler = featureBackupHandler;
+        this.backupWriter =
+                new BackupWriter(
+                        featureBackupHandler, new StageExecutor("unleash-streaming-backup"));
         this.failoverStrategy = failoverStrategy;
         this.modeController = modeController;
+        this.stateListener = stateListener;
     }
 
     @Override
     public synchronized void start() {
+        backupWriter.start();
         try {
             URI streamingUri = config.getUnleashURLs().getStreamingURL().toURI();
 
@@ -103,11 +138,17 @@ class StreamingFeatureFetcherImpl implements FetchWorker {
             eventSource = newEventSource;
         } catch (Exception e) {
             LOGGER.error("Failed to start streaming client", e);
+            stateListener.onFetchFailed();
         }
     }
 
     @Override
     public synchronized void stop() {
+        closeEventSource();
+        backupWriter.stop();
+    }
+
+    private synchronized void closeEventSource() {
         try {
             BackgroundEventSource currentEventSource = eventSource;
             if (currentEventSource != null) {
@@ -121,18 +162,22 @@ class StreamingFeatureFetcherImpl implements FetchWorker {
 
     void reconnect() {
         LOGGER.warn("Recovering from a broken SSE streaming connection by reconnecting...");
-        stop();
+        closeEventSource();
         start();
     }
 
     synchronized void handleStreamingUpdate(String data) throws YggdrasilInvalidInputException {
-        engine.takeState(data);
-
-        String currentState = engine.getState();
-        featureBackupHandler.write(currentState);
+        String currentState;
+        synchronized (engine) {
+            engine.takeState(data);
+            stateListener.onStateChanged();
+            currentState = YggdrasilAdapters.stateOf(engine);
+        }
+        backupWriter.submit(currentState);
 
-        ClientFeaturesResponse response = ClientFeaturesResponse.updated(data);
-        eventDispatcher.update(response);
+        if (eventDispatcher.isObserved(SubscriberCallback.TOGGLES_FETCHED)) {
+            eventDispatcher.update(ClientFeaturesResponse.updated(data));
+        }
 
         if (!ready) {
             eventDispatcher.ready();
@@ -141,6 +186,7 @@ class StreamingFeatureFetcherImpl implements FetchWorker {
     }
 
     void handleStreamingError(Throwable throwable) {
+        stateListener.onFetchFailed();
         handleFailoverDecision(toFailEvent(throwable));
     }
 
@@ -161,6 +207,7 @@ class StreamingFeatureFetcherImpl implements FetchWorker {
         FailoverStrategy.NetworkEventError failEvent =
                 new FailoverStrategy.NetworkEventError(
                         Instant.now(), "Server closed the streaming connection");
+        stateListener.onFetchFailed();
         handleFailoverDecision(failEvent);
     }
 
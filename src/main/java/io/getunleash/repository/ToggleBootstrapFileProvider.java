@@ -6,8 +6,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Paths;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -39,7 +38,7 @@ public class ToggleBootstrapFileProvider implements ToggleBootstrapProvider {
             if (file != null) {
                 return Optional.of(fileAsString(file));
             }
-        } catch (FileNotFoundException ioEx) {
+        } catch (FileNotFoundException | NoSuchFileException ioEx) {
             LOG.warn("Could not find file {}", path, ioEx);
         } catch (IOException ioEx) {
             LOG.warn("Generic IOException when trying to read file at {}", path, ioEx);
@@ -56,8 +55,12 @@ public class ToggleBootstrapFileProvider implements ToggleBootstrapProvider {
         return path;
     }
 
+    /**
+     * Reads plain JSON as well as the compressed snapshots written as backups, decompressing the
+     * latter from a mapping of the file rather than a copy of it on the heap.
+     */
     private String fileAsString(File file) throws IOException {
-        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        return FeatureSnapshot.map(file.toPath());
     }
 
     @Nullable
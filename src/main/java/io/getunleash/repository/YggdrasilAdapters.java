@@ -1,17 +1,23 @@
 package io.getunleash.repository;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import io.getunleash.DefaultUnleash;
 import io.getunleash.UnleashContext;
 import io.getunleash.engine.Context;
 import io.getunleash.engine.IStrategy;
 import io.getunleash.engine.Payload;
+import io.getunleash.engine.UnleashEngine;
 import io.getunleash.engine.VariantDef;
 import io.getunleash.lang.Nullable;
+import io.getunleash.strategy.FastStrategy;
 import io.getunleash.strategy.Strategy;
+import io.getunleash.strategy.StrategyContext;
 import io.getunleash.variant.Variant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
@@ -24,6 +30,9 @@ public final class YggdrasilAdapters {
 
     @NotNull
     public static IStrategy adapt(Strategy s) {
+        if (s instanceof FastStrategy) {
+            return adapt((FastStrategy) s);
+        }
         return new IStrategy() {
             @Override
             public String getName() {
@@ -37,30 +46,53 @@ public final class YggdrasilAdapters {
         };
     }
 
-    public static UnleashContext adapt(Context context) {
-        ZonedDateTime currentTime = ZonedDateTime.now();
-        if (context.getCurrentTime() != null) {
-            try {
-                currentTime = ZonedDateTime.parse(context.getCurrentTime());
-            } catch (DateTimeParseException e) {
-                LOGGER.warn(
-                        "Could not parse current time from context, falling back to system time: ",
-                        context.getCurrentTime());
-                currentTime = ZonedDateTime.now();
+    /**
+     * Hands the engine context to the strategy as a {@link StrategyContext} view, without
+     * converting it into an {@link UnleashContext} first.
+     */
+    @NotNull
+    public static IStrategy adapt(FastStrategy s) {
+        return new IStrategy() {
+            @Override
+            public String getName() {
+                return s.getName();
             }
-        }
 
+            @Override
+            public boolean isEnabled(Map<String, String> map, Context context) {
+                return s.isEnabled(map, new EngineStrategyContext(context));
+            }
+        };
+    }
+
+    public static UnleashContext adapt(Context context) {
         return new UnleashContext(
                 context.getAppName(),
                 context.getEnvironment(),
                 context.getUserId(),
                 context.getSessionId(),
                 context.getRemoteAddress(),
-                currentTime,
+                parseCurrentTime(context.getCurrentTime()),
                 context.getProperties());
     }
 
+    private static ZonedDateTime parseCurrentTime(@Nullable String currentTime) {
+        if (currentTime != null) {
+            try {
+                return ZonedDateTime.parse(currentTime);
+            } catch (DateTimeParseException e) {
+                LOGGER.warn(
+                        "Could not parse current time from context, falling back to system time: ",
+                        currentTime);
+            }
+        }
+        return ZonedDateTime.now();
+    }
+
     public static Context adapt(UnleashContext context) {
+        if (context.isFrozen()) {
+            return context.getEngineContext();
+        }
         Context mapped = new Context();
         mapped.setAppName(context.getAppName().orElse(null));
         mapped.setEnvironment(context.getEnvironment().orElse(null));
@@ -74,16 +106,28 @@ public final class YggdrasilAdapters {
         return mapped;
     }
 
+    /**
+     * Adapts a frozen context into an engine context that can not be modified, so it can be shared
+     * by every evaluation of that context. Use {@link UnleashContext#getEngineContext()} to get the
+     * memoized instance.
+     */
+    public static Context adaptFrozen(UnleashContext context) {
+        return new FrozenContext(context);
+    }
+
     public static Variant adapt(Optional<VariantDef> variant, Variant defaultValue) {
-        if (!variant.isPresent()) {
+        return adapt(variant.orElse(null), defaultValue);
+    }
+
+    public static Variant adapt(@Nullable VariantDef variant, Variant defaultValue) {
+        if (variant == null) {
             return defaultValue;
         }
-        VariantDef unwrapped = variant.get();
         return new Variant(
-                unwrapped.getName(),
-                adapt(unwrapped.getPayload()),
-                unwrapped.isEnabled(),
-                unwrapped.isFeatureEnabled());
+                variant.getName(),
+                adapt(variant.getPayload()),
+                variant.isEnabled(),
+                variant.isFeatureEnabled());
     }
 
     public static @Nullable io.getunleash.variant.Payload adapt(@Nullable Payload payload) {
@@ -91,4 +135,137 @@ public final class YggdrasilAdapters {
                 .map(p -> new io.getunleash.variant.Payload(p.getType(), p.getValue()))
                 .orElse(new io.getunleash.variant.Payload("string", null));
     }
+
+    /**
+     * The engine wraps its state in a response envelope. This unwraps it into the features payload
+     * that {@link UnleashEngine#takeState} and the backup file expect.
+     */
+    static String stateOf(UnleashEngine engine) {
+        String state = engine.getState();
+        if (state == null) {
+            return null;
+        }
+        JsonElement envelope = JsonParser.parseString(state);
+        if (envelope.isJsonObject() && envelope.getAsJsonObject().has("value")) {
+            return envelope.getAsJsonObject().get("value").toString();
+        }
+        return state;
+    }
+
+    private static final class EngineStrategyContext implements StrategyContext {
+        private final Context context;
+        @Nullable private ZonedDateTime currentTime;
+
+        private EngineStrategyContext(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        @Nullable
+        public String getAppName() {
+            return context.getAppName();
+        }
+
+        @Override
+        @Nullable
+        public String getEnvironment() {
+            return context.getEnvironment();
+        }
+
+        @Override
+        @Nullable
+        public String getUserId() {
+            return context.getUserId();
+        }
+
+        @Override
+        @Nullable
+        public String getSessionId() {
+            return context.getSessionId();
+        }
+
+        @Override
+        @Nullable
+        public String getRemoteAddress() {
+            return context.getRemoteAddress();
+        }
+
+        @Override
+        public Map<String, String> getProperties() {
+            Map<String, String> properties = context.getProperties();
+            return properties != null
+                    ? Collections.unmodifiableMap(properties)
+                    : Collections.emptyMap();
+        }
+
+        @Override
+        @Nullable
+        public String getProperty(String name) {
+            Map<String, String> properties = context.getProperties();
+            return properties != null ? properties.get(name) : null;
+        }
+
+        @Override
+        public ZonedDateTime getCurrentTime() {
+            if (currentTime == null) {
+                currentTime = parseCurrentTime(context.getCurrentTime());
+            }
+            return currentTime;
+        }
+    }
+
+    private static final class FrozenContext extends Context {
+
+        private FrozenContext(UnleashContext context) {
+            super.setAppName(context.getAppName().orElse(null));
+            super.setEnvironment(context.getEnvironment().orElse(null));
+            super.setUserId(context.getUserId().orElse(null));
+            super.setSessionId(context.getSessionId().orElse(null));
+            super.setRemoteAddress(context.getRemoteAddress().orElse(null));
+            super.setProperties(context.getProperties());
+            super.setCurrentTime(
+                    DateTimeFormatter.ISO_INSTANT.format(
+                            context.getCurrentTime().orElse(ZonedDateTime.now()).toInstant()));
+        }
+
+        @Override
+        public void setUserId(String userId) {
+            throw frozen();
+        }
+
+        @Override
+        public void setSessionId(String sessionId) {
+            throw frozen();
+        }
+
+        @Override
+        public void setRemoteAddress(String remoteAddress) {
+            throw frozen();
+        }
+
+        @Override
+        public void setEnvironment(String environment) {
+            throw frozen();
+        }
+
+        @Override
+        public void setAppName(String appName) {
+            throw frozen();
+        }
+
+        @Override
+        public void setCurrentTime(String currentTime) {
+            throw frozen();
+        }
+
+        @Override
+        public void setProperties(Map<String, String> properties) {
+            throw frozen();
+        }
+
+        private static UnsupportedOperationException frozen() {
+            return new UnsupportedOperationException(
+                    "The engine context of a frozen UnleashContext can not be modified");
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package io.getunleash.strategy;
+
+import java.util.Map;
+
+/**
+ * A custom strategy that needs remote data to decide, without blocking evaluations on it. The
+ * client calls {@link #load()} in the background on a thread for its async strategies, right after
+ * it starts and then every {@link #getRefreshIntervalSeconds()} seconds, and evaluations only read
+ * the last loaded decisions.
+ *
+ * <p>Register it with {@link io.getunleash.util.UnleashConfig.Builder#asyncStrategy}. Until the
+ * first load succeeds the strategy evaluates to false, and a failed load keeps the previous
+ * decisions.
+ *
+ * @param <T> the precomputed decisions, for instance the user ids allowed per tenant. They are
+ *     shared by every evaluation until the next load replaces them, so they must not be modified.
+ */
+public interface AsyncStrategy<T> {
+
+    String getName();
+
+    /**
+     * Loads the decisions. May block: it never runs on the thread of an evaluation, nor on the
+     * client's scheduled executor, though a slow load delays the loads of other async strategies.
+     * Interrupted when the client shuts down.
+     */
+    T load() throws Exception;
+
+    boolean isEnabled(T decisions, Map<String, String> parameters, StrategyContext context);
+
+    default long getRefreshIntervalSeconds() {
+        return 60;
+    }
+}
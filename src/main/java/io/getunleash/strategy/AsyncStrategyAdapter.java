@@ -0,0 +1,71 @@
+package io.getunleash.strategy;
+
+import io.getunleash.lang.Nullable;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates an {@link AsyncStrategy} against the decisions of its last successful load, which are
+ * swapped in whole, so evaluations never wait for a load or take a lock.
+ */
+final class AsyncStrategyAdapter<T> implements FastStrategy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncStrategyAdapter.class);
+
+    private final AsyncStrategy<T> strategy;
+    @Nullable private volatile T decisions;
+    private volatile boolean closed;
+
+    AsyncStrategyAdapter(AsyncStrategy<T> strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override
+    public String getName() {
+        return strategy.getName();
+    }
+
+    @Override
+    public boolean isEnabled(Map<String, String> parameters, StrategyContext context) {
+        T current = decisions;
+        return current != null && strategy.isEnabled(current, parameters, context);
+    }
+
+    long getRefreshIntervalSeconds() {
+        return strategy.getRefreshIntervalSeconds();
+    }
+
+    boolean hasDecisions() {
+        return decisions != null;
+    }
+
+    /** Loads new decisions. Failures are logged and keep the previous decisions in place. */
+    void refresh() {
+        if (closed) {
+            return;
+        }
+        try {
+            T loaded = strategy.load();
+            if (loaded == null) {
+                LOGGER.warn(
+                        "Strategy {} loaded no decisions, keeping the previous ones", getName());
+                return;
+            }
+            decisions = loaded;
+        } catch (Exception e) {
+            if (closed) {
+                // Interrupted by close()
+                return;
+            }
+            LOGGER.warn(
+                    "Could not load decisions for strategy {}, keeping the previous ones",
+                    getName(),
+                    e);
+        }
+    }
+
+    /** Stops later refreshes. The last decisions stay in use. */
+    void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,66 @@
+package io.getunleash.strategy;
+
+import io.getunleash.lang.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the decisions of a client's {@link AsyncStrategy}s on a thread of their own, so that a slow
+ * {@link AsyncStrategy#load()} holds up other loads at worst, and never the fetching of toggles,
+ * sending of metrics or delivery of events on the client's scheduled executor.
+ */
+public final class AsyncStrategyLoader {
+    private final List<AsyncStrategyAdapter<?>> adapters = new ArrayList<>();
+    @Nullable private ScheduledExecutorService executor;
+
+    public AsyncStrategyLoader(List<AsyncStrategy<?>> asyncStrategies) {
+        for (AsyncStrategy<?> asyncStrategy : asyncStrategies) {
+            adapters.add(new AsyncStrategyAdapter<>(asyncStrategy));
+        }
+    }
+
+    /** The strategies to register with the engine, evaluating against the loaded decisions. */
+    public List<Strategy> getStrategies() {
+        return Collections.unmodifiableList(adapters);
+    }
+
+    /** Loads every strategy right away, and then at its refresh interval. */
+    public synchronized void start() {
+        if (adapters.isEmpty() || executor != null) {
+            return;
+        }
+        ScheduledThreadPoolExecutor loader =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        runnable -> {
+                            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                            thread.setName("unleash-async-strategy-loader");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        loader.setRemoveOnCancelPolicy(true);
+        executor = loader;
+        try {
+            for (AsyncStrategyAdapter<?> adapter : adapters) {
+                loader.scheduleAtFixedRate(
+                        adapter::refresh, 0, adapter.getRefreshIntervalSeconds(), TimeUnit.SECONDS);
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /** Cancels all later loads. The last loaded decisions stay in use. */
+    public synchronized void close() {
+        adapters.forEach(AsyncStrategyAdapter::close);
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
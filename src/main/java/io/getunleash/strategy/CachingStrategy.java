@@ -0,0 +1,56 @@
+package io.getunleash.strategy;
+
+import io.getunleash.UnleashContext;
+import java.util.Map;
+
+/** Answers from a {@link StrategyCache}, and only calls the wrapped strategy on a miss. */
+final class CachingStrategy implements FastStrategy {
+    private final FastStrategy strategy;
+    private final StrategyCache cache;
+
+    CachingStrategy(Strategy strategy, StrategyCache cache) {
+        this.strategy =
+                strategy instanceof FastStrategy
+                        ? (FastStrategy) strategy
+                        : new ContextStrategy(strategy);
+        this.cache = cache;
+    }
+
+    @Override
+    public String getName() {
+        return strategy.getName();
+    }
+
+    @Override
+    public boolean isEnabled(Map<String, String> parameters, StrategyContext context) {
+        return cache.isEnabled(parameters, context, strategy);
+    }
+
+    /** Builds the {@link UnleashContext} a plain strategy expects, on a cache miss only. */
+    private static final class ContextStrategy implements FastStrategy {
+        private final Strategy strategy;
+
+        private ContextStrategy(Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        @Override
+        public String getName() {
+            return strategy.getName();
+        }
+
+        @Override
+        public boolean isEnabled(Map<String, String> parameters, StrategyContext context) {
+            return strategy.isEnabled(
+                    parameters,
+                    new UnleashContext(
+                            context.getAppName(),
+                            context.getEnvironment(),
+                            context.getUserId(),
+                            context.getSessionId(),
+                            context.getRemoteAddress(),
+                            context.getCurrentTime(),
+                            context.getProperties()));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.getunleash.strategy;
+
+import io.getunleash.UnleashContext;
+import java.util.Map;
+
+/**
+ * A {@link Strategy} that is evaluated against a {@link StrategyContext} instead of an {@link
+ * UnleashContext}. The engine calls custom strategies for every evaluation of a toggle that uses
+ * them, and building an {@link UnleashContext} for each call, including parsing its current time,
+ * can cost more than the strategy itself.
+ *
+ * <p>Register it like any other strategy. The parameters are shared between evaluations and must
+ * not be modified.
+ */
+public interface FastStrategy extends Strategy {
+
+    boolean isEnabled(Map<String, String> parameters, StrategyContext context);
+
+    @Override
+    default boolean isEnabled(Map<String, String> parameters, UnleashContext context) {
+        return isEnabled(parameters, StrategyContext.of(context));
+    }
+}
@@ -0,0 +1,239 @@
+package io.getunleash.strategy;
+
+import io.getunleash.lang.Nullable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the results of a custom strategy, for strategies whose answer only depends on their
+ * parameters and a few context fields. Register it with {@link
+ * io.getunleash.util.UnleashConfig.Builder#strategyCache} and the strategy with the same name is
+ * wrapped when the client starts.
+ *
+ * <pre>
+ * StrategyCache tenants = StrategyCache.builder("tenant")
+ *         .contextFields("tenant")
+ *         .maximumSize(10_000)
+ *         .timeToLive(Duration.ofMinutes(5))
+ *         .build();
+ * </pre>
+ *
+ * <p>Results are cached per parameter set and value of the given context fields, which are the
+ * standard field names (userId, sessionId, remoteAddress, environment, appName, currentTime) or
+ * custom properties. Any other field the strategy reads is ignored when looking up a result, so
+ * list every field its answer depends on.
+ */
+public final class StrategyCache {
+    private final String strategyName;
+    private final String[] contextFields;
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    StrategyCache(
+            String strategyName,
+            String[] contextFields,
+            int maximumSize,
+            Duration timeToLive,
+            LongSupplier nanoClock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        this.strategyName = strategyName;
+        this.contextFields = contextFields;
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public static Builder builder(String strategyName) {
+        return new Builder(strategyName);
+    }
+
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return how many results were removed to stay within the maximum size
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return the strategy, answering from this cache before asking the strategy itself
+     */
+    public FastStrategy wrap(Strategy strategy) {
+        if (!strategy.getName().equals(strategyName)) {
+            throw new IllegalArgumentException(
+                    "Cache for " + strategyName + " can not wrap " + strategy.getName());
+        }
+        return new CachingStrategy(strategy, this);
+    }
+
+    boolean isEnabled(
+            Map<String, String> parameters, StrategyContext context, FastStrategy strategy) {
+        Key key = new Key(parameters, contextValues(context));
+        long now = nanoClock.getAsLong();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.expiresAt < 0) {
+            hits.increment();
+            return entry.enabled;
+        }
+        misses.increment();
+        boolean enabled = strategy.isEnabled(parameters, context);
+        if (entry == null && entries.size() >= maximumSize) {
+            evict(now);
+        }
+        entries.put(key, new Entry(enabled, now + timeToLiveNanos));
+        return enabled;
+    }
+
+    private String[] contextValues(StrategyContext context) {
+        String[] values = new String[contextFields.length];
+        for (int i = 0; i < contextFields.length; i++) {
+            values[i] = contextValue(context, contextFields[i]);
+        }
+        return values;
+    }
+
+    @Nullable
+    private static String contextValue(StrategyContext context, String field) {
+        switch (field) {
+            case "userId":
+                return context.getUserId();
+            case "sessionId":
+                return context.getSessionId();
+            case "remoteAddress":
+                return context.getRemoteAddress();
+            case "environment":
+                return context.getEnvironment();
+            case "appName":
+                return context.getAppName();
+            case "currentTime":
+                return context.getCurrentTime().toString();
+            default:
+                return context.getProperty(field);
+        }
+    }
+
+    /**
+     * Drops expired results first. If that doesn't free a tenth of the cache, drops arbitrary
+     * results until it does, which is cheaper than keeping track of the least recently used ones on
+     * every lookup. Freeing more than one slot keeps the sweep from running on every miss.
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+        int target = maximumSize - Math.max(1, maximumSize / 10);
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Key {
+        private final Map<String, String> parameters;
+        private final String[] contextValues;
+        private final int hash;
+
+        private Key(Map<String, String> parameters, String[] contextValues) {
+            this.parameters = parameters;
+            this.contextValues = contextValues;
+            this.hash = 31 * parameters.hashCode() + Arrays.hashCode(contextValues);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash
+                    && Arrays.equals(contextValues, other.contextValues)
+                    && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        private final boolean enabled;
+        private final long expiresAt;
+
+        private Entry(boolean enabled, long expiresAt) {
+            this.enabled = enabled;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static final class Builder {
+        private final String strategyName;
+        private String[] contextFields = new String[0];
+        private int maximumSize = 10_000;
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        private Builder(String strategyName) {
+            this.strategyName = strategyName;
+        }
+
+        /** The context fields the result of the strategy depends on. None by default. */
+        public Builder contextFields(String... contextFields) {
+            this.contextFields = contextFields.clone();
+            return this;
+        }
+
+        /** How many results to keep. Defaults to 10 000. */
+        public Builder maximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /** How long a result is reused before the strategy is asked again. Defaults to 1 minute. */
+        public Builder timeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        public StrategyCache build() {
+            return new StrategyCache(
+                    strategyName, contextFields, maximumSize, timeToLive, System::nanoTime);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.getunleash.strategy;
+
+import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * A read-only view of the context a toggle is evaluated with, handed to {@link FastStrategy}. It
+ * reads straight from the context the engine passes along, and only parses the current time when
+ * asked for it.
+ */
+public interface StrategyContext {
+
+    @Nullable
+    String getAppName();
+
+    @Nullable
+    String getEnvironment();
+
+    @Nullable
+    String getUserId();
+
+    @Nullable
+    String getSessionId();
+
+    @Nullable
+    String getRemoteAddress();
+
+    /**
+     * @return the custom property, or null if the context doesn't have it
+     */
+    @Nullable
+    default String getProperty(String name) {
+        return getProperties().get(name);
+    }
+
+    /**
+     * @return the custom properties, which must not be modified
+     */
+    Map<String, String> getProperties();
+
+    /**
+     * @return the time of the evaluation, or now if the context doesn't have one
+     */
+    ZonedDateTime getCurrentTime();
+
+    static StrategyContext of(UnleashContext context) {
+        return new UnleashStrategyContext(context);
+    }
+}
@@ -0,0 +1,55 @@
+package io.getunleash.strategy;
+
+import io.getunleash.UnleashContext;
+import io.getunleash.lang.Nullable;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/** Lets a {@link FastStrategy} be called with an {@link UnleashContext}, outside the engine. */
+final class UnleashStrategyContext implements StrategyContext {
+    private final UnleashContext context;
+
+    UnleashStrategyContext(UnleashContext context) {
+        this.context = context;
+    }
+
+    @Override
+    @Nullable
+    public String getAppName() {
+        return context.getAppName().orElse(null);
+    }
+
+    @Override
+    @Nullable
+    public String getEnvironment() {
+        return context.getEnvironment().orElse(null);
+    }
+
+    @Override
+    @Nullable
+    public String getUserId() {
+        return context.getUserId().orElse(null);
+    }
+
+    @Override
+    @Nullable
+    public String getSessionId() {
+        return context.getSessionId().orElse(null);
+    }
+
+    @Override
+    @Nullable
+    public String getRemoteAddress() {
+        return context.getRemoteAddress().orElse(null);
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        return context.getProperties();
+    }
+
+    @Override
+    public ZonedDateTime getCurrentTime() {
+        return context.getCurrentTime().orElseGet(ZonedDateTime::now);
+    }
+}
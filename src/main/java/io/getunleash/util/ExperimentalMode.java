@@ -2,5 +2,6 @@ package io.getunleash.util;
 
 public enum ExperimentalMode {
     POLLING,
-    STREAMING
+    STREAMING,
+    DELTA_POLLING
 }
@@ -2,28 +2,82 @@ package io.getunleash.util;
 
 import static java.lang.Integer.max;
 
+import io.getunleash.lang.Nullable;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class Throttler {
     private static final Logger LOGGER = LoggerFactory.getLogger(Throttler.class);
+
+    /** How many unchanged responses in a row it takes to skip one more interval. */
+    private static final int UNCHANGED_PER_IDLE_SKIP = 4;
+
     private final int maxSkips;
+    private final int maxIdleSkips;
 
     private final int intervalLength;
     private final AtomicInteger skips = new AtomicInteger(0);
     private final AtomicInteger failures = new AtomicInteger(0);
+    private final AtomicInteger unchanged = new AtomicInteger(0);
 
     private final URL target;
 
     public Throttler(int intervalLengthSeconds, int longestAcceptableIntervalSeconds, URL target) {
+        this(
+                intervalLengthSeconds,
+                longestAcceptableIntervalSeconds,
+                intervalLengthSeconds,
+                target);
+    }
+
+    /**
+     * @param idleIntervalSeconds the longest interval to slow down to while responses show no
+     *     change, see {@link #unchanged()}
+     */
+    public Throttler(
+            int intervalLengthSeconds,
+            int longestAcceptableIntervalSeconds,
+            int idleIntervalSeconds,
+            URL target) {
         this.maxSkips = max(longestAcceptableIntervalSeconds / max(intervalLengthSeconds, 1), 1);
+        this.maxIdleSkips =
+                Math.min(max(idleIntervalSeconds / max(intervalLengthSeconds, 1) - 1, 0), maxSkips);
         this.target = target;
         this.intervalLength = intervalLengthSeconds;
     }
 
+    /**
+     * Reads a Retry-After header, which holds either a number of seconds or an HTTP date.
+     *
+     * @return empty if the header is missing or can't be read
+     */
+    public static Optional<Duration> parseRetryAfter(@Nullable String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(Long.parseLong(retryAfter.trim()), 0)));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime date =
+                        ZonedDateTime.parse(
+                                retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration wait = Duration.between(ZonedDateTime.now(date.getZone()), date);
+                return Optional.of(wait.isNegative() ? Duration.ZERO : wait);
+            } catch (DateTimeParseException notDate) {
+                return Optional.empty();
+            }
+        }
+    }
+
     /**
      * We've had one successful call, so if we had 10 failures in a row, this will reduce the skips
      * down to 9, so that we gradually start polling more often, instead of doing max load
@@ -54,6 +108,33 @@ public class Throttler {
         failures.incrementAndGet();
     }
 
+    /**
+     * The server told us when to come back. Skips at least as many intervals as that takes, but
+     * never more than the longest acceptable interval.
+     */
+    public void skipAtLeast(Duration retryAfter) {
+        long seconds = retryAfter.getSeconds() + (retryAfter.getNano() > 0 ? 1 : 0);
+        long intervals = (seconds + max(intervalLength, 1) - 1) / max(intervalLength, 1);
+        int wanted = (int) Math.min(intervals, maxSkips);
+        skips.accumulateAndGet(wanted, Math::max);
+    }
+
+    /**
+     * Nothing changed since the previous response. Every few of those in a row, while nothing is
+     * failing, skip one more interval, up to the idle interval. {@link #changed()} goes back to the
+     * regular interval.
+     */
+    public void unchanged() {
+        int streak = unchanged.incrementAndGet();
+        if (maxIdleSkips > 0 && failures.get() == 0) {
+            skips.set(Math.min(streak / UNCHANGED_PER_IDLE_SKIP, maxIdleSkips));
+        }
+    }
+
+    public void changed() {
+        unchanged.set(0);
+    }
+
     public boolean performAction() {
         return skips.get() <= 0;
     }
@@ -63,6 +144,13 @@ public class Throttler {
     }
 
     public void handleHttpErrorCodes(int responseCode) {
+        handleHttpErrorCodes(responseCode, Optional.empty());
+    }
+
+    /**
+     * @param retryAfter when the server asked us to come back, only followed for 429 and 50x
+     */
+    public void handleHttpErrorCodes(int responseCode, Optional<Duration> retryAfter) {
         if (responseCode == HttpURLConnection.HTTP_UNAUTHORIZED
                 || responseCode == HttpURLConnection.HTTP_FORBIDDEN) {
             maximizeSkips();
@@ -81,6 +169,7 @@ public class Throttler {
                     this.intervalLength);
         } else if (responseCode == 429) {
             increaseSkipCount();
+            retryAfter.ifPresent(this::skipAtLeast);
             LOGGER.info(
                     "RATE LIMITED for the {}. time. Further backing off. Current backoff at {} times our interval (of {} seconds)",
                     failures.get(),
@@ -88,6 +177,7 @@ public class Throttler {
                     this.intervalLength);
         } else if (responseCode >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
             increaseSkipCount();
+            retryAfter.ifPresent(this::skipAtLeast);
             LOGGER.info(
                     "Server failed with a {} status code. Backing off. Current backoff at {} times our poll interval (of {} seconds)",
                     responseCode,
@@ -4,15 +4,23 @@ import io.getunleash.CustomHttpHeadersProvider;
 import io.getunleash.DefaultCustomHttpHeadersProviderImpl;
 import io.getunleash.UnleashContextProvider;
 import io.getunleash.UnleashException;
+import io.getunleash.event.EventBus;
+import io.getunleash.event.ImpressionSampling;
 import io.getunleash.event.NoOpSubscriber;
+import io.getunleash.event.OverflowPolicy;
+import io.getunleash.event.SubscriberRegistration;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.impactmetrics.ImpactMetricRegistryAndDataSource;
 import io.getunleash.impactmetrics.InMemoryMetricRegistry;
 import io.getunleash.lang.Nullable;
 import io.getunleash.metric.DefaultHttpMetricsSender;
+import io.getunleash.metric.JavaHttpMetricsSender;
 import io.getunleash.repository.HttpFeatureFetcher;
+import io.getunleash.repository.JavaHttpFeatureFetcher;
 import io.getunleash.repository.ToggleBootstrapProvider;
+import io.getunleash.strategy.AsyncStrategy;
 import io.getunleash.strategy.Strategy;
+import io.getunleash.strategy.StrategyCache;
 import java.io.File;
 import java.math.BigInteger;
 import java.net.*;
@@ -20,7 +28,10 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -44,11 +55,14 @@ public class UnleashConfig {
     private final String connectionId;
     private final String sdkVersion;
     private final String backupFile;
+    private final boolean compressedBackup;
 
     private final String clientSpecificationVersion;
     @Nullable private final String projectName;
     @Nullable private final String namePrefix;
     private final long fetchTogglesInterval;
+    private final double fetchTogglesJitter;
+    private final long idleFetchTogglesInterval;
 
     private final Duration fetchTogglesConnectTimeout;
 
@@ -66,12 +80,22 @@ public class UnleashConfig {
     private final UnleashFeatureFetcherFactory unleashFeatureFetcherFactory;
 
     private final MetricSenderFactory metricSenderFactory;
+    @Nullable private final UnleashHttpClient httpClient;
+    private final boolean sharedFeatureState;
 
     private final UnleashContextProvider contextProvider;
     private final boolean synchronousFetchOnInitialisation;
+    private final boolean parallelStartup;
     private final UnleashScheduledExecutor unleashScheduledExecutor;
     private final UnleashSubscriber unleashSubscriber;
+    private final int toggleEvaluationBufferSize;
+    private final OverflowPolicy toggleEvaluationOverflowPolicy;
+    private final OverflowPolicy impressionOverflowPolicy;
+    private final EventBus eventBus;
+    private final ImpressionSampling impressionSampling;
     @Nullable private Strategy fallbackStrategy;
+    private final List<StrategyCache> strategyCaches;
+    private final List<AsyncStrategy<?>> asyncStrategies;
     @Nullable private final ToggleBootstrapProvider toggleBootstrapProvider;
     @Nullable private final Proxy proxy;
     @Nullable private final Consumer<UnleashException> startupExceptionHandler;
@@ -87,9 +111,12 @@ public class UnleashConfig {
             String connectionId,
             String sdkVersion,
             String backupFile,
+            boolean compressedBackup,
             @Nullable String projectName,
             @Nullable String namePrefix,
             long fetchTogglesInterval,
+            double fetchTogglesJitter,
+            long idleFetchTogglesInterval,
             Duration fetchTogglesConnectTimeout,
             Duration fetchTogglesReadTimeout,
             boolean disablePolling,
@@ -101,11 +128,21 @@ public class UnleashConfig {
             UnleashContextProvider contextProvider,
             boolean isProxyAuthenticationByJvmProperties,
             boolean synchronousFetchOnInitialisation,
+            boolean parallelStartup,
             UnleashFeatureFetcherFactory unleashFeatureFetcherFactory,
             MetricSenderFactory metricSenderFactory,
+            boolean pooledHttpClient,
+            boolean sharedFeatureState,
             @Nullable UnleashScheduledExecutor unleashScheduledExecutor,
             @Nullable UnleashSubscriber unleashSubscriber,
+            int toggleEvaluationBufferSize,
+            OverflowPolicy toggleEvaluationOverflowPolicy,
+            OverflowPolicy impressionOverflowPolicy,
+            List<SubscriberRegistration> additionalSubscribers,
+            ImpressionSampling impressionSampling,
             @Nullable Strategy fallbackStrategy,
+            List<StrategyCache> strategyCaches,
+            List<AsyncStrategy<?>> asyncStrategies,
             @Nullable ToggleBootstrapProvider unleashBootstrapProvider,
             @Nullable Proxy proxy,
             @Nullable Authenticator proxyAuthenticator,
@@ -132,6 +169,23 @@ public class UnleashConfig {
             throw new IllegalStateException("You are required to specify a subscriber");
         }
 
+        if (toggleEvaluationBufferSize < 1) {
+            throw new IllegalStateException("toggleEvaluationBufferSize must be at least 1");
+        }
+
+        if (fetchTogglesJitter < 0 || fetchTogglesJitter >= 1) {
+            throw new IllegalStateException("fetchTogglesJitter must be at least 0 and below 1");
+        }
+
+        for (AsyncStrategy<?> asyncStrategy : asyncStrategies) {
+            if (asyncStrategy.getRefreshIntervalSeconds() < 1) {
+                throw new IllegalStateException(
+                        "The refresh interval of async strategy "
+                                + asyncStrategy.getName()
+                                + " must be at least 1 second");
+            }
+        }
+
         if (fallbackStrategy != null) {
             this.fallbackStrategy = fallbackStrategy;
         }
@@ -152,9 +206,12 @@ public class UnleashConfig {
         this.connectionId = connectionId;
         this.sdkVersion = sdkVersion;
         this.backupFile = backupFile;
+        this.compressedBackup = compressedBackup;
         this.projectName = projectName;
         this.namePrefix = namePrefix;
         this.fetchTogglesInterval = fetchTogglesInterval;
+        this.fetchTogglesJitter = fetchTogglesJitter;
+        this.idleFetchTogglesInterval = Math.max(idleFetchTogglesInterval, fetchTogglesInterval);
         this.fetchTogglesConnectTimeout = fetchTogglesConnectTimeout;
         this.fetchTogglesReadTimeout = fetchTogglesReadTimeout;
         this.disablePolling = disablePolling;
@@ -167,8 +224,16 @@ public class UnleashConfig {
         this.contextProvider = contextProvider;
         this.isProxyAuthenticationByJvmProperties = isProxyAuthenticationByJvmProperties;
         this.synchronousFetchOnInitialisation = synchronousFetchOnInitialisation;
+        this.parallelStartup = parallelStartup;
         this.unleashScheduledExecutor = unleashScheduledExecutor;
         this.unleashSubscriber = unleashSubscriber;
+        this.toggleEvaluationBufferSize = toggleEvaluationBufferSize;
+        this.toggleEvaluationOverflowPolicy = toggleEvaluationOverflowPolicy;
+        this.impressionOverflowPolicy = impressionOverflowPolicy;
+        this.eventBus = new EventBus(additionalSubscribers);
+        this.impressionSampling = impressionSampling;
+        this.strategyCaches = strategyCaches;
+        this.asyncStrategies = asyncStrategies;
         this.toggleBootstrapProvider = unleashBootstrapProvider;
         this.proxy = proxy;
         this.unleashFeatureFetcherFactory = unleashFeatureFetcherFactory;
@@ -177,6 +242,9 @@ public class UnleashConfig {
                 UnleashProperties.getProperty("client.specification.version");
         this.startupExceptionHandler = startupExceptionHandler;
         this.impactMetricsRegistry = impactMetricsRegistry;
+        // Last, since the client reads the timeouts, proxy and headers set above
+        this.sharedFeatureState = sharedFeatureState;
+        this.httpClient = pooledHttpClient ? new UnleashHttpClient(this) : null;
     }
 
     public static Builder builder() {
@@ -246,6 +314,21 @@ public class UnleashConfig {
         return fetchTogglesInterval;
     }
 
+    /**
+     * @return how far, as a fraction of the interval, each poll may move away from the interval
+     */
+    public double getFetchTogglesJitter() {
+        return fetchTogglesJitter;
+    }
+
+    /**
+     * @return the longest interval, in seconds, that polling slows down to while the toggles don't
+     *     change. Equal to {@link #getFetchTogglesInterval()} unless set.
+     */
+    public long getIdleFetchTogglesInterval() {
+        return idleFetchTogglesInterval;
+    }
+
     public String getFetchTogglesIntervalMillis() {
         return String.valueOf(fetchTogglesInterval * 1000);
     }
@@ -270,6 +353,10 @@ public class UnleashConfig {
         return experimentalMode == ExperimentalMode.STREAMING;
     }
 
+    public boolean isDeltaPollingMode() {
+        return experimentalMode == ExperimentalMode.DELTA_POLLING;
+    }
+
     public long getSendMetricsInterval() {
         return sendMetricsInterval;
     }
@@ -294,6 +381,14 @@ public class UnleashConfig {
         return this.backupFile;
     }
 
+    /**
+     * @return true if the backup is written as a compressed snapshot, see {@link
+     *     Builder#compressedBackup()}
+     */
+    public boolean isCompressedBackup() {
+        return compressedBackup;
+    }
+
     @Nullable
     public String getApiKey() {
         String auth = this.customHttpHeadersProvider.getCustomHeaders().get("Authorization");
@@ -321,6 +416,14 @@ public class UnleashConfig {
         return synchronousFetchOnInitialisation;
     }
 
+    /**
+     * @return true if the backup, bootstrap and first fetch race each other at startup, see {@link
+     *     Builder#parallelStartup()}
+     */
+    public boolean isParallelStartup() {
+        return parallelStartup;
+    }
+
     public UnleashContextProvider getContextProvider() {
         return contextProvider;
     }
@@ -333,6 +436,26 @@ public class UnleashConfig {
         return unleashSubscriber;
     }
 
+    public int getToggleEvaluationBufferSize() {
+        return toggleEvaluationBufferSize;
+    }
+
+    public OverflowPolicy getToggleEvaluationOverflowPolicy() {
+        return toggleEvaluationOverflowPolicy;
+    }
+
+    public OverflowPolicy getImpressionOverflowPolicy() {
+        return impressionOverflowPolicy;
+    }
+
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    public ImpressionSampling getImpressionSampling() {
+        return impressionSampling;
+    }
+
     public boolean isProxyAuthenticationByJvmProperties() {
         return isProxyAuthenticationByJvmProperties;
     }
@@ -342,6 +465,14 @@ public class UnleashConfig {
         return fallbackStrategy;
     }
 
+    public List<StrategyCache> getStrategyCaches() {
+        return strategyCaches;
+    }
+
+    public List<AsyncStrategy<?>> getAsyncStrategies() {
+        return asyncStrategies;
+    }
+
     @Nullable
     public ToggleBootstrapProvider getToggleBootstrapProvider() {
         return toggleBootstrapProvider;
@@ -369,6 +500,23 @@ public class UnleashConfig {
         return this.unleashFeatureFetcherFactory;
     }
 
+    /**
+     * @return the client shared by the feature fetcher and metrics sender, or null unless {@link
+     *     Builder#pooledHttpClient()} was set
+     */
+    @Nullable
+    public UnleashHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * @return true if clients with the same Unleash API, token and filters share their toggles, see
+     *     {@link Builder#sharedFeatureState()}
+     */
+    public boolean isSharedFeatureState() {
+        return sharedFeatureState;
+    }
+
     @Nullable
     public Consumer<UnleashException> getStartupExceptionHandler() {
         return startupExceptionHandler;
@@ -440,9 +588,12 @@ public class UnleashConfig {
         private String connectionId = getDefaultConnectionId();
         private final String sdkVersion = getDefaultSdkVersion();
         private @Nullable String backupFile;
+        private boolean compressedBackup = false;
         private @Nullable String projectName;
         private @Nullable String namePrefix;
         private long fetchTogglesInterval = 15;
+        private double fetchTogglesJitter = 0.1;
+        private long idleFetchTogglesInterval = 0;
 
         private Duration fetchTogglesConnectTimeout = Duration.ofSeconds(10);
 
@@ -459,13 +610,24 @@ public class UnleashConfig {
         private UnleashFeatureFetcherFactory unleashFeatureFetcherFactory = HttpFeatureFetcher::new;
 
         private MetricSenderFactory unleashMetricSenderFactory = DefaultHttpMetricsSender::new;
+        private boolean pooledHttpClient = false;
+        private boolean sharedFeatureState = false;
         private UnleashContextProvider contextProvider =
                 UnleashContextProvider.getDefaultProvider();
         private boolean synchronousFetchOnInitialisation = false;
+        private boolean parallelStartup = false;
         private @Nullable UnleashScheduledExecutor scheduledExecutor;
         private @Nullable UnleashSubscriber unleashSubscriber;
+        private int toggleEvaluationBufferSize = 4096;
+        private OverflowPolicy toggleEvaluationOverflowPolicy = OverflowPolicy.DROP;
+        private OverflowPolicy impressionOverflowPolicy = OverflowPolicy.DROP;
+        private final List<SubscriberRegistration> additionalSubscribers = new ArrayList<>();
+        private double impressionSampleRate = 1.0;
+        private final Map<String, Double> impressionSampleRates = new HashMap<>();
         private boolean isProxyAuthenticationByJvmProperties;
         private @Nullable Strategy fallbackStrategy;
+        private final List<StrategyCache> strategyCaches = new ArrayList<>();
+        private final List<AsyncStrategy<?>> asyncStrategies = new ArrayList<>();
         private @Nullable ToggleBootstrapProvider toggleBootstrapProvider;
         private @Nullable Proxy proxy;
         private @Nullable Authenticator proxyAuthenticator;
@@ -549,6 +711,29 @@ public class UnleashConfig {
             return this;
         }
 
+        /**
+         * Fetch toggles and send metrics through one shared {@link java.net.http.HttpClient}, which
+         * keeps connections open between requests and uses HTTP/2 where the Unleash API supports
+         * it. Connection reuse is reported by {@link UnleashConfig#getHttpClient()}.
+         */
+        public Builder pooledHttpClient() {
+            this.pooledHttpClient = true;
+            this.unleashFeatureFetcherFactory = JavaHttpFeatureFetcher::new;
+            this.unleashMetricSenderFactory = JavaHttpMetricsSender::new;
+            return this;
+        }
+
+        /**
+         * Lets the clients in this JVM that use the same Unleash API, API token, project and name
+         * prefix share one fetch loop and one backup of the toggles. Each client still has its own
+         * strategies, metrics and subscriber. The fetch settings of the client that started first
+         * are used, until it shuts down and the next one takes over.
+         */
+        public Builder sharedFeatureState() {
+            this.sharedFeatureState = true;
+            return this;
+        }
+
         public Builder metricsSenderFactory(MetricSenderFactory metricSenderFactory) {
             this.unleashMetricSenderFactory = metricSenderFactory;
             return this;
@@ -559,6 +744,27 @@ public class UnleashConfig {
             return this;
         }
 
+        /**
+         * Spreads polls of many instances over time, so they don't all reach the Unleash API at
+         * once after starting together. The first poll comes at a random point in the interval
+         * after the initial fetch, and every next one up to this fraction of the interval early or
+         * late. Defaults to 0.1, 0 polls at the exact interval.
+         */
+        public Builder fetchTogglesJitter(double fetchTogglesJitter) {
+            this.fetchTogglesJitter = fetchTogglesJitter;
+            return this;
+        }
+
+        /**
+         * Lets polling slow down, up to this many seconds between polls, while the Unleash API
+         * keeps answering that nothing changed. Polling returns to {@link
+         * #fetchTogglesInterval(long)} as soon as a change comes in. Off by default.
+         */
+        public Builder idleFetchTogglesInterval(long idleFetchTogglesInterval) {
+            this.idleFetchTogglesInterval = idleFetchTogglesInterval;
+            return this;
+        }
+
         public Builder fetchTogglesConnectTimeout(Duration connectTimeout) {
             this.fetchTogglesConnectTimeout = connectTimeout;
             return this;
@@ -595,6 +801,17 @@ public class UnleashConfig {
             return this;
         }
 
+        /**
+         * Poll for the changes since the last update instead of the full set of toggles. Falls back
+         * to full fetches if the Unleash API doesn't support it. Deltas are requested through the
+         * configured feature fetcher, and a custom fetcher that can't request them keeps fetching
+         * the full set.
+         */
+        public Builder experimentalDeltaPollingMode() {
+            this.experimentalMode = ExperimentalMode.DELTA_POLLING;
+            return this;
+        }
+
         public Builder sendMetricsConnectTimeout(Duration connectTimeout) {
             this.sendMetricsConnectTimeout = connectTimeout;
             return this;
@@ -630,6 +847,16 @@ public class UnleashConfig {
             return this;
         }
 
+        /**
+         * Writes the backup as a gzip compressed snapshot with a header holding its format version,
+         * checksum and the time it was written, instead of plain JSON. Backups and bootstrap files
+         * are read in either format.
+         */
+        public Builder compressedBackup() {
+            this.compressedBackup = true;
+            return this;
+        }
+
         public Builder enableProxyAuthenticationByJvmProperties() {
             this.isProxyAuthenticationByJvmProperties = true;
             return this;
@@ -645,6 +872,18 @@ public class UnleashConfig {
             return this;
         }
 
+        /**
+         * Reads the backup and the bootstrap provider on threads of their own while the first fetch
+         * runs, instead of one after the other before it. The client serves whichever toggles
+         * arrive first, and switches when more recent ones arrive: the backup replaces the
+         * bootstrap, and fetched toggles replace both. A {@link
+         * io.getunleash.event.StartupCompleted} event reports when each of them arrived.
+         */
+        public Builder parallelStartup() {
+            this.parallelStartup = true;
+            return this;
+        }
+
         public Builder scheduledExecutor(UnleashScheduledExecutor scheduledExecutor) {
             this.scheduledExecutor = scheduledExecutor;
             return this;
@@ -655,11 +894,96 @@ public class UnleashConfig {
             return this;
         }
 
+        /**
+         * How many {@link io.getunleash.event.ToggleEvaluated} events can wait for the subscriber
+         * before the overflow policy kicks in. Rounded up to a power of two, defaults to 4096.
+         * Impression events are buffered separately, with the same size.
+         */
+        public Builder toggleEvaluationBufferSize(int toggleEvaluationBufferSize) {
+            this.toggleEvaluationBufferSize = toggleEvaluationBufferSize;
+            return this;
+        }
+
+        /**
+         * Whether toggle evaluations should drop events or wait for the subscriber once the buffer
+         * is full. Defaults to {@link OverflowPolicy#DROP}.
+         */
+        public Builder toggleEvaluationOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.toggleEvaluationOverflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Whether impression events should be dropped or wait for the subscriber once their buffer
+         * is full. Defaults to {@link OverflowPolicy#DROP}, so evaluating a toggle never waits for
+         * the subscriber; dropped impressions are counted, and a warning is logged the first time.
+         * Use {@link #impressionSampleRate(double)} to produce fewer of them.
+         */
+        public Builder impressionOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.impressionOverflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Registers a subscriber next to the one set with {@link #subscriber}. It gets a thread of
+         * its own and a queue of {@value SubscriberRegistration#DEFAULT_QUEUE_CAPACITY} events.
+         */
+        public Builder addSubscriber(UnleashSubscriber subscriber) {
+            return addSubscriber(
+                    new SubscriberRegistration(
+                            subscriber, null, SubscriberRegistration.DEFAULT_QUEUE_CAPACITY));
+        }
+
+        /**
+         * Registers a subscriber next to the one set with {@link #subscriber}, delivering its
+         * events on the executor of the registration. Events that don't fit in its queue are
+         * dropped, so a slow subscriber never delays fetching, metrics or other subscribers.
+         */
+        public Builder addSubscriber(SubscriberRegistration registration) {
+            this.additionalSubscribers.add(registration);
+            return this;
+        }
+
+        /**
+         * The share of evaluations, from 0 to 1, that produce an impression event for toggles with
+         * impression data enabled. Defaults to 1, every evaluation.
+         */
+        public Builder impressionSampleRate(double sampleRate) {
+            this.impressionSampleRate = sampleRate;
+            return this;
+        }
+
+        /** Overrides {@link #impressionSampleRate(double)} for a single toggle. */
+        public Builder impressionSampleRate(String toggleName, double sampleRate) {
+            this.impressionSampleRates.put(toggleName, sampleRate);
+            return this;
+        }
+
         public Builder fallbackStrategy(@Nullable Strategy fallbackStrategy) {
             this.fallbackStrategy = fallbackStrategy;
             return this;
         }
 
+        /**
+         * Caches the results of the custom strategy with the cache's strategy name. Only use it for
+         * strategies whose answer depends on nothing but their parameters and the context fields
+         * the cache is keyed on.
+         */
+        public Builder strategyCache(StrategyCache strategyCache) {
+            this.strategyCaches.add(strategyCache);
+            return this;
+        }
+
+        /**
+         * Registers a custom strategy whose decisions are loaded in the background, on a thread for
+         * the client's async strategies. It replaces a strategy with the same name passed to the
+         * client. Its refresh interval must be at least a second.
+         */
+        public Builder asyncStrategy(AsyncStrategy<?> asyncStrategy) {
+            this.asyncStrategies.add(asyncStrategy);
+            return this;
+        }
+
         public Builder toggleBootstrapProvider(
                 @Nullable ToggleBootstrapProvider toggleBootstrapProvider) {
             this.toggleBootstrapProvider = toggleBootstrapProvider;
@@ -748,9 +1072,12 @@ public class UnleashConfig {
                     connectionId,
                     sdkVersion,
                     getBackupFile(),
+                    compressedBackup,
                     projectName,
                     namePrefix,
                     fetchTogglesInterval,
+                    fetchTogglesJitter,
+                    idleFetchTogglesInterval,
                     fetchTogglesConnectTimeout,
                     fetchTogglesReadTimeout,
                     disablePolling,
@@ -762,12 +1089,22 @@ public class UnleashConfig {
                     contextProvider,
                     isProxyAuthenticationByJvmProperties,
                     synchronousFetchOnInitialisation,
+                    parallelStartup,
                     unleashFeatureFetcherFactory,
                     unleashMetricSenderFactory,
+                    pooledHttpClient,
+                    sharedFeatureState,
                     Optional.ofNullable(scheduledExecutor)
                             .orElseGet(UnleashScheduledExecutorImpl::getInstance),
                     Optional.ofNullable(unleashSubscriber).orElseGet(NoOpSubscriber::new),
+                    toggleEvaluationBufferSize,
+                    toggleEvaluationOverflowPolicy,
+                    impressionOverflowPolicy,
+                    new ArrayList<>(additionalSubscribers),
+                    new ImpressionSampling(impressionSampleRate, impressionSampleRates),
                     fallbackStrategy,
+                    Collections.unmodifiableList(new ArrayList<>(strategyCaches)),
+                    Collections.unmodifiableList(new ArrayList<>(asyncStrategies)),
                     toggleBootstrapProvider,
                     proxy,
                     proxyAuthenticator,
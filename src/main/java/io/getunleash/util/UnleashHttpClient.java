@@ -0,0 +1,238 @@
+package io.getunleash.util;
+
+import static io.getunleash.util.UnleashConfig.UNLEASH_APP_NAME_HEADER;
+import static io.getunleash.util.UnleashConfig.UNLEASH_CONNECTION_ID_HEADER;
+import static io.getunleash.util.UnleashConfig.UNLEASH_INSTANCE_ID_HEADER;
+import static io.getunleash.util.UnleashConfig.UNLEASH_SDK_HEADER;
+
+import io.getunleash.lang.Nullable;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLContextSpi;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+
+/**
+ * One {@link HttpClient} shared by the feature fetcher and the metrics sender, so that polls and
+ * metrics posts reuse the same keep-alive connections, or a single HTTP/2 connection where the
+ * Unleash API supports it, instead of setting up TCP and TLS for every request.
+ *
+ * <p>The JDK client doesn't expose its connection pool, so connections are counted as they are set
+ * up with TLS. For an https Unleash API, every request beyond {@link #getTlsConnections()} went
+ * over a connection that was already open. Connections to an http API are not counted.
+ */
+public final class UnleashHttpClient {
+    private final UnleashConfig config;
+    private final HttpClient client;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+    private final LongAdder tlsConnections = new LongAdder();
+
+    public UnleashHttpClient(UnleashConfig config) {
+        this(config, defaultSslContext());
+    }
+
+    UnleashHttpClient(UnleashConfig config, SSLContext sslContext) {
+        this.config = config;
+        HttpClient.Builder builder =
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .connectTimeout(config.getFetchTogglesConnectTimeout())
+                        .sslContext(new CountingSslContext(sslContext, tlsConnections));
+        Proxy proxy = config.getProxy();
+        if (proxy != null) {
+            builder.proxy(new FixedProxySelector(proxy));
+        }
+        Authenticator authenticator = Authenticator.getDefault();
+        if (authenticator != null) {
+            builder.authenticator(authenticator);
+        }
+        this.client = builder.build();
+    }
+
+    private static SSLContext defaultSslContext() {
+        try {
+            return SSLContext.getDefault();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No default SSLContext available", e);
+        }
+    }
+
+    /** A request to the Unleash API carrying the headers every Unleash request needs. */
+    public HttpRequest.Builder newRequest(URL url, Duration timeout) {
+        HttpRequest.Builder request;
+        try {
+            request = HttpRequest.newBuilder(url.toURI()).timeout(timeout);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(url + " is not a valid URI", e);
+        }
+        request.header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .header(UNLEASH_APP_NAME_HEADER, config.getAppName())
+                .header(UNLEASH_INSTANCE_ID_HEADER, config.getInstanceId())
+                .header(UNLEASH_SDK_HEADER, config.getSdkVersion())
+                .header("User-Agent", config.getAppName())
+                .header("Unleash-Client-Spec", config.getClientSpecificationVersion());
+        config.getCustomHttpHeaders().forEach(request::setHeader);
+        config.getCustomHttpHeadersProvider().getCustomHeaders().forEach(request::setHeader);
+        // prevent overwrite
+        request.setHeader(UNLEASH_CONNECTION_ID_HEADER, config.getConnectionId());
+        return request;
+    }
+
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        requests.increment();
+        HttpResponse<T> response = client.send(request, bodyHandler);
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.increment();
+        }
+        return response;
+    }
+
+    /** Like {@link #send}, but completes on the client's executor instead of blocking. */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+            HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        requests.increment();
+        return client.sendAsync(request, bodyHandler)
+                .thenApply(
+                        response -> {
+                            if (response.version() == HttpClient.Version.HTTP_2) {
+                                http2Responses.increment();
+                            }
+                            return response;
+                        });
+    }
+
+    /**
+     * @return how many requests were sent, including the ones that failed
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return how many responses came back over HTTP/2
+     */
+    public long getHttp2Responses() {
+        return http2Responses.sum();
+    }
+
+    /**
+     * @return how many connections were set up with a TLS handshake
+     */
+    public long getTlsConnections() {
+        return tlsConnections.sum();
+    }
+
+    private static final class FixedProxySelector extends ProxySelector {
+        private final List<Proxy> proxies;
+
+        private FixedProxySelector(Proxy proxy) {
+            this.proxies = Collections.singletonList(proxy);
+        }
+
+        @Override
+        public List<Proxy> select(URI uri) {
+            return proxies;
+        }
+
+        @Override
+        public void connectFailed(URI uri, SocketAddress address, IOException e) {}
+    }
+
+    /** Counts the engines the client creates, which it does once for each new connection. */
+    private static final class CountingSslContext extends SSLContext {
+        private CountingSslContext(SSLContext delegate, LongAdder engines) {
+            super(
+                    new CountingSpi(delegate, engines),
+                    delegate.getProvider(),
+                    delegate.getProtocol());
+        }
+    }
+
+    private static final class CountingSpi extends SSLContextSpi {
+        private final SSLContext delegate;
+        private final LongAdder engines;
+
+        private CountingSpi(SSLContext delegate, LongAdder engines) {
+            this.delegate = delegate;
+            this.engines = engines;
+        }
+
+        @Override
+        protected void engineInit(
+                @Nullable KeyManager[] keyManagers,
+                @Nullable TrustManager[] trustManagers,
+                @Nullable SecureRandom random)
+                throws KeyManagementException {
+            delegate.init(keyManagers, trustManagers, random);
+        }
+
+        @Override
+        protected SSLSocketFactory engineGetSocketFactory() {
+            return delegate.getSocketFactory();
+        }
+
+        @Override
+        protected SSLServerSocketFactory engineGetServerSocketFactory() {
+            return delegate.getServerSocketFactory();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine() {
+            engines.increment();
+            return delegate.createSSLEngine();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine(String host, int port) {
+            engines.increment();
+            return delegate.createSSLEngine(host, port);
+        }
+
+        @Override
+        protected SSLSessionContext engineGetServerSessionContext() {
+            return delegate.getServerSessionContext();
+        }
+
+        @Override
+        protected SSLSessionContext engineGetClientSessionContext() {
+            return delegate.getClientSessionContext();
+        }
+
+        @Override
+        protected SSLParameters engineGetDefaultSSLParameters() {
+            return delegate.getDefaultSSLParameters();
+        }
+
+        @Override
+        protected SSLParameters engineGetSupportedSSLParameters() {
+            return delegate.getSupportedSSLParameters();
+        }
+    }
+}
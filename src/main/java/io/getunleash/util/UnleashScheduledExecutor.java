@@ -1,7 +1,9 @@
 package io.getunleash.util;
 
+import io.getunleash.lang.Nullable;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public interface UnleashScheduledExecutor {
 
@@ -10,6 +12,17 @@ public interface UnleashScheduledExecutor {
 
     Future<Void> scheduleOnce(Runnable runnable);
 
+    /**
+     * Runs the command once, after the delay. Lets a task pick a new delay every time it runs,
+     * which {@link #setInterval} can't do.
+     *
+     * @return null if this executor can't delay tasks, callers then fall back to {@link
+     *     #setInterval}
+     */
+    default @Nullable Future<Void> schedule(Runnable command, long delay, TimeUnit unit) {
+        return null;
+    }
+
     default void shutdown() {}
 
     default void shutdownNow() {}
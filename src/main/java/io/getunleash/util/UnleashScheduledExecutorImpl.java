@@ -25,6 +25,8 @@ public class UnleashScheduledExecutorImpl implements UnleashScheduledExecutor {
 
         this.scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(1, threadFactory);
         this.scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+        // Like the tasks from setInterval, tasks that reschedule themselves stop on shutdown
+        this.scheduledThreadPoolExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
 
         this.executorService = Executors.newSingleThreadExecutor(threadFactory);
     }
@@ -46,6 +48,22 @@ public class UnleashScheduledExecutorImpl implements UnleashScheduledExecutor {
         }
     }
 
+    @Override
+    public Future<Void> schedule(Runnable command, long delay, TimeUnit unit) {
+        try {
+            return scheduledThreadPoolExecutor.schedule(
+                    () -> {
+                        command.run();
+                        return null;
+                    },
+                    delay,
+                    unit);
+        } catch (RejectedExecutionException ex) {
+            LOG.debug("Not scheduling Unleash background task, the executor was shut down");
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
     @Override
     public Future<Void> scheduleOnce(Runnable runnable) {
         return executorService.submit(
@@ -8,6 +8,7 @@ import java.net.URL;
 public class UnleashURLs {
     private final URL fetchTogglesURL;
     private final URL streamingURL;
+    private final URL clientDeltaURL;
     private final URL clientMetricsURL;
     private final URL clientRegisterURL;
 
@@ -16,6 +17,7 @@ public class UnleashURLs {
             String unleashAPIstr = unleashAPI.toString();
             fetchTogglesURL = URI.create(unleashAPIstr + "/client/features").normalize().toURL();
             streamingURL = URI.create(unleashAPIstr + "/client/streaming").normalize().toURL();
+            clientDeltaURL = URI.create(unleashAPIstr + "/client/delta").normalize().toURL();
             clientMetricsURL = URI.create(unleashAPIstr + "/client/metrics").normalize().toURL();
             clientRegisterURL = URI.create(unleashAPIstr + "/client/register").normalize().toURL();
 
@@ -32,6 +34,10 @@ public class UnleashURLs {
         return streamingURL;
     }
 
+    public URL getClientDeltaURL() {
+        return clientDeltaURL;
+    }
+
     public URL getClientMetricsURL() {
         return clientMetricsURL;
     }
@@ -41,15 +47,24 @@ public class UnleashURLs {
     }
 
     public URL getFetchTogglesURL(@Nullable String projectName, @Nullable String namePrefix) {
+        return withFilters("fetchTogglesURL", fetchTogglesURL, projectName, namePrefix);
+    }
+
+    public URL getClientDeltaURL(@Nullable String projectName, @Nullable String namePrefix) {
+        return withFilters("clientDeltaURL", clientDeltaURL, projectName, namePrefix);
+    }
+
+    private URL withFilters(
+            String name, URL url, @Nullable String projectName, @Nullable String namePrefix) {
         StringBuilder suffix = new StringBuilder();
         appendParam(suffix, "project", projectName);
         appendParam(suffix, "namePrefix", namePrefix);
 
         try {
-            return URI.create(fetchTogglesURL + suffix.toString()).normalize().toURL();
+            return URI.create(url + suffix.toString()).normalize().toURL();
         } catch (IllegalArgumentException | MalformedURLException e) {
             throw new IllegalArgumentException(
-                    "fetchTogglesURL [" + fetchTogglesURL + suffix + "] was not URL friendly.", e);
+                    name + " [" + url + suffix + "] was not URL friendly.", e);
         }
     }
 
@@ -4,6 +4,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.verify;
@@ -12,8 +13,10 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.getunleash.engine.FlatResponse;
 import io.getunleash.event.ClientFeaturesResponse;
 import io.getunleash.event.EventDispatcher;
+import io.getunleash.event.FeatureSource;
 import io.getunleash.event.UnleashReady;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.repository.FeatureFetcher;
@@ -23,13 +26,21 @@ import io.getunleash.util.ResourceReader;
 import io.getunleash.util.UnleashConfig;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.slf4j.LoggerFactory;
 
 class DefaultUnleashTest {
@@ -94,6 +105,71 @@ class DefaultUnleashTest {
         assertThat(t1.isEnabled()).isTrue();
     }
 
+    @Test
+    public void should_look_up_feature_toggle_definitions_by_name() {
+        UnleashConfig unleashConfig =
+                UnleashConfig.builder()
+                        .unleashAPI("http://fakeAPI")
+                        .appName("fakeApp")
+                        .toggleBootstrapProvider(
+                                () -> Optional.of(loadMockFeatures("unleash-repo-v2.json")))
+                        .build();
+
+        MoreOperations more = new DefaultUnleash(unleashConfig).more();
+
+        assertThat(more.getFeatureToggleNames()).hasSize(5).contains("featureX", "featureY");
+        assertThat(more.getFeatureToggleDefinition("featureY"))
+                .hasValueSatisfying(
+                        definition -> {
+                            assertThat(definition.getName()).isEqualTo("featureY");
+                            assertThat(definition.environmentEnabled()).isFalse();
+                        });
+        assertThat(more.getFeatureToggleDefinition("unknown")).isEmpty();
+    }
+
+    @Test
+    public void should_evaluate_batch_in_requested_order() {
+        UnleashConfig unleashConfig =
+                UnleashConfig.builder()
+                        .unleashAPI("http://fakeAPI")
+                        .appName("fakeApp")
+                        .toggleBootstrapProvider(
+                                () -> Optional.of(loadMockFeatures("unleash-repo-v2.json")))
+                        .build();
+
+        Unleash unleash = new DefaultUnleash(unleashConfig);
+        EvaluatedToggles toggles =
+                unleash.more()
+                        .evaluateBatch(
+                                Arrays.asList("featureY", "featureX", "unknown"),
+                                UnleashContext.builder().userId("123").build());
+
+        assertThat(toggles.size()).isEqualTo(3);
+        assertThat(toggles.getName(1)).isEqualTo("featureX");
+        assertThat(toggles.isEnabled(0)).isFalse();
+        assertThat(toggles.isEnabled(1)).isTrue();
+        assertThat(toggles.isEnabled("unknown")).isFalse();
+        assertThat(toggles.asMap())
+                .containsExactly(
+                        entry("featureY", false), entry("featureX", true), entry("unknown", false));
+    }
+
+    @Test
+    public void should_enrich_and_freeze_context_once_per_batch() {
+        UnleashContext context = UnleashContext.builder().userId("123").build();
+        when(engineProxy.isEnabled(any(), any(UnleashContext.class)))
+                .thenReturn(new FlatResponse<>(false, true));
+
+        sut.more().evaluateBatch(Arrays.asList("toggle1", "toggle2"), context);
+
+        ArgumentCaptor<UnleashContext> captor = ArgumentCaptor.forClass(UnleashContext.class);
+        verify(engineProxy, times(2)).isEnabled(any(), captor.capture());
+        UnleashContext evaluated = captor.getAllValues().get(0);
+        assertThat(evaluated.isFrozen()).isTrue();
+        assertThat(evaluated.getAppName()).hasValue("fakeApp");
+        assertThat(captor.getAllValues().get(1)).isSameAs(evaluated);
+    }
+
     @Test
     public void should_allow_fallback_strategy() {
         Strategy fallback = mock(Strategy.class);
@@ -261,6 +337,81 @@ class DefaultUnleashTest {
         assertThat(readySubscriber.ready).isTrue();
     }
 
+    @Test
+    public void readiness_tells_where_the_toggles_came_from(@TempDir Path backupDir)
+            throws Exception {
+        mockUnleashAPI(200);
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI(new URI("http://localhost:" + serverMock.getPort() + "/api/"))
+                        .appName("readiness")
+                        .instanceId("readiness-fetched")
+                        .backupFile(backupDir.resolve("unleash-repo.json").toString())
+                        .synchronousFetchOnInitialisation(true)
+                        .disableMetrics()
+                        .build();
+
+        DefaultUnleash unleash = new DefaultUnleash(config);
+
+        assertThat(unleash.isReady()).isTrue();
+        assertThat(unleash.whenReady().get(1, TimeUnit.SECONDS)).isEqualTo(FeatureSource.NETWORK);
+        assertThat(unleash.awaitReady(Duration.ZERO)).contains(FeatureSource.NETWORK);
+        unleash.shutdown();
+    }
+
+    @Test
+    public void await_ready_gives_up_after_the_timeout(@TempDir Path backupDir) throws Exception {
+        mockUnleashAPI(503);
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI(new URI("http://localhost:" + serverMock.getPort() + "/api/"))
+                        .appName("readiness")
+                        .instanceId("readiness-unavailable")
+                        .backupFile(backupDir.resolve("unleash-repo.json").toString())
+                        .toggleBootstrapProvider(Optional::empty)
+                        .disableMetrics()
+                        .build();
+
+        DefaultUnleash unleash = new DefaultUnleash(config);
+
+        assertThat(unleash.awaitReady(Duration.ofMillis(100))).isEmpty();
+        unleash.whenReady().complete(FeatureSource.NETWORK);
+        assertThat(unleash.isReady()).isFalse();
+        unleash.shutdown();
+    }
+
+    @Test
+    public void when_ready_completes_on_the_scheduler(@TempDir Path backupDir) throws Exception {
+        CountDownLatch bootstrapRead = new CountDownLatch(1);
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI("http://localhost:" + serverMock.getPort() + "/api/")
+                        .appName("readiness")
+                        .instanceId("readiness-bootstrapped")
+                        .backupFile(backupDir.resolve("unleash-repo.json").toString())
+                        .toggleBootstrapProvider(
+                                () -> {
+                                    try {
+                                        bootstrapRead.await(5, TimeUnit.SECONDS);
+                                    } catch (InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                    }
+                                    return Optional.of("{\"version\":2,\"features\":[]}");
+                                })
+                        .parallelStartup()
+                        .disablePolling()
+                        .disableMetrics()
+                        .build();
+
+        DefaultUnleash unleash = new DefaultUnleash(config);
+        CompletableFuture<String> readyOn =
+                unleash.whenReady().thenApply(source -> Thread.currentThread().getName());
+        bootstrapRead.countDown();
+
+        assertThat(readyOn.get(5, TimeUnit.SECONDS)).isEqualTo("unleash-api-executor");
+        unleash.shutdown();
+    }
+
     private void mockUnleashAPI(int featuresStatusCode) {
         stubFor(
                 get(urlEqualTo("/api/client/features"))
@@ -278,6 +429,7 @@ class DefaultUnleashTest {
     public void asynchronous_fetch_on_initialisation_fails_silently_and_retries()
             throws InterruptedException {
         FeatureFetcher fetcher = mock(FeatureFetcher.class);
+        when(fetcher.fetchFeaturesAsync()).thenCallRealMethod();
         when(fetcher.fetchFeatures())
                 .thenThrow(UnleashException.class)
                 .thenReturn(ClientFeaturesResponse.updated("doesn't matter for this test"));
@@ -288,6 +440,7 @@ class DefaultUnleashTest {
                         .apiKey("default:development:1234567890123456")
                         .instanceId("multiple_connection_exception")
                         .fetchTogglesInterval(1)
+                        .fetchTogglesJitter(0)
                         .unleashFeatureFetcherFactory((UnleashConfig c) -> fetcher)
                         .build();
 
@@ -1,6 +1,7 @@
 package io.getunleash;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 import io.getunleash.variant.Variant;
 import java.util.Arrays;
@@ -348,4 +349,57 @@ public class FakeUnleashTest {
                                 "my.feature.that.should.be.disabled", (name, context) -> false))
                 .isFalse();
     }
+
+    @Test
+    public void should_evaluate_batch_with_enabled_features() {
+        FakeUnleash fakeUnleash = new FakeUnleash();
+        fakeUnleash.enable("t1");
+        fakeUnleash.disable("t2");
+
+        EvaluatedToggles toggles =
+                fakeUnleash.more().evaluateBatch(Arrays.asList("t1", "t2", "t3"));
+
+        assertThat(toggles.size()).isEqualTo(3);
+        assertThat(toggles.isEnabled("t1")).isTrue();
+        assertThat(toggles.isEnabled("t2")).isFalse();
+        assertThat(toggles.isEnabled("t3")).isFalse();
+    }
+
+    @Test
+    void evaluate_batch_defaults_to_picking_from_all_toggles() {
+        FakeUnleash fakeUnleash = new FakeUnleash();
+        fakeUnleash.enable("t1");
+        fakeUnleash.disable("t2");
+        MoreOperations delegate = fakeUnleash.more();
+        MoreOperations more =
+                new MoreOperations() {
+                    @Override
+                    public List<String> getFeatureToggleNames() {
+                        return delegate.getFeatureToggleNames();
+                    }
+
+                    @Override
+                    public Optional<FeatureDefinition> getFeatureToggleDefinition(
+                            String toggleName) {
+                        return delegate.getFeatureToggleDefinition(toggleName);
+                    }
+
+                    @Override
+                    public List<EvaluatedToggle> evaluateAllToggles() {
+                        return delegate.evaluateAllToggles();
+                    }
+
+                    @Override
+                    public List<EvaluatedToggle> evaluateAllToggles(UnleashContext context) {
+                        return delegate.evaluateAllToggles(context);
+                    }
+                };
+
+        EvaluatedToggles toggles =
+                more.evaluateBatch(Arrays.asList("t2", "t3", "t1"), UnleashContext.EMPTY);
+
+        assertThat(toggles.asMap())
+                .containsExactly(entry("t2", false), entry("t3", false), entry("t1", true));
+        assertThat(more.evaluateBatch(Arrays.asList("t1")).isEnabled("t1")).isTrue();
+    }
 }
@@ -1,9 +1,14 @@
 package io.getunleash;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.data.MapEntry.entry;
 
+import io.getunleash.engine.Context;
+import io.getunleash.repository.YggdrasilAdapters;
 import io.getunleash.util.UnleashConfig;
+import java.util.HashMap;
+import java.util.Map;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -97,6 +102,89 @@ public class UnleashContextTest {
         assertThat(enhanced.getRemoteAddress()).hasValue("127.0.0.1");
         assertThat(enhanced.getEnvironment()).hasValue("env");
         assertThat(enhanced.getAppName()).hasValue("myApp");
+        assertThat(enhanced).isSameAs(context);
+    }
+
+    @Test
+    public void should_reuse_context_with_static_fields_applied() {
+        UnleashContext context =
+                UnleashContext.builder().userId("test@mail.com").addProperty("test", "me").build();
+
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test.com")
+                        .appName("someApp")
+                        .environment("stage")
+                        .build();
+
+        UnleashContext enhanced = context.applyStaticFields(config);
+
+        assertThat(context.applyStaticFields(config)).isSameAs(enhanced);
+        assertThat(enhanced.getProperties()).isSameAs(context.getProperties());
+    }
+
+    @Test
+    public void should_reapply_static_fields_when_config_differs() {
+        UnleashConfig stage =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test.com")
+                        .appName("someApp")
+                        .environment("stage")
+                        .build();
+        UnleashConfig prod =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test.com")
+                        .appName("otherApp")
+                        .environment("prod")
+                        .build();
+
+        assertThat(UnleashContext.EMPTY.applyStaticFields(stage).getAppName()).hasValue("someApp");
+        UnleashContext enhanced = UnleashContext.EMPTY.applyStaticFields(prod);
+
+        assertThat(enhanced.getAppName()).hasValue("otherApp");
+        assertThat(enhanced.getEnvironment()).hasValue("prod");
+    }
+
+    @Test
+    public void frozen_context_pins_time_and_properties() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("tenant", "acme");
+        UnleashContext context = new UnleashContext("user", "session", "127.0.0.1", properties);
+
+        UnleashContext frozen = context.freeze();
+        properties.put("tenant", "other");
+
+        assertThat(frozen.isFrozen()).isTrue();
+        assertThat(frozen.freeze()).isSameAs(frozen);
+        assertThat(frozen.getCurrentTime()).isPresent();
+        assertThat(frozen.getProperties()).containsExactly(entry("tenant", "acme"));
+        assertThatThrownBy(() -> frozen.getProperties().put("tenant", "other"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void frozen_context_is_adapted_once() {
+        UnleashConfig config =
+                UnleashConfig.builder().unleashAPI("http://test.com").appName("someApp").build();
+        UnleashContext frozen = UnleashContext.builder().userId("user").build().freeze();
+
+        UnleashContext enhanced = frozen.applyStaticFields(config);
+        Context engineContext = YggdrasilAdapters.adapt(enhanced);
+
+        assertThat(enhanced.isFrozen()).isTrue();
+        assertThat(YggdrasilAdapters.adapt(frozen.applyStaticFields(config)))
+                .isSameAs(engineContext);
+        assertThat(engineContext.getAppName()).isEqualTo("someApp");
+        assertThat(engineContext.getUserId()).isEqualTo("user");
+        assertThatThrownBy(() -> engineContext.setUserId("other"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void unfrozen_context_is_adapted_on_every_evaluation() {
+        UnleashContext context = UnleashContext.builder().userId("user").build();
+
+        assertThat(YggdrasilAdapters.adapt(context)).isNotSameAs(YggdrasilAdapters.adapt(context));
     }
 
     @Nested
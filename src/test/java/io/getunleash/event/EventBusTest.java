@@ -0,0 +1,134 @@
+package io.getunleash.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.getunleash.SynchronousTestExecutor;
+import io.getunleash.util.UnleashConfig;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class EventBusTest {
+
+    @Test
+    public void every_subscriber_receives_the_events_it_observes_in_order() {
+        RecordingSubscriber all = new RecordingSubscriber();
+        List<String> evaluated = new ArrayList<>();
+        UnleashSubscriber evaluationsOnly =
+                new UnleashSubscriber() {
+                    @Override
+                    public void toggleEvaluated(ToggleEvaluated toggleEvaluated) {
+                        evaluated.add(toggleEvaluated.getToggleName());
+                    }
+                };
+        UnleashConfig config =
+                configBuilder()
+                        .addSubscriber(new SubscriberRegistration(all, Runnable::run, 16))
+                        .addSubscriber(
+                                new SubscriberRegistration(evaluationsOnly, Runnable::run, 16))
+                        .build();
+        EventDispatcher dispatcher = new EventDispatcher(config);
+
+        dispatcher.dispatch(new ToggleEvaluated("a", true));
+        dispatcher.dispatch(new UnleashReady());
+        dispatcher.dispatch(new ToggleEvaluated("b", false));
+
+        assertThat(dispatcher.isObserved(SubscriberCallback.TOGGLE_EVALUATED)).isTrue();
+        assertThat(all.events)
+                .extracting(event -> event instanceof UnleashReady ? "ready" : event.toString())
+                .containsExactly("ToggleEvaluated: a=true", "ready", "ToggleEvaluated: b=false");
+        assertThat(evaluated).containsExactly("a", "b");
+    }
+
+    @Test
+    public void slow_subscriber_drops_its_own_events_without_blocking_dispatch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Executor stuck =
+                runnable ->
+                        new Thread(
+                                        () -> {
+                                            try {
+                                                release.await(5, TimeUnit.SECONDS);
+                                            } catch (InterruptedException e) {
+                                                Thread.currentThread().interrupt();
+                                            }
+                                            runnable.run();
+                                        })
+                                .start();
+        RecordingSubscriber slow = new RecordingSubscriber();
+        RecordingSubscriber fast = new RecordingSubscriber();
+        UnleashConfig config =
+                configBuilder()
+                        .addSubscriber(new SubscriberRegistration(slow, stuck, 2))
+                        .addSubscriber(new SubscriberRegistration(fast, Runnable::run, 16))
+                        .build();
+        EventDispatcher dispatcher = new EventDispatcher(config);
+
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+
+        assertThat(fast.events).hasSize(5);
+        SubscriberQueueMetrics slowMetrics = config.getEventBus().getSubscriberMetrics().get(0);
+        assertThat(slowMetrics.getSubscriber()).isSameAs(slow);
+        assertThat(slowMetrics.getQueueDepth()).isEqualTo(2);
+        assertThat(slowMetrics.getDroppedEvents()).isEqualTo(3);
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (slow.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        slowMetrics = config.getEventBus().getSubscriberMetrics().get(0);
+        assertThat(slow.size()).isEqualTo(2);
+        assertThat(slowMetrics.getQueueDepth()).isZero();
+        assertThat(slowMetrics.getMaxLag()).isPositive();
+    }
+
+    @Test
+    public void additional_subscribers_get_their_own_thread_by_default() throws Exception {
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch received = new CountDownLatch(1);
+        UnleashConfig config =
+                configBuilder()
+                        .addSubscriber(
+                                new UnleashSubscriber() {
+                                    @Override
+                                    public void onReady(UnleashReady unleashReady) {
+                                        threads.add(Thread.currentThread().getName());
+                                        received.countDown();
+                                    }
+                                })
+                        .build();
+
+        new EventDispatcher(config).dispatch(new UnleashReady());
+
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(threads).containsExactly("unleash-subscriber-executor");
+        config.getEventBus().shutdown();
+    }
+
+    private UnleashConfig.Builder configBuilder() {
+        return UnleashConfig.builder()
+                .appName(EventBusTest.class.getSimpleName())
+                .unleashAPI("http://localhost:4242/api")
+                .scheduledExecutor(new SynchronousTestExecutor());
+    }
+
+    private static class RecordingSubscriber implements UnleashSubscriber {
+        private final List<UnleashEvent> events = new ArrayList<>();
+
+        @Override
+        public synchronized void on(UnleashEvent unleashEvent) {
+            events.add(unleashEvent);
+        }
+
+        synchronized int size() {
+            return events.size();
+        }
+    }
+}
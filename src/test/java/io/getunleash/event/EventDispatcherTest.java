@@ -0,0 +1,330 @@
+package io.getunleash.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.getunleash.UnleashContext;
+import io.getunleash.UnleashException;
+import io.getunleash.util.UnleashConfig;
+import io.getunleash.util.UnleashScheduledExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class EventDispatcherTest {
+
+    private final QueueingExecutor executor = new QueueingExecutor();
+
+    private UnleashConfig.Builder configBuilder(UnleashSubscriber subscriber) {
+        return UnleashConfig.builder()
+                .appName(EventDispatcherTest.class.getSimpleName())
+                .unleashAPI("http://localhost:4242/api")
+                .scheduledExecutor(executor)
+                .subscriber(subscriber);
+    }
+
+    @Test
+    public void toggle_evaluations_are_not_observed_by_default_subscriber() {
+        EventDispatcher dispatcher =
+                new EventDispatcher(configBuilder(new NoOpSubscriber()).build());
+
+        dispatcher.dispatch(new ToggleEvaluated("toggle", true));
+
+        assertThat(dispatcher.isObserved(SubscriberCallback.TOGGLE_EVALUATED)).isFalse();
+        assertThat(executor.tasks).isEmpty();
+    }
+
+    @Test
+    public void toggle_evaluations_are_not_observed_by_subscriber_without_matching_callback() {
+        UnleashSubscriber subscriber =
+                new UnleashSubscriber() {
+                    @Override
+                    public void onReady(UnleashReady unleashReady) {}
+                };
+
+        EventDispatcher dispatcher = new EventDispatcher(configBuilder(subscriber).build());
+
+        assertThat(dispatcher.isObserved(SubscriberCallback.TOGGLE_EVALUATED)).isFalse();
+    }
+
+    @Test
+    public void toggle_evaluations_are_observed_through_on() {
+        UnleashSubscriber subscriber =
+                new UnleashSubscriber() {
+                    @Override
+                    public void on(UnleashEvent unleashEvent) {}
+                };
+
+        EventDispatcher dispatcher = new EventDispatcher(configBuilder(subscriber).build());
+
+        assertThat(dispatcher.isObserved(SubscriberCallback.TOGGLE_EVALUATED)).isTrue();
+    }
+
+    @Test
+    public void only_overridden_callbacks_are_dispatched() {
+        List<UnleashEvent> fetched = new ArrayList<>();
+        UnleashSubscriber subscriber =
+                new UnleashSubscriber() {
+                    @Override
+                    public void togglesFetched(ClientFeaturesResponse toggleResponse) {
+                        fetched.add(toggleResponse);
+                    }
+                };
+        EventDispatcher dispatcher = new EventDispatcher(configBuilder(subscriber).build());
+
+        assertThat(dispatcher.isObserved(SubscriberCallback.TOGGLES_FETCHED)).isTrue();
+        assertThat(dispatcher.isObserved(SubscriberCallback.FEATURES_BACKED_UP)).isFalse();
+
+        dispatcher.dispatch(new UnleashReady());
+        dispatcher.dispatch(new IsEnabledImpressionEvent("toggle", true, UnleashContext.EMPTY));
+        assertThat(executor.tasks).isEmpty();
+
+        dispatcher.dispatch(ClientFeaturesResponse.notChanged());
+        dispatcher.dispatch(new UnleashException("errors are always dispatched", null));
+        assertThat(executor.tasks).hasSize(2);
+        executor.runAll();
+        assertThat(fetched).hasSize(1);
+    }
+
+    @Test
+    public void toggle_evaluations_are_published_in_one_batch() {
+        CountingSubscriber subscriber = new CountingSubscriber();
+        EventDispatcher dispatcher = new EventDispatcher(configBuilder(subscriber).build());
+
+        dispatcher.dispatch(new ToggleEvaluated("a", true));
+        dispatcher.dispatch(new ToggleEvaluated("b", false));
+        dispatcher.dispatch(new ToggleEvaluated("c", true));
+
+        assertThat(executor.tasks).hasSize(1);
+        executor.runAll();
+        assertThat(subscriber.toggleNames).containsExactly("a", "b", "c");
+
+        dispatcher.dispatch(new ToggleEvaluated("d", true));
+        assertThat(executor.tasks).hasSize(1);
+        executor.runAll();
+        assertThat(subscriber.toggleNames).containsExactly("a", "b", "c", "d");
+    }
+
+    @Test
+    public void toggle_evaluations_are_dropped_and_counted_when_buffer_is_full() {
+        CountingSubscriber subscriber = new CountingSubscriber();
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        configBuilder(subscriber)
+                                .toggleEvaluationBufferSize(2)
+                                .toggleEvaluationOverflowPolicy(OverflowPolicy.DROP)
+                                .build());
+
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+        executor.runAll();
+
+        assertThat(subscriber.toggleNames).containsExactly("toggle-0", "toggle-1");
+        assertThat(dispatcher.getDroppedToggleEvaluations()).isEqualTo(3);
+    }
+
+    @Test
+    public void blocking_overflow_waits_for_the_dispatcher() throws Exception {
+        CountingSubscriber subscriber = new CountingSubscriber();
+        UnleashScheduledExecutor threaded =
+                new QueueingExecutor() {
+                    @Override
+                    public Future<Void> scheduleOnce(Runnable runnable) {
+                        return CompletableFuture.runAsync(runnable);
+                    }
+                };
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        configBuilder(subscriber)
+                                .scheduledExecutor(threaded)
+                                .toggleEvaluationBufferSize(2)
+                                .toggleEvaluationOverflowPolicy(OverflowPolicy.BLOCK)
+                                .build());
+
+        for (int i = 0; i < 100; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (subscriber.size() < 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(subscriber.size()).isEqualTo(100);
+        assertThat(dispatcher.getDroppedToggleEvaluations()).isZero();
+    }
+
+    @Test
+    public void blocking_overflow_drops_on_the_dispatcher_thread() {
+        CountingSubscriber subscriber = new CountingSubscriber();
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        configBuilder(subscriber)
+                                .toggleEvaluationBufferSize(2)
+                                .toggleEvaluationOverflowPolicy(OverflowPolicy.BLOCK)
+                                .build());
+        dispatcher.dispatch(new ToggleEvaluated("first", true));
+        // Runs the drain on this thread, which from now on is the dispatcher's
+        executor.runAll();
+
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(new ToggleEvaluated("toggle-" + i, true));
+        }
+        executor.runAll();
+
+        assertThat(subscriber.toggleNames).containsExactly("first", "toggle-0", "toggle-1");
+        assertThat(dispatcher.getDroppedToggleEvaluations()).isEqualTo(3);
+    }
+
+    @Test
+    public void impressions_are_delivered_in_batches() {
+        List<List<ImpressionEvent>> batches = new ArrayList<>();
+        UnleashSubscriber subscriber =
+                new UnleashSubscriber() {
+                    @Override
+                    public void impressions(List<ImpressionEvent> impressionEvents) {
+                        batches.add(impressionEvents);
+                    }
+                };
+        EventDispatcher dispatcher = new EventDispatcher(configBuilder(subscriber).build());
+
+        assertThat(dispatcher.isObserved(SubscriberCallback.IMPRESSION)).isTrue();
+        dispatcher.dispatch(new IsEnabledImpressionEvent("a", true, UnleashContext.EMPTY));
+        dispatcher.dispatch(new VariantImpressionEvent("b", true, UnleashContext.EMPTY, "blue"));
+        dispatcher.dispatch(new IsEnabledImpressionEvent("c", false, UnleashContext.EMPTY));
+
+        assertThat(executor.tasks).hasSize(1);
+        executor.runAll();
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0))
+                .extracting(ImpressionEvent::getFeatureName)
+                .containsExactly("a", "b", "c");
+        assertThat(batches.get(0))
+                .extracting(event -> UUID.fromString(event.getEventId()).version())
+                .containsOnly(4);
+        assertThat(batches.get(0)).extracting(ImpressionEvent::getEventId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void single_impression_callback_receives_every_event_of_a_batch() {
+        List<String> impressions = new ArrayList<>();
+        UnleashSubscriber subscriber =
+                new UnleashSubscriber() {
+                    @Override
+                    public void impression(ImpressionEvent impressionEvent) {
+                        impressions.add(impressionEvent.getFeatureName());
+                    }
+                };
+        EventDispatcher dispatcher = new EventDispatcher(configBuilder(subscriber).build());
+
+        dispatcher.dispatch(new IsEnabledImpressionEvent("a", true, UnleashContext.EMPTY));
+        dispatcher.dispatch(new IsEnabledImpressionEvent("b", true, UnleashContext.EMPTY));
+        executor.runAll();
+
+        assertThat(impressions).containsExactly("a", "b");
+        assertThat(dispatcher.getDroppedImpressions()).isZero();
+    }
+
+    @Test
+    public void impressions_can_wait_for_the_dispatcher() throws Exception {
+        List<String> impressions = new ArrayList<>();
+        UnleashSubscriber subscriber =
+                new UnleashSubscriber() {
+                    @Override
+                    public synchronized void impression(ImpressionEvent impressionEvent) {
+                        impressions.add(impressionEvent.getFeatureName());
+                    }
+                };
+        UnleashScheduledExecutor threaded =
+                new QueueingExecutor() {
+                    @Override
+                    public Future<Void> scheduleOnce(Runnable runnable) {
+                        return CompletableFuture.runAsync(runnable);
+                    }
+                };
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        configBuilder(subscriber)
+                                .scheduledExecutor(threaded)
+                                .toggleEvaluationBufferSize(2)
+                                .impressionOverflowPolicy(OverflowPolicy.BLOCK)
+                                .build());
+
+        for (int i = 0; i < 100; i++) {
+            dispatcher.dispatch(
+                    new IsEnabledImpressionEvent("toggle-" + i, true, UnleashContext.EMPTY));
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            synchronized (subscriber) {
+                if (impressions.size() == 100) {
+                    break;
+                }
+            }
+            Thread.sleep(10);
+        }
+        synchronized (subscriber) {
+            assertThat(impressions).hasSize(100);
+        }
+        assertThat(dispatcher.getDroppedImpressions()).isZero();
+    }
+
+    @Test
+    public void impressions_are_dropped_by_default_when_the_buffer_is_full() {
+        List<String> impressions = new ArrayList<>();
+        UnleashSubscriber subscriber =
+                new UnleashSubscriber() {
+                    @Override
+                    public void impression(ImpressionEvent impressionEvent) {
+                        impressions.add(impressionEvent.getFeatureName());
+                    }
+                };
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        configBuilder(subscriber).toggleEvaluationBufferSize(2).build());
+
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(
+                    new IsEnabledImpressionEvent("toggle-" + i, true, UnleashContext.EMPTY));
+        }
+        executor.runAll();
+
+        assertThat(impressions).containsExactly("toggle-0", "toggle-1");
+        assertThat(dispatcher.getDroppedImpressions()).isEqualTo(3);
+    }
+
+    private static class CountingSubscriber implements UnleashSubscriber {
+        private final List<String> toggleNames = new ArrayList<>();
+
+        @Override
+        public synchronized void toggleEvaluated(ToggleEvaluated toggleEvaluated) {
+            toggleNames.add(toggleEvaluated.getToggleName());
+        }
+
+        synchronized int size() {
+            return toggleNames.size();
+        }
+    }
+
+    private static class QueueingExecutor implements UnleashScheduledExecutor {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void setInterval(Runnable command, long initialDelaySec, long periodSec) {}
+
+        @Override
+        public Future<Void> scheduleOnce(Runnable runnable) {
+            tasks.add(runnable);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        void runAll() {
+            List<Runnable> pending = new ArrayList<>(tasks);
+            tasks.clear();
+            pending.forEach(Runnable::run);
+        }
+    }
+}
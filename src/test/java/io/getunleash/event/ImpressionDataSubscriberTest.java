@@ -1,6 +1,7 @@
 package io.getunleash.event;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -12,6 +13,8 @@ import io.getunleash.UnleashContext;
 import io.getunleash.engine.FlatResponse;
 import io.getunleash.engine.VariantDef;
 import io.getunleash.util.UnleashConfig;
+import java.util.Arrays;
+import java.util.Collections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -60,6 +63,18 @@ public class ImpressionDataSubscriberTest {
         assertThat(testSubscriber.variantImpressions).isEqualTo(0);
     }
 
+    @Test
+    public void isEnabledEventForEveryToggleInBatch() {
+        EngineProxy repo = Mockito.mock(EngineProxy.class);
+        when(repo.isEnabled(any(String.class), any(UnleashContext.class)))
+                .thenReturn(new FlatResponse<Boolean>(true, true));
+        Unleash unleash = new DefaultUnleash(unleashConfig, repo);
+
+        unleash.more().evaluateBatch(Arrays.asList("feature.one", "feature.two"));
+        assertThat(testSubscriber.isEnabledImpressions).isEqualTo(2);
+        assertThat(testSubscriber.variantImpressions).isEqualTo(0);
+    }
+
     @Test
     public void variantEventWhenVariantIsRequested() {
         VariantDef mockVariant = Mockito.mock(VariantDef.class);
@@ -74,6 +89,42 @@ public class ImpressionDataSubscriberTest {
         assertThat(testSubscriber.variantImpressions).isEqualTo(1);
     }
 
+    @Test
+    public void noEventsForTogglesThatAreSampledOut() {
+        UnleashConfig sampledConfig =
+                new UnleashConfig.Builder()
+                        .appName(SubscriberTest.class.getSimpleName())
+                        .instanceId(SubscriberTest.class.getSimpleName())
+                        .unleashAPI("http://localhost:4242/api")
+                        .subscriber(testSubscriber)
+                        .scheduledExecutor(new SynchronousTestExecutor())
+                        .impressionSampleRate(0.0)
+                        .impressionSampleRate("feature.always", 1.0)
+                        .build();
+        EngineProxy repo = Mockito.mock(EngineProxy.class);
+        when(repo.isEnabled(any(String.class), any(UnleashContext.class)))
+                .thenReturn(new FlatResponse<Boolean>(true, true));
+        Unleash unleash = new DefaultUnleash(sampledConfig, repo);
+
+        for (int i = 0; i < 10; i++) {
+            unleash.isEnabled("feature.sampled");
+        }
+        unleash.isEnabled("feature.always");
+        assertThat(testSubscriber.isEnabledImpressions).isEqualTo(1);
+    }
+
+    @Test
+    public void sampleRatesMustBeBetweenZeroAndOne() {
+        assertThat(new ImpressionSampling(0.25, Collections.emptyMap()).getSampleRate("any"))
+                .isEqualTo(0.25);
+        assertThatThrownBy(
+                        () -> new ImpressionSampling(1.0, Collections.singletonMap("feature", 1.5)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("feature");
+        assertThatThrownBy(() -> new ImpressionSampling(Double.NaN, Collections.emptyMap()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     private class ImpressionTestSubscriber implements UnleashSubscriber {
         private int variantImpressions;
         private int isEnabledImpressions;
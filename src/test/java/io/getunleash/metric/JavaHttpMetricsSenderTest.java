@@ -0,0 +1,60 @@
+package io.getunleash.metric;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static io.getunleash.util.UnleashConfig.UNLEASH_INTERVAL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.getunleash.repository.JavaHttpFeatureFetcher;
+import io.getunleash.util.UnleashConfig;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class JavaHttpMetricsSenderTest {
+
+    @RegisterExtension
+    static WireMockExtension serverMock =
+            WireMockExtension.newInstance()
+                    .configureStaticDsl(true)
+                    .options(wireMockConfig().dynamicPort())
+                    .build();
+
+    @Test
+    public void shares_the_pooled_client_with_the_feature_fetcher() {
+        stubFor(get(urlEqualTo("/api/client/features")).willReturn(aResponse().withBody("{}")));
+        stubFor(post(urlEqualTo("/api/client/register")).willReturn(aResponse().withStatus(202)));
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test-app")
+                        .unleashAPI(
+                                URI.create("http://localhost:" + serverMock.getPort() + "/api/"))
+                        .pooledHttpClient()
+                        .build();
+
+        new JavaHttpFeatureFetcher(config).fetchFeatures();
+        int status =
+                new JavaHttpMetricsSender(config)
+                        .registerClient(
+                                new ClientRegistration(
+                                        config, LocalDateTime.now(), new HashSet<>()));
+
+        assertThat(status).isEqualTo(202);
+        assertThat(config.getHttpClient().getRequests()).isEqualTo(2);
+        verify(
+                postRequestedFor(urlEqualTo("/api/client/register"))
+                        .withRequestBody(matching(".*appName.*"))
+                        .withHeader("UNLEASH-APPNAME", matching("test-app"))
+                        .withHeader(UNLEASH_INTERVAL, matching("60000")));
+    }
+}
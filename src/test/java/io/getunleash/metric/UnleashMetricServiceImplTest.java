@@ -17,6 +17,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
@@ -49,7 +50,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
 
         UnleashMetricService unleashMetricService =
                 new UnleashMetricServiceImpl(config, sender, executor, null);
@@ -81,7 +82,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
 
         UnleashMetricService unleashMetricService =
                 new UnleashMetricServiceImpl(config, sender, executor, null);
@@ -107,7 +108,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         new UnleashMetricServiceImpl(config, sender, executor, engine);
@@ -131,7 +132,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         new UnleashMetricServiceImpl(config, sender, executor, engine);
@@ -172,7 +173,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricServiceImpl unleashMetricService =
@@ -240,7 +241,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricServiceImpl unleashMetricService =
@@ -307,7 +308,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricServiceImpl unleashMetricService =
@@ -340,7 +341,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricServiceImpl unleashMetricService =
@@ -374,7 +375,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
         ImpactMetricRegistryAndDataSource registry = mock(ImpactMetricRegistryAndDataSource.class);
 
@@ -435,7 +436,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricServiceImpl unleashMetricService =
@@ -465,7 +466,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricServiceImpl unleashMetricService =
@@ -496,7 +497,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         new UnleashMetricServiceImpl(config, sender, executor, engine);
@@ -530,4 +531,76 @@ public class UnleashMetricServiceImplTest {
         assertThat(reg.getSpecVersion()).isEqualTo(config.getClientSpecificationVersion());
         assertThat(reg.getYggdrasilVersion()).isNotEmpty();
     }
+
+    @Test
+    public void next_send_waits_for_the_previous_one_to_complete() {
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .sendMetricsInterval(10)
+                        .unleashAPI("http://unleash.com")
+                        .build();
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        MetricSender sender = mock(MetricSender.class);
+        CompletableFuture<Integer> inFlight = new CompletableFuture<>();
+        when(sender.sendMetricsAsync(any(ClientMetrics.class)))
+                .thenReturn(inFlight)
+                .thenReturn(CompletableFuture.completedFuture(200));
+
+        UnleashMetricServiceImpl unleashMetricService =
+                new UnleashMetricServiceImpl(config, sender, executor, new UnleashEngine());
+        ArgumentCaptor<Runnable> sendMetricsCallback = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).setInterval(sendMetricsCallback.capture(), anyLong(), anyLong());
+
+        sendMetricsCallback.getValue().run();
+        sendMetricsCallback.getValue().run();
+        verify(sender, times(1)).sendMetricsAsync(any(ClientMetrics.class));
+
+        inFlight.complete(500);
+        assertThat(unleashMetricService.getFailures()).isEqualTo(1);
+        int skips = unleashMetricService.getSkips();
+        for (int i = 0; i <= skips; i++) {
+            sendMetricsCallback.getValue().run();
+        }
+        verify(sender, times(2)).sendMetricsAsync(any(ClientMetrics.class));
+        assertThat(unleashMetricService.getFailures()).isEqualTo(0);
+    }
+
+    @Test
+    public void keeps_sending_after_a_send_that_threw() {
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .sendMetricsInterval(10)
+                        .unleashAPI("http://unleash.com")
+                        .build();
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        DefaultHttpMetricsSender sender = mockSender();
+        new UnleashMetricServiceImpl(config, sender, executor, new UnleashEngine());
+        ArgumentCaptor<Runnable> sendMetricsCallback = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).setInterval(sendMetricsCallback.capture(), anyLong(), anyLong());
+
+        // Thrown by a synchronous sender, which the default sendMetricsAsync turns into a future
+        when(sender.sendMetrics(any(ClientMetrics.class)))
+                .thenThrow(new IllegalStateException("sender failed"))
+                .thenReturn(200);
+        sendMetricsCallback.getValue().run();
+        sendMetricsCallback.getValue().run();
+        verify(sender, times(2)).sendMetrics(any(ClientMetrics.class));
+
+        // Thrown before an asynchronous sender returned a future
+        doThrow(new IllegalStateException("sender failed"))
+                .doCallRealMethod()
+                .when(sender)
+                .sendMetricsAsync(any(ClientMetrics.class));
+        sendMetricsCallback.getValue().run();
+        sendMetricsCallback.getValue().run();
+        verify(sender, times(3)).sendMetrics(any(ClientMetrics.class));
+    }
+
+    private static DefaultHttpMetricsSender mockSender() {
+        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        when(sender.sendMetricsAsync(any(ClientMetrics.class))).thenCallRealMethod();
+        return sender;
+    }
 }
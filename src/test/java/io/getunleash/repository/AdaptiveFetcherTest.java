@@ -23,7 +23,7 @@ class AdaptiveFetcherTest {
         pollingFeatureFetcher = mock(PollingFeatureFetcher.class);
         streamingFeatureFetcher = mock(StreamingFeatureFetcherImpl.class);
         workersProvider =
-                (cfg, backup, engine, controller) ->
+                (cfg, backup, engine, controller, stateListener) ->
                         new AdaptiveFetcher.Workers(pollingFeatureFetcher, streamingFeatureFetcher);
 
         configBuilder =
@@ -37,7 +37,8 @@ class AdaptiveFetcherTest {
         UnleashConfig config = configBuilder.experimentalStreamingMode().build();
 
         AdaptiveFetcher adaptiveFetcher =
-                new AdaptiveFetcher(config, backupHandler, unleashEngine, workersProvider);
+                new AdaptiveFetcher(
+                        config, backupHandler, unleashEngine, () -> {}, workersProvider);
 
         adaptiveFetcher.start();
 
@@ -50,7 +51,8 @@ class AdaptiveFetcherTest {
         UnleashConfig config = configBuilder.build();
 
         AdaptiveFetcher adaptiveFetcher =
-                new AdaptiveFetcher(config, backupHandler, unleashEngine, workersProvider);
+                new AdaptiveFetcher(
+                        config, backupHandler, unleashEngine, () -> {}, workersProvider);
 
         adaptiveFetcher.start();
 
@@ -63,7 +65,8 @@ class AdaptiveFetcherTest {
         UnleashConfig config = configBuilder.experimentalStreamingMode().build();
 
         AdaptiveFetcher adaptiveFetcher =
-                new AdaptiveFetcher(config, backupHandler, unleashEngine, workersProvider);
+                new AdaptiveFetcher(
+                        config, backupHandler, unleashEngine, () -> {}, workersProvider);
 
         adaptiveFetcher.start();
 
@@ -0,0 +1,296 @@
+package io.getunleash.repository;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.getunleash.engine.Context;
+import io.getunleash.engine.UnleashEngine;
+import io.getunleash.engine.YggdrasilInvalidInputException;
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.event.GatedEventEmitter;
+import io.getunleash.util.UnleashConfig;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/** Emulates the delta API, which uses the ETag of a response as the revision to continue from. */
+public class DeltaFeatureFetcherTest {
+
+    @RegisterExtension
+    static WireMockExtension serverMock =
+            WireMockExtension.newInstance()
+                    .configureStaticDsl(true)
+                    .options(wireMockConfig().dynamicPort())
+                    .build();
+
+    private UnleashConfig config;
+    private UnleashEngine engine;
+    private DeltaFeatureFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI(
+                                URI.create("http://localhost:" + serverMock.getPort() + "/api/"))
+                        .experimentalDeltaPollingMode()
+                        .build();
+        engine = new UnleashEngine();
+        fetcher = new DeltaFeatureFetcher(new HttpFeatureFetcher(config));
+    }
+
+    @Test
+    public void applies_deltas_on_top_of_the_hydrated_state() throws Exception {
+        stubDelta(null, 1, hydration(1, feature("a", true), feature("b", true)));
+        stubDelta(1, 2, "{\"events\":[" + updated(2, feature("b", false)) + "]}");
+        stubDelta(
+                2,
+                3,
+                "{\"events\":[{\"type\":\"feature-removed\",\"eventId\":3,"
+                        + "\"featureName\":\"a\",\"project\":\"default\"}]}");
+
+        apply(fetcher.fetchFeatures());
+        assertThat(isEnabled("a")).isTrue();
+        assertThat(isEnabled("b")).isTrue();
+
+        ClientFeaturesResponse delta = fetcher.fetchFeatures();
+        assertThat(delta.isDelta()).isTrue();
+        apply(delta);
+        assertThat(isEnabled("b")).isFalse();
+
+        apply(fetcher.fetchFeatures());
+        assertThat(engine.listKnownToggles()).extracting(f -> f.getName()).containsExactly("b");
+        verify(0, getRequestedFor(urlEqualTo("/api/client/features")));
+    }
+
+    @Test
+    public void deltas_go_through_the_configured_okhttp_client() throws Exception {
+        stubDelta(null, 1, hydration(1, feature("a", true)));
+        stubDelta(1, 2, "{\"events\":[" + updated(2, feature("a", false)) + "]}");
+        OkHttpClient client =
+                new OkHttpClient.Builder()
+                        .addInterceptor(
+                                chain ->
+                                        chain.proceed(
+                                                chain.request()
+                                                        .newBuilder()
+                                                        .header("X-Transport", "okhttp")
+                                                        .build()))
+                        .build();
+        fetcher = new DeltaFeatureFetcher(new OkHttpFeatureFetcher(config, client));
+
+        apply(fetcher.fetchFeaturesAsync().get(5, TimeUnit.SECONDS));
+        ClientFeaturesResponse delta = fetcher.fetchFeaturesAsync().get(5, TimeUnit.SECONDS);
+        apply(delta);
+
+        assertThat(delta.isDelta()).isTrue();
+        assertThat(isEnabled("a")).isFalse();
+        verify(
+                2,
+                getRequestedFor(urlEqualTo("/api/client/delta"))
+                        .withHeader("X-Transport", equalTo("okhttp")));
+    }
+
+    @Test
+    public void deltas_go_through_the_pooled_http_client() throws Exception {
+        stubDelta(null, 1, hydration(1, feature("a", true)));
+        stubDelta(1, 2, "{\"events\":[" + updated(2, feature("a", false)) + "]}");
+        UnleashConfig pooled =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI(
+                                URI.create("http://localhost:" + serverMock.getPort() + "/api/"))
+                        .experimentalDeltaPollingMode()
+                        .pooledHttpClient()
+                        .build();
+        fetcher = new DeltaFeatureFetcher(new JavaHttpFeatureFetcher(pooled));
+
+        apply(fetcher.fetchFeaturesAsync().get(5, TimeUnit.SECONDS));
+        ClientFeaturesResponse delta = fetcher.fetchFeaturesAsync().get(5, TimeUnit.SECONDS);
+        apply(delta);
+
+        assertThat(delta.isDelta()).isTrue();
+        assertThat(isEnabled("a")).isFalse();
+        verify(2, getRequestedFor(urlEqualTo("/api/client/delta")));
+    }
+
+    @Test
+    public void a_delta_that_does_not_follow_the_last_revision_triggers_a_hydration()
+            throws Exception {
+        stubDelta(null, 5, hydration(5, feature("a", true)));
+        // An event older than the revision we asked for means the server lost track of us
+        stubDelta(5, 5, "{\"events\":[" + updated(3, feature("a", false)) + "]}");
+
+        apply(fetcher.fetchFeatures());
+        ClientFeaturesResponse response = fetcher.fetchFeatures();
+        apply(response);
+
+        assertThat(response.getClientFeatures().get()).contains("hydration");
+        assertThat(isEnabled("a")).isTrue();
+        verify(
+                2,
+                getRequestedFor(urlEqualTo("/api/client/delta"))
+                        .withHeader("If-None-Match", absent()));
+    }
+
+    @Test
+    public void falls_back_to_full_fetches_when_the_api_has_no_delta_endpoint() throws Exception {
+        stubFor(get(urlEqualTo("/api/client/delta")).willReturn(aResponse().withStatus(404)));
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withBody(
+                                                "{\"version\":2,\"features\":["
+                                                        + feature("a", true)
+                                                        + "]}")));
+
+        ClientFeaturesResponse first = fetcher.fetchFeatures();
+        ClientFeaturesResponse second = fetcher.fetchFeatures();
+        apply(second);
+
+        assertThat(first.isDelta()).isFalse();
+        assertThat(isEnabled("a")).isTrue();
+        verify(1, getRequestedFor(urlEqualTo("/api/client/delta")));
+        verify(2, getRequestedFor(urlEqualTo("/api/client/features")));
+    }
+
+    @Test
+    public void deltas_waiting_for_ingest_are_all_applied_in_order() throws Exception {
+        List<Runnable> ingestTasks = new ArrayList<>();
+        BackupHandler backupHandler = mock(BackupHandler.class);
+        FeatureUpdatePipeline pipeline =
+                new FeatureUpdatePipeline(
+                        engine,
+                        backupHandler,
+                        () -> {},
+                        mock(GatedEventEmitter.class),
+                        ingestTasks::add,
+                        Runnable::run);
+
+        pipeline.submit(
+                ClientFeaturesResponse.delta(hydration(1, feature("a", true))), Duration.ZERO);
+        pipeline.submit(
+                ClientFeaturesResponse.delta(
+                        "{\"events\":[" + updated(2, feature("b", true)) + "]}"),
+                Duration.ZERO);
+        pipeline.submit(
+                ClientFeaturesResponse.delta(
+                        "{\"events\":[" + updated(3, feature("a", false)) + "]}"),
+                Duration.ZERO);
+        assertThat(ingestTasks).hasSize(1);
+        ingestTasks.get(0).run();
+
+        assertThat(isEnabled("a")).isFalse();
+        assertThat(isEnabled("b")).isTrue();
+        ArgumentCaptor<String> backups = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(backupHandler, times(3)).write(backups.capture());
+        assertThat(backups.getValue()).contains("\"features\"").doesNotContain("\"events\"");
+        UnleashEngine restored = new UnleashEngine();
+        restored.takeState(backups.getValue());
+        assertThat(restored.listKnownToggles()).hasSize(2);
+    }
+
+    @Test
+    public void a_delta_the_engine_rejects_makes_the_next_poll_hydrate() throws Exception {
+        stubDelta(null, 1, hydration(1, feature("a", true)));
+        stubDelta(1, 2, "{\"events\":[" + updated(2, feature("a", false)) + "]}");
+        stubDelta(2, 3, "{\"events\":[" + updated(3, feature("a", true)) + "]}");
+        UnleashEngine rejecting = mock(UnleashEngine.class);
+        doThrow(new YggdrasilInvalidInputException("rejected"))
+                .when(rejecting)
+                .takeState(contains("\"eventId\":2"));
+        List<Runnable> ingestTasks = new ArrayList<>();
+        FeatureUpdatePipeline pipeline =
+                new FeatureUpdatePipeline(
+                        rejecting,
+                        mock(BackupHandler.class),
+                        () -> {},
+                        mock(GatedEventEmitter.class),
+                        fetcher::deltaFailed,
+                        ingestTasks::add,
+                        Runnable::run);
+
+        fetcher.fetchFeatures();
+        pipeline.submit(fetcher.fetchFeatures(), Duration.ZERO);
+        pipeline.submit(fetcher.fetchFeatures(), Duration.ZERO);
+        ingestTasks.get(0).run();
+
+        // The delta after the rejected one is dropped too, it builds on a state the engine lacks
+        Mockito.verify(rejecting, times(1)).takeState(anyString());
+        fetcher.fetchFeatures();
+        verify(
+                2,
+                getRequestedFor(urlEqualTo("/api/client/delta"))
+                        .withHeader("If-None-Match", absent()));
+    }
+
+    private void stubDelta(Integer revision, int newRevision, String body) {
+        stubFor(
+                get(urlEqualTo("/api/client/delta"))
+                        .withHeader(
+                                "If-None-Match",
+                                revision == null ? absent() : equalTo("\"" + revision + "\""))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("ETag", "\"" + newRevision + "\"")
+                                        .withBody(body)));
+    }
+
+    private void apply(ClientFeaturesResponse response) throws Exception {
+        engine.takeState(response.getClientFeatures().get());
+    }
+
+    private boolean isEnabled(String toggleName) throws Exception {
+        return engine.isEnabled(toggleName, new Context()).value;
+    }
+
+    private static String hydration(int eventId, String... features) {
+        return "{\"events\":[{\"type\":\"hydration\",\"eventId\":"
+                + eventId
+                + ",\"features\":["
+                + String.join(",", features)
+                + "],\"segments\":[]}]}";
+    }
+
+    private static String updated(int eventId, String feature) {
+        return "{\"type\":\"feature-updated\",\"eventId\":"
+                + eventId
+                + ",\"feature\":"
+                + feature
+                + "}";
+    }
+
+    private static String feature(String name, boolean enabled) {
+        return "{\"name\":\""
+                + name
+                + "\",\"enabled\":"
+                + enabled
+                + ",\"strategies\":[{\"name\":\"default\"}],\"variants\":[]}";
+    }
+}
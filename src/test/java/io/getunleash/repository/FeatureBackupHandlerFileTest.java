@@ -2,18 +2,35 @@ package io.getunleash.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import io.getunleash.FeatureDefinition;
+import io.getunleash.SynchronousTestExecutor;
+import io.getunleash.event.FeatureSet;
+import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.util.ClientFeaturesParser;
 import io.getunleash.util.UnleashConfig;
 import java.io.File;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class FeatureBackupHandlerFileTest {
 
+    @TempDir Path backupDir;
+
     @Test
     public void test_read() {
         UnleashConfig config =
@@ -104,4 +121,148 @@ public class FeatureBackupHandlerFileTest {
         backupHandler.write(staticData);
         assertTrue(true, "Did not crash even if backup-writer yields IOException");
     }
+
+    @Test
+    public void write_replaces_the_backup_without_leaving_temporary_files() throws Exception {
+        Path backupFile = backupDir.resolve("unleash-repo.json");
+        Files.write(backupFile, "{\"version\":1}".getBytes(StandardCharsets.UTF_8));
+        FeatureBackupHandlerFile backupHandler =
+                new FeatureBackupHandlerFile(backupConfig(backupFile, new BackedUpSubscriber()));
+
+        backupHandler.write("{\"version\":2}");
+
+        assertThat(backupFile).hasContent("{\"version\":2}");
+        assertThat(backupDir.toFile().list()).containsExactly("unleash-repo.json");
+    }
+
+    @Test
+    public void unchanged_features_are_not_written_again() throws Exception {
+        Path backupFile = backupDir.resolve("unleash-repo.json");
+        BackedUpSubscriber subscriber = new BackedUpSubscriber();
+        FeatureBackupHandlerFile backupHandler =
+                new FeatureBackupHandlerFile(backupConfig(backupFile, subscriber));
+
+        backupHandler.write("{\"version\":2}");
+        backupHandler.write("{\"version\":2}");
+        assertThat(subscriber.backups).hasSize(1);
+
+        backupHandler.write("{\"version\":2,\"features\":[]}");
+        assertThat(subscriber.backups).hasSize(2);
+
+        FeatureBackupHandlerFile restarted =
+                new FeatureBackupHandlerFile(backupConfig(backupFile, subscriber));
+        restarted.read();
+        restarted.write("{\"version\":2,\"features\":[]}");
+        assertThat(subscriber.backups).hasSize(2);
+    }
+
+    @Test
+    public void compressed_backup_is_read_back_by_backup_and_bootstrap() throws Exception {
+        Path backupFile = backupDir.resolve("unleash-repo.snapshot");
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI("http://unleash.org")
+                        .backupFile(backupFile.toString())
+                        .compressedBackup()
+                        .build();
+        String features =
+                new String(
+                        Files.readAllBytes(
+                                Path.of(getClass().getResource("/unleash-repo-v2.json").toURI())),
+                        StandardCharsets.UTF_8);
+
+        new FeatureBackupHandlerFile(config).write(features);
+
+        byte[] written = Files.readAllBytes(backupFile);
+        assertThat(FeatureSnapshot.isSnapshot(written)).isTrue();
+        assertThat(written.length).isLessThan(features.length());
+        assertThat(new FeatureBackupHandlerFile(config).read()).contains(features);
+        assertThat(new ToggleBootstrapFileProvider(backupFile.toString()).read())
+                .contains(features);
+    }
+
+    @Test
+    public void rewritten_backup_keeps_its_permissions() throws Exception {
+        Path backupFile = backupDir.resolve("unleash-repo.json");
+        assumeTrue(
+                Files.getFileStore(backupDir)
+                        .supportsFileAttributeView(PosixFileAttributeView.class));
+        Files.write(backupFile, "{\"version\":2,\"features\":[]}".getBytes(StandardCharsets.UTF_8));
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(backupFile, permissions);
+
+        new FeatureBackupHandlerFile(backupConfig(backupFile, new BackedUpSubscriber()))
+                .write("{\"version\":2,\"features\":[],\"segments\":[]}");
+
+        assertThat(Files.readAllBytes(backupFile))
+                .asString(StandardCharsets.UTF_8)
+                .contains("segments");
+        assertThat(Files.getPosixFilePermissions(backupFile)).isEqualTo(permissions);
+    }
+
+    @Test
+    public void corrupt_compressed_backup_is_not_restored() throws Exception {
+        Path backupFile = backupDir.resolve("unleash-repo.snapshot");
+        byte[] snapshot = FeatureSnapshot.encode("{\"version\":2,\"features\":[]}", Instant.now());
+        snapshot[snapshot.length - 12] ^= 1;
+        Files.write(backupFile, snapshot);
+
+        assertThat(
+                        new FeatureBackupHandlerFile(
+                                        backupConfig(backupFile, new BackedUpSubscriber()))
+                                .read())
+                .isEmpty();
+    }
+
+    @Test
+    public void backup_writer_only_writes_the_latest_of_pending_states() {
+        List<String> written = new ArrayList<>();
+        List<Runnable> queued = new ArrayList<>();
+        Executor queueing = queued::add;
+        BackupWriter writer =
+                new BackupWriter(
+                        new BackupHandler() {
+                            @Override
+                            public Optional<String> read() {
+                                return Optional.empty();
+                            }
+
+                            @Override
+                            public void write(String collection) {
+                                written.add(collection);
+                            }
+                        },
+                        queueing);
+
+        writer.submit("first");
+        writer.submit("second");
+        writer.submit("third");
+        assertThat(queued).hasSize(1);
+        queued.remove(0).run();
+        assertThat(written).containsExactly("third");
+
+        writer.submit("fourth");
+        queued.remove(0).run();
+        assertThat(written).containsExactly("third", "fourth");
+    }
+
+    private static UnleashConfig backupConfig(Path backupFile, UnleashSubscriber subscriber) {
+        return UnleashConfig.builder()
+                .appName("test")
+                .unleashAPI("http://unleash.org")
+                .backupFile(backupFile.toString())
+                .scheduledExecutor(new SynchronousTestExecutor())
+                .subscriber(subscriber)
+                .build();
+    }
+
+    private static class BackedUpSubscriber implements UnleashSubscriber {
+        private final List<FeatureSet> backups = new ArrayList<>();
+
+        @Override
+        public void featuresBackedUp(FeatureSet featureSet) {
+            backups.add(featureSet);
+        }
+    }
 }
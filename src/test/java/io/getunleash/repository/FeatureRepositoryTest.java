@@ -1,8 +1,13 @@
 package io.getunleash.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -10,18 +15,31 @@ import static org.mockito.Mockito.when;
 
 import io.getunleash.DefaultUnleash;
 import io.getunleash.FeatureDefinition;
+import io.getunleash.SynchronousTestExecutor;
+import io.getunleash.UnleashException;
 import io.getunleash.engine.UnleashEngine;
 import io.getunleash.event.ClientFeaturesResponse;
 import io.getunleash.event.EventDispatcher;
+import io.getunleash.event.FeatureSource;
+import io.getunleash.event.FeaturesUpdated;
 import io.getunleash.event.GatedEventEmitter;
+import io.getunleash.event.StartupCompleted;
+import io.getunleash.event.SubscriberCallback;
+import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -59,6 +77,7 @@ public class FeatureRepositoryTest {
         backupHandler = mock(FeatureBackupHandlerFile.class);
         bootstrapHandler = mock(ToggleBootstrapProvider.class);
         fetcher = mock(HttpFeatureFetcher.class);
+        when(fetcher.fetchFeaturesAsync()).thenCallRealMethod();
         engine = new UnleashEngine();
 
         defaultConfig = defaultConfigBuilder().build();
@@ -91,6 +110,12 @@ public class FeatureRepositoryTest {
         List<FeatureDefinition> knownToggles =
                 featureRepository.listKnownToggles().collect(Collectors.toList());
         assertEquals(5, knownToggles.size());
+        assertThat(featureRepository.getReadiness()).isCompletedWithValue(FeatureSource.BACKUP);
+        assertThat(featureRepository.getToggleNames())
+                .containsExactlyInAnyOrderElementsOf(
+                        knownToggles.stream()
+                                .map(FeatureDefinition::getName)
+                                .collect(Collectors.toList()));
     }
 
     @Test
@@ -109,9 +134,19 @@ public class FeatureRepositoryTest {
 
         when(backupHandler.read()).thenReturn(Optional.empty());
 
+        GatedEventEmitter eventEmitter = mock(GatedEventEmitter.class);
         FetchWorker pollingFetcher =
                 new PollingFeatureFetcher(
-                        config, fetcher, engine, backupHandler, mock(GatedEventEmitter.class));
+                        config,
+                        fetcher,
+                        eventEmitter,
+                        new FeatureUpdatePipeline(
+                                engine,
+                                backupHandler,
+                                () -> {},
+                                eventEmitter,
+                                Runnable::run,
+                                Runnable::run));
 
         FeatureRepository featureRepository =
                 new FeatureRepositoryImpl(
@@ -136,6 +171,218 @@ public class FeatureRepositoryTest {
         assertEquals(5, features.size());
     }
 
+    @Test
+    public void stopped_pipeline_discards_pending_updates_and_resumes_after_start()
+            throws Exception {
+        List<Runnable> ingestTasks = new ArrayList<>();
+        FeatureUpdatePipeline pipeline =
+                new FeatureUpdatePipeline(
+                        engine,
+                        backupHandler,
+                        () -> {},
+                        mock(GatedEventEmitter.class),
+                        ingestTasks::add,
+                        Runnable::run);
+        String features = loadMockFeatures("unleash-repo-v2.json");
+
+        pipeline.submit(ClientFeaturesResponse.updated(features), Duration.ZERO);
+        pipeline.stop();
+        ingestTasks.forEach(Runnable::run);
+        assertThat(engine.listKnownToggles()).isEmpty();
+        verify(backupHandler, times(0)).write(anyString());
+
+        pipeline.start();
+        pipeline.submit(ClientFeaturesResponse.updated(features), Duration.ZERO);
+        assertThat(ingestTasks).hasSize(2);
+        ingestTasks.get(1).run();
+        assertThat(engine.listKnownToggles()).hasSize(5);
+    }
+
+    @Test
+    public void polled_features_are_ingested_and_backed_up_off_the_polling_thread() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> pollCaptor = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .synchronousFetchOnInitialisation(false)
+                        .disableMetrics()
+                        .build();
+        GatedEventEmitter eventEmitter = mock(GatedEventEmitter.class);
+        when(eventEmitter.isObserved(SubscriberCallback.FEATURES_UPDATED)).thenReturn(true);
+        List<Runnable> ingestTasks = new ArrayList<>();
+        List<Runnable> backupTasks = new ArrayList<>();
+        new PollingFeatureFetcher(
+                        config,
+                        fetcher,
+                        eventEmitter,
+                        new FeatureUpdatePipeline(
+                                engine,
+                                backupHandler,
+                                () -> {},
+                                eventEmitter,
+                                ingestTasks::add,
+                                backupTasks::add))
+                .start();
+        verify(executor).setInterval(pollCaptor.capture(), anyLong(), anyLong());
+        String features = loadMockFeatures("unleash-repo-v2.json");
+        when(fetcher.fetchFeatures())
+                .thenReturn(ClientFeaturesResponse.updated(features))
+                .thenReturn(ClientFeaturesResponse.updated(features));
+
+        pollCaptor.getValue().run();
+        pollCaptor.getValue().run();
+
+        assertThat(engine.listKnownToggles()).isEmpty();
+        assertThat(ingestTasks).hasSize(1);
+        ingestTasks.get(0).run();
+        assertThat(engine.listKnownToggles()).hasSize(5);
+        verify(backupHandler, times(0)).write(features);
+
+        assertThat(backupTasks).hasSize(1);
+        backupTasks.get(0).run();
+        verify(backupHandler).write(features);
+        ArgumentCaptor<FeaturesUpdated> updated = ArgumentCaptor.forClass(FeaturesUpdated.class);
+        verify(eventEmitter).updated(updated.capture());
+        assertThat(updated.getValue().getPayloadLength()).isEqualTo(features.length());
+        assertThat(updated.getValue().getIngestDuration()).isPositive();
+    }
+
+    @Test
+    public void polls_are_skipped_while_a_fetch_is_in_flight() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> pollCaptor = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .synchronousFetchOnInitialisation(false)
+                        .disableMetrics()
+                        .build();
+        CompletableFuture<ClientFeaturesResponse> inFlight = new CompletableFuture<>();
+        doReturn(inFlight)
+                .doReturn(CompletableFuture.completedFuture(ClientFeaturesResponse.notChanged()))
+                .when(fetcher)
+                .fetchFeaturesAsync();
+        new PollingFeatureFetcher(
+                        config,
+                        fetcher,
+                        mock(GatedEventEmitter.class),
+                        new FeatureUpdatePipeline(
+                                engine,
+                                backupHandler,
+                                () -> {},
+                                mock(GatedEventEmitter.class),
+                                Runnable::run,
+                                Runnable::run))
+                .start();
+        verify(executor).setInterval(pollCaptor.capture(), anyLong(), anyLong());
+
+        pollCaptor.getValue().run();
+        pollCaptor.getValue().run();
+        verify(fetcher, times(1)).fetchFeaturesAsync();
+
+        inFlight.complete(ClientFeaturesResponse.updated(loadMockFeatures("unleash-repo-v2.json")));
+        assertThat(engine.listKnownToggles()).hasSize(5);
+        pollCaptor.getValue().run();
+        verify(fetcher, times(2)).fetchFeaturesAsync();
+    }
+
+    @Test
+    public void keeps_polling_after_a_fetch_that_threw() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> pollCaptor = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .synchronousFetchOnInitialisation(false)
+                        .disableMetrics()
+                        .build();
+        GatedEventEmitter eventEmitter = mock(GatedEventEmitter.class);
+        doThrow(new IllegalStateException("Boom"))
+                .doReturn(CompletableFuture.completedFuture(ClientFeaturesResponse.notChanged()))
+                .when(fetcher)
+                .fetchFeaturesAsync();
+        new PollingFeatureFetcher(
+                        config,
+                        fetcher,
+                        eventEmitter,
+                        new FeatureUpdatePipeline(
+                                engine,
+                                backupHandler,
+                                () -> {},
+                                mock(GatedEventEmitter.class),
+                                Runnable::run,
+                                Runnable::run))
+                .start();
+        verify(executor).setInterval(pollCaptor.capture(), anyLong(), anyLong());
+
+        pollCaptor.getValue().run();
+        verify(eventEmitter).error(any(UnleashException.class));
+        pollCaptor.getValue().run();
+        verify(fetcher, times(2)).fetchFeaturesAsync();
+    }
+
+    @Test
+    public void polling_should_notify_state_listener_after_taking_state() {
+        UnleashConfig config =
+                defaultConfigBuilder().synchronousFetchOnInitialisation(true).build();
+        when(fetcher.fetchFeatures())
+                .thenReturn(
+                        ClientFeaturesResponse.updated(loadMockFeatures("unleash-repo-v2.json")));
+        List<Integer> seenToggleCounts = new ArrayList<>();
+
+        new PollingFeatureFetcher(
+                        config,
+                        fetcher,
+                        engine,
+                        backupHandler,
+                        mock(GatedEventEmitter.class),
+                        () -> seenToggleCounts.add(engine.listKnownToggles().size()))
+                .start();
+
+        assertThat(seenToggleCounts).containsExactly(5);
+    }
+
+    @Test
+    public void failed_synchronous_fetch_on_initialisation_is_reported_once() {
+        UnleashConfig config =
+                defaultConfigBuilder().synchronousFetchOnInitialisation(true).build();
+        when(fetcher.fetchFeatures())
+                .thenReturn(ClientFeaturesResponse.unavailable(503, Optional.empty()));
+        AtomicInteger failures = new AtomicInteger();
+        EngineStateListener stateListener =
+                new EngineStateListener() {
+                    @Override
+                    public void onStateChanged() {}
+
+                    @Override
+                    public void onFetchFailed() {
+                        failures.incrementAndGet();
+                    }
+                };
+
+        PollingFeatureFetcher pollingFetcher =
+                new PollingFeatureFetcher(
+                        config,
+                        fetcher,
+                        engine,
+                        backupHandler,
+                        mock(GatedEventEmitter.class),
+                        stateListener);
+
+        assertThatThrownBy(pollingFetcher::start).isInstanceOf(UnleashException.class);
+        assertThat(failures).hasValue(1);
+    }
+
     @Test
     public void should_perform_synchronous_fetch_on_initialisation() {
         UnleashConfig config =
@@ -275,4 +522,122 @@ public class FeatureRepositoryTest {
         new DefaultUnleash(config);
         assertThat(failed).isTrue();
     }
+
+    @Test
+    public void parallel_startup_replaces_bootstrapped_toggles_with_a_later_backup()
+            throws Exception {
+        CompletableFuture<StartupCompleted> completed = new CompletableFuture<>();
+        CountDownLatch backupRead = new CountDownLatch(1);
+        when(bootstrapHandler.read())
+                .thenReturn(Optional.of(loadMockFeatures("unleash-repo-v2-advanced.json")));
+        when(backupHandler.read())
+                .thenAnswer(
+                        invocation -> {
+                            backupRead.await(5, TimeUnit.SECONDS);
+                            return Optional.of(loadMockFeatures("unleash-repo-v2.json"));
+                        });
+
+        FeatureRepository repository =
+                new FeatureRepositoryImpl(
+                        parallelStartupConfig(completed).build(), backupHandler, engine);
+
+        awaitToggle(repository, "Test.currentTime");
+        assertThat(repository.getReadiness()).isCompletedWithValue(FeatureSource.BOOTSTRAP);
+        backupRead.countDown();
+        StartupCompleted startup = completed.get(5, TimeUnit.SECONDS);
+
+        assertThat(startup.getLoaded())
+                .containsExactly(FeatureSource.BOOTSTRAP, FeatureSource.BACKUP);
+        assertThat(startup.getTimings())
+                .containsOnlyKeys(FeatureSource.BOOTSTRAP, FeatureSource.BACKUP);
+        assertThat(startup.getTimings().get(FeatureSource.BACKUP))
+                .isGreaterThan(startup.getTimings().get(FeatureSource.BOOTSTRAP));
+        assertThat(repository.getToggleNames())
+                .contains("featureX")
+                .doesNotContain("Test.currentTime");
+    }
+
+    @Test
+    public void parallel_startup_keeps_fetched_toggles_over_a_slower_backup() throws Exception {
+        CompletableFuture<StartupCompleted> completed = new CompletableFuture<>();
+        CountDownLatch backupRead = new CountDownLatch(1);
+        when(bootstrapHandler.read()).thenReturn(Optional.empty());
+        when(backupHandler.read())
+                .thenAnswer(
+                        invocation -> {
+                            backupRead.await(5, TimeUnit.SECONDS);
+                            return Optional.of(loadMockFeatures("unleash-repo-v2.json"));
+                        });
+        when(fetcher.fetchFeatures())
+                .thenReturn(
+                        ClientFeaturesResponse.updated(
+                                loadMockFeatures("unleash-repo-v2-with-impression-data.json")));
+        UnleashConfig config =
+                parallelStartupConfig(completed)
+                        .synchronousFetchOnInitialisation(true)
+                        .unleashFeatureFetcherFactory(c -> fetcher)
+                        .build();
+
+        FeatureRepository repository = new FeatureRepositoryImpl(config, backupHandler, engine);
+
+        assertThat(repository.getToggleNames()).contains("Test.impressionDataPresent");
+        assertThat(repository.getReadiness()).isCompletedWithValue(FeatureSource.NETWORK);
+        backupRead.countDown();
+        StartupCompleted startup = completed.get(5, TimeUnit.SECONDS);
+
+        assertThat(startup.getLoaded()).containsExactly(FeatureSource.NETWORK);
+        assertThat(startup.getTimings())
+                .containsOnlyKeys(FeatureSource.NETWORK, FeatureSource.BACKUP);
+        assertThat(repository.getToggleNames())
+                .contains("Test.impressionDataPresent")
+                .doesNotContain("featureX");
+    }
+
+    @Test
+    public void parallel_startup_completes_when_the_first_fetch_fails() throws Exception {
+        CompletableFuture<StartupCompleted> completed = new CompletableFuture<>();
+        when(bootstrapHandler.read()).thenReturn(Optional.empty());
+        when(backupHandler.read())
+                .thenReturn(Optional.of(loadMockFeatures("unleash-repo-v2.json")));
+        when(fetcher.fetchFeatures())
+                .thenReturn(ClientFeaturesResponse.unavailable(503, Optional.empty()));
+        UnleashConfig config =
+                parallelStartupConfig(completed)
+                        .synchronousFetchOnInitialisation(true)
+                        .startupExceptionHandler(e -> {})
+                        .unleashFeatureFetcherFactory(c -> fetcher)
+                        .build();
+
+        FeatureRepository repository = new FeatureRepositoryImpl(config, backupHandler, engine);
+        StartupCompleted startup = completed.get(5, TimeUnit.SECONDS);
+
+        assertThat(startup.getLoaded()).containsExactly(FeatureSource.BACKUP);
+        assertThat(startup.getTimings()).containsOnlyKeys(FeatureSource.BACKUP);
+        assertThat(repository.getReadiness()).isCompletedWithValue(FeatureSource.BACKUP);
+    }
+
+    private UnleashConfig.Builder parallelStartupConfig(
+            CompletableFuture<StartupCompleted> completed) {
+        return defaultConfigBuilder()
+                .scheduledExecutor(new SynchronousTestExecutor())
+                .toggleBootstrapProvider(bootstrapHandler)
+                .parallelStartup()
+                .subscriber(
+                        new UnleashSubscriber() {
+                            @Override
+                            public void startupCompleted(StartupCompleted startupCompleted) {
+                                completed.complete(startupCompleted);
+                            }
+                        });
+    }
+
+    private static void awaitToggle(FeatureRepository repository, String toggleName)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!repository.getToggleNames().contains(toggleName)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(repository.getToggleNames()).contains(toggleName);
+    }
 }
@@ -0,0 +1,84 @@
+package io.getunleash.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FeatureSnapshotTest {
+    private static final String STATE =
+            "{\"version\":2,\"features\":[{\"name\":\"featureX\",\"enabled\":true,\"strategies\":[]}]}";
+
+    @Test
+    public void snapshot_keeps_state_and_time_written() throws IOException {
+        Instant written = Instant.ofEpochMilli(1_700_000_000_000L);
+        byte[] snapshot = FeatureSnapshot.encode(STATE, written);
+
+        assertThat(FeatureSnapshot.isSnapshot(snapshot)).isTrue();
+        FeatureSnapshot decoded = FeatureSnapshot.decode(snapshot);
+        assertThat(decoded.getState()).isEqualTo(STATE);
+        assertThat(decoded.getWritten()).isEqualTo(written);
+        assertThat(FeatureSnapshot.toState(ByteBuffer.wrap(snapshot))).isEqualTo(STATE);
+    }
+
+    @Test
+    public void plain_json_is_read_as_is() throws IOException {
+        byte[] json = STATE.getBytes(UTF_8);
+
+        assertThat(FeatureSnapshot.isSnapshot(json)).isFalse();
+        assertThat(FeatureSnapshot.toState(ByteBuffer.wrap(json))).isEqualTo(STATE);
+    }
+
+    @Test
+    public void damaged_or_newer_snapshots_are_rejected() throws IOException {
+        byte[] snapshot = FeatureSnapshot.encode(STATE, Instant.now());
+
+        byte[] truncated = new byte[snapshot.length / 2];
+        System.arraycopy(snapshot, 0, truncated, 0, truncated.length);
+        assertThatThrownBy(() -> FeatureSnapshot.decode(truncated)).isInstanceOf(IOException.class);
+
+        byte[] wrongChecksum = snapshot.clone();
+        wrongChecksum[14] ^= 1;
+        assertThatThrownBy(() -> FeatureSnapshot.decode(wrongChecksum))
+                .hasMessageContaining("checksum");
+
+        byte[] oversized = snapshot.clone();
+        ByteBuffer.wrap(oversized).putInt(22, Integer.MAX_VALUE - 16);
+        assertThatThrownBy(() -> FeatureSnapshot.decode(oversized)).hasMessageContaining("corrupt");
+
+        byte[] newer = snapshot.clone();
+        ByteBuffer.wrap(newer).putShort(4, (short) (FeatureSnapshot.VERSION + 1));
+        assertThatThrownBy(() -> FeatureSnapshot.decode(newer)).hasMessageContaining("version");
+    }
+
+    @Test
+    public void files_are_read_the_same_mapped_or_in_chunks(@TempDir Path directory)
+            throws IOException {
+        StringBuilder large = new StringBuilder("{\"version\":2,\"features\":[");
+        for (int i = 0; i < 5_000; i++) {
+            large.append(i > 0 ? "," : "")
+                    .append("{\"name\":\"toggle-")
+                    .append(i)
+                    .append("-\u00e6\u00f8\u00e5\",\"enabled\":true,\"strategies\":[]}");
+        }
+        String state = large.append("]}").toString();
+        Path json = Files.write(directory.resolve("features.json"), state.getBytes(UTF_8));
+        Path snapshot =
+                Files.write(
+                        directory.resolve("features.snapshot"),
+                        FeatureSnapshot.encode(state, Instant.now()));
+
+        assertThat(Files.size(json)).isGreaterThan(64 * 1024);
+        assertThat(FeatureSnapshot.read(json)).isEqualTo(state);
+        assertThat(FeatureSnapshot.map(json)).isEqualTo(state);
+        assertThat(FeatureSnapshot.read(snapshot)).isEqualTo(state);
+        assertThat(FeatureSnapshot.map(snapshot)).isEqualTo(state);
+    }
+}
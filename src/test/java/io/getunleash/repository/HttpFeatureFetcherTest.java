@@ -13,14 +13,19 @@ import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMoc
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import io.getunleash.FeatureDefinition;
 import io.getunleash.event.ClientFeaturesResponse;
 import io.getunleash.util.UnleashConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -146,6 +151,46 @@ public class HttpFeatureFetcherTest {
                         .withHeader("Content-Type", matching("application/json")));
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void should_read_large_bodies_completely(boolean gzip) throws IOException {
+        String features = largeFeatures(2_000);
+        byte[] body = features.getBytes(StandardCharsets.UTF_8);
+        ResponseDefinitionBuilder response =
+                aResponse().withStatus(200).withHeader("Content-Type", "application/json");
+        if (gzip) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream stream = new GZIPOutputStream(compressed)) {
+                stream.write(body);
+            }
+            response.withHeader("Content-Encoding", "gzip").withBody(compressed.toByteArray());
+        } else {
+            response.withBody(body);
+        }
+        stubFor(get(urlEqualTo("/api/client/features")).willReturn(response));
+
+        ClientFeaturesResponse first = fetcher.fetchFeatures();
+        ClientFeaturesResponse second = fetcher.fetchFeatures();
+
+        assertThat(first.getClientFeatures()).contains(features);
+        assertThat(second.getClientFeatures()).contains(features);
+        assertThat(second.getFeatures().size()).isEqualTo(2_000);
+    }
+
+    private static String largeFeatures(int count) {
+        StringBuilder json = new StringBuilder("{\"version\":2,\"features\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"toggle-")
+                    .append(i)
+                    .append("\",\"description\":\"Växling ✓\",\"enabled\":true,")
+                    .append("\"strategies\":[{\"name\":\"default\"}]}");
+        }
+        return json.append("]}").toString();
+    }
+
     @Test
     public void should_handle_not_changed() {
         serverMock.resetAll();
@@ -0,0 +1,113 @@
+package io.getunleash.repository;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.getunleash.UnleashException;
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.util.UnleashConfig;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class JavaHttpFeatureFetcherTest {
+
+    @RegisterExtension
+    static WireMockExtension serverMock =
+            WireMockExtension.newInstance()
+                    .configureStaticDsl(true)
+                    .options(wireMockConfig().dynamicPort())
+                    .build();
+
+    private UnleashConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config =
+                UnleashConfig.builder()
+                        .appName("test-app")
+                        .unleashAPI(
+                                URI.create("http://localhost:" + serverMock.getPort() + "/api/"))
+                        .pooledHttpClient()
+                        .build();
+    }
+
+    @Test
+    public void fetches_features_and_sends_the_etag_back() {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .withHeader("If-None-Match", absent())
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("ETag", "\"abc\"")
+                                        .withBodyFile("features-v2-with-segments.json")));
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .withHeader("If-None-Match", equalTo("\"abc\""))
+                        .willReturn(aResponse().withStatus(304)));
+        JavaHttpFeatureFetcher fetcher = new JavaHttpFeatureFetcher(config);
+
+        ClientFeaturesResponse first = fetcher.fetchFeatures();
+        ClientFeaturesResponse second = fetcher.fetchFeatures();
+
+        assertThat(first.getStatus()).isEqualTo(ClientFeaturesResponse.Status.CHANGED);
+        assertThat(first.getFeatures()).extracting(f -> f.getName()).contains("featureX");
+        assertThat(second.getStatus()).isEqualTo(ClientFeaturesResponse.Status.NOT_CHANGED);
+    }
+
+    @Test
+    public void fetches_asynchronously() throws Exception {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withBodyFile("features-v2-with-segments.json")));
+
+        ClientFeaturesResponse response =
+                new JavaHttpFeatureFetcher(config).fetchFeaturesAsync().get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getStatus()).isEqualTo(ClientFeaturesResponse.Status.CHANGED);
+        assertThat(response.getFeatures()).extracting(f -> f.getName()).contains("featureX");
+    }
+
+    @Test
+    public void asynchronous_fetch_fails_with_unleash_exception() {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        CompletableFuture<ClientFeaturesResponse> response =
+                new JavaHttpFeatureFetcher(config).fetchFeaturesAsync();
+
+        assertThatThrownBy(() -> response.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(UnleashException.class);
+    }
+
+    @Test
+    public void reports_errors_as_unavailable() {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .willReturn(aResponse().withStatus(503).withBody("try later")));
+
+        ClientFeaturesResponse response = new JavaHttpFeatureFetcher(config).fetchFeatures();
+
+        assertThat(response.getStatus()).isEqualTo(ClientFeaturesResponse.Status.UNAVAILABLE);
+        assertThat(response.getHttpStatusCode()).isEqualTo(503);
+    }
+}
@@ -20,6 +20,7 @@ import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -145,6 +146,25 @@ public class OkHttpFeatureFetcherTest {
                         .withHeader("Content-Type", matching("application/json")));
     }
 
+    @Test
+    public void fetches_asynchronously() throws Exception {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("Content-Type", "application/json")
+                                        .withBodyFile("features-v0.json")));
+
+        URI uri = new URI("http://localhost:" + serverMock.getPort() + "/api/");
+        UnleashConfig config = UnleashConfig.builder().appName("test").unleashAPI(uri).build();
+        ClientFeaturesResponse response =
+                new OkHttpFeatureFetcher(config).fetchFeaturesAsync().get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getStatus()).isEqualTo(ClientFeaturesResponse.Status.CHANGED);
+        assertThat(response.getFeatures()).extracting(f -> f.getName()).contains("featureX");
+    }
+
     @Test
     public void should_handle_not_changed() throws URISyntaxException {
         stubFor(
@@ -0,0 +1,85 @@
+package io.getunleash.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.getunleash.util.UnleashScheduledExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class PollSchedulerTest {
+
+    @Test
+    public void polls_are_spread_over_the_interval() {
+        DelayingExecutor executor = new DelayingExecutor();
+        List<Long> polls = new ArrayList<>();
+        new PollScheduler(executor, 15, 0.1).start(() -> polls.add(executor.now));
+
+        for (int i = 0; i < 100; i++) {
+            executor.runNext();
+        }
+
+        assertThat(polls).hasSize(100);
+        assertThat(polls.get(0)).isBetween(15_000L, 30_000L);
+        for (int i = 1; i < polls.size(); i++) {
+            assertThat(polls.get(i) - polls.get(i - 1)).isBetween(13_500L, 16_500L);
+        }
+        assertThat(polls).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void polls_at_the_exact_interval_without_jitter() {
+        DelayingExecutor executor = new DelayingExecutor();
+        new PollScheduler(executor, 15, 0).start(() -> {});
+
+        for (int i = 0; i < 3; i++) {
+            executor.runNext();
+        }
+
+        assertThat(executor.now).isEqualTo(45_000L);
+    }
+
+    @Test
+    public void falls_back_to_fixed_interval_for_executors_that_cant_delay() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+
+        new PollScheduler(executor, 15, 0.1).start(() -> {});
+
+        verify(executor).setInterval(any(Runnable.class), eq(15L), eq(15L));
+    }
+
+    private static class DelayingExecutor implements UnleashScheduledExecutor {
+        private final List<Long> dueTimes = new ArrayList<>();
+        private final List<Runnable> tasks = new ArrayList<>();
+        private long now;
+
+        @Override
+        public void setInterval(Runnable command, long initialDelaySec, long periodSec) {}
+
+        @Override
+        public Future<Void> scheduleOnce(Runnable runnable) {
+            runnable.run();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public Future<Void> schedule(Runnable command, long delay, TimeUnit unit) {
+            dueTimes.add(now + unit.toMillis(delay));
+            tasks.add(command);
+            return new CompletableFuture<>();
+        }
+
+        void runNext() {
+            Runnable task = tasks.remove(0);
+            now = dueTimes.remove(0);
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.getunleash.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class ResponseBufferTest {
+
+    @Test
+    public void reads_bodies_larger_than_the_expected_length() throws Exception {
+        ResponseBuffer buffer = new ResponseBuffer();
+        String body = body(3 * ResponseBuffer.MIN_CAPACITY);
+
+        assertThat(buffer.readUtf8(stream(body), 10)).isEqualTo(body);
+        assertThat(buffer.readUtf8(stream("{}"), -1)).isEqualTo("{}");
+    }
+
+    @Test
+    public void sizes_the_buffer_from_the_expected_length_and_keeps_it() throws Exception {
+        ResponseBuffer buffer = new ResponseBuffer();
+        String body = body(2 * ResponseBuffer.MIN_CAPACITY);
+
+        assertThat(buffer.readUtf8(stream(body), body.length())).isEqualTo(body);
+        int capacity = buffer.capacity();
+        assertThat(capacity).isEqualTo(body.length() + 1);
+
+        assertThat(buffer.readUtf8(stream("Växling ✓"), -1)).isEqualTo("Växling ✓");
+        assertThat(buffer.capacity()).isEqualTo(capacity);
+    }
+
+    private static String body(int length) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, 'x');
+        return new String(chars);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
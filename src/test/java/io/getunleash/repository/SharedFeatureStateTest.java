@@ -0,0 +1,150 @@
+package io.getunleash.repository;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.getunleash.SynchronousTestExecutor;
+import io.getunleash.engine.UnleashEngine;
+import io.getunleash.util.UnleashConfig;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SharedFeatureStateTest {
+
+    @RegisterExtension
+    static WireMockExtension serverMock =
+            WireMockExtension.newInstance()
+                    .configureStaticDsl(true)
+                    .options(wireMockConfig().dynamicPort())
+                    .build();
+
+    @TempDir Path backupDir;
+
+    @BeforeEach
+    void setUp() {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withBodyFile("features-v2-with-segments.json")));
+    }
+
+    @Test
+    public void clients_with_the_same_token_share_one_fetch() throws Exception {
+        UnleashEngine first = new UnleashEngine();
+        UnleashEngine second = new UnleashEngine();
+        UnleashEngine otherToken = new UnleashEngine();
+
+        FeatureRepositoryImpl firstRepository =
+                new FeatureRepositoryImpl(config("first", "token-a"), first);
+        FeatureRepositoryImpl secondRepository =
+                new FeatureRepositoryImpl(config("second", "token-a"), second);
+        FeatureRepositoryImpl otherRepository =
+                new FeatureRepositoryImpl(config("other", "token-b"), otherToken);
+
+        verify(2, getRequestedFor(urlPathEqualTo("/api/client/features")));
+        assertThat(SharedFeatureState.clientsSharing(config("any", "token-a"))).isEqualTo(2);
+        assertThat(first.listKnownToggles()).isNotEmpty();
+        assertThat(second.listKnownToggles()).hasSameSizeAs(first.listKnownToggles());
+        assertThat(secondRepository.getToggleNames()).contains("featureX");
+        awaitBackups("first.json", "other.json");
+
+        firstRepository.shutdown();
+        verify(3, getRequestedFor(urlPathEqualTo("/api/client/features")));
+        assertThat(SharedFeatureState.clientsSharing(config("any", "token-a"))).isEqualTo(1);
+        awaitBackups("first.json", "second.json", "other.json");
+
+        secondRepository.shutdown();
+        otherRepository.shutdown();
+        assertThat(SharedFeatureState.clientsSharing(config("any", "token-a"))).isZero();
+        assertThat(SharedFeatureState.clientsSharing(config("any", "token-b"))).isZero();
+    }
+
+    @Test
+    public void a_slow_first_fetch_does_not_hold_up_clients_of_other_tokens() throws Exception {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .withHeader("Authorization", equalTo("token-slow"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withFixedDelay(2_000)
+                                        .withBodyFile("features-v2-with-segments.json")));
+        CompletableFuture<FeatureRepositoryImpl> slow =
+                CompletableFuture.supplyAsync(
+                        () ->
+                                new FeatureRepositoryImpl(
+                                        config("slow", "token-slow"), new UnleashEngine()));
+        awaitRequest("token-slow");
+
+        long start = System.nanoTime();
+        FeatureRepositoryImpl other =
+                new FeatureRepositoryImpl(config("other", "token-b"), new UnleashEngine());
+        Duration joined = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(joined).isLessThan(Duration.ofSeconds(1));
+        assertThat(slow).isNotDone();
+        other.shutdown();
+        slow.get(5, TimeUnit.SECONDS).shutdown();
+    }
+
+    private static void awaitRequest(String apiKey) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (serverMock
+                        .findAll(
+                                getRequestedFor(urlPathEqualTo("/api/client/features"))
+                                        .withHeader("Authorization", equalTo(apiKey)))
+                        .isEmpty()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    // Backups are written on a thread of their own, and a pending one is discarded on shutdown
+    private void awaitBackups(String... names) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!Arrays.equals(sorted(backupDir.toFile().list()), sorted(names))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(backupDir.toFile().list()).containsExactlyInAnyOrder(names);
+    }
+
+    private static String[] sorted(String[] names) {
+        String[] copy = names.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private UnleashConfig config(String appName, String apiKey) {
+        return UnleashConfig.builder()
+                .appName(appName)
+                .apiKey(apiKey)
+                .unleashAPI(URI.create("http://localhost:" + serverMock.getPort() + "/api/"))
+                .backupFile(backupDir.resolve(appName + ".json").toString())
+                .scheduledExecutor(new SynchronousTestExecutor())
+                .synchronousFetchOnInitialisation(true)
+                .fetchTogglesInterval(0)
+                .disableMetrics()
+                .sharedFeatureState()
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package io.getunleash.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+public class StageExecutorTest {
+
+    @Test
+    public void stop_discards_queued_tasks_and_ignores_new_ones_until_started() throws Exception {
+        StageExecutor executor = new StageExecutor("test-stage");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicBoolean queuedRan = new AtomicBoolean(false);
+        AtomicBoolean ranWhileStopped = new AtomicBoolean(false);
+
+        executor.execute(
+                () -> {
+                    running.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                });
+        executor.execute(() -> queuedRan.set(true));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        executor.stop();
+        executor.execute(() -> ranWhileStopped.set(true));
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        executor.start();
+        CountDownLatch restarted = new CountDownLatch(1);
+        executor.execute(restarted::countDown);
+        assertThat(restarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queuedRan).isFalse();
+        assertThat(ranWhileStopped).isFalse();
+        executor.stop();
+    }
+}
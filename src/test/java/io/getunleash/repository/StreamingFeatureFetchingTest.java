@@ -5,7 +5,7 @@ import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMoc
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
@@ -167,7 +167,8 @@ public class StreamingFeatureFetchingTest {
         streamingFetcher.handleStreamingUpdate(streamingData);
 
         ArgumentCaptor<String> backupContentCaptor = ArgumentCaptor.forClass(String.class);
-        org.mockito.Mockito.verify(backupHandler, times(1)).write(backupContentCaptor.capture());
+        org.mockito.Mockito.verify(backupHandler, timeout(5000).times(1))
+                .write(backupContentCaptor.capture());
 
         String savedBackupContent = backupContentCaptor.getValue();
 
@@ -182,6 +183,28 @@ public class StreamingFeatureFetchingTest {
         assertThat(savedBackupContent).doesNotContain("\"events\""); // store state
     }
 
+    @Test
+    public void should_notify_state_listener_when_streaming_update_received() throws Exception {
+        UnleashEngine engine = new UnleashEngine();
+        List<String> seenToggles = new ArrayList<>();
+
+        StreamingFeatureFetcherImpl streamingFetcher =
+                new StreamingFeatureFetcherImpl(
+                        config,
+                        new GatedEventEmitter(new EventDispatcher(config)),
+                        engine,
+                        mock(FeatureBackupHandlerFile.class),
+                        mock(ModeController.class),
+                        () ->
+                                engine.listKnownToggles()
+                                        .forEach(toggle -> seenToggles.add(toggle.getName())));
+
+        streamingFetcher.handleStreamingUpdate(
+                "{\"events\":[{\"type\":\"hydration\",\"eventId\":1,\"features\":[{\"name\":\"testFeature\",\"enabled\":true,\"strategies\":[],\"variants\":[]}],\"segments\":[]}]}");
+
+        assertThat(seenToggles).containsExactly("testFeature");
+    }
+
     @Test
     void should_reconnect_without_last_event_id_header() throws Exception {
         String hydration =
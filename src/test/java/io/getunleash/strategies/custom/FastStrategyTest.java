@@ -0,0 +1,83 @@
+package io.getunleash.strategies.custom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.getunleash.DefaultUnleash;
+import io.getunleash.UnleashContext;
+import io.getunleash.strategy.FastStrategy;
+import io.getunleash.strategy.StrategyContext;
+import io.getunleash.util.ResourceReader;
+import io.getunleash.util.UnleashConfig;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class FastStrategyTest {
+
+    @Test
+    public void fast_strategy_is_called_with_engine_context_view() {
+        RecordingFastStrategy strategy = new RecordingFastStrategy();
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test:4242")
+                        .appName("fast_strategy")
+                        .instanceId("fast_strategy")
+                        .environment("production")
+                        .toggleBootstrapProvider(
+                                () ->
+                                        Optional.of(
+                                                ResourceReader.readResourceAsString(
+                                                        "repeated_custom_strategy.json")))
+                        .build();
+        DefaultUnleash unleash = new DefaultUnleash(config, strategy);
+        UnleashContext context =
+                UnleashContext.builder()
+                        .userId("user-1")
+                        .currentTime(ZonedDateTime.parse("2024-05-01T10:15:30Z"))
+                        .addProperty("myFancy", "two")
+                        .build();
+
+        assertThat(unleash.isEnabled("repeated.custom", context)).isTrue();
+        assertThat(strategy.contexts).isNotEmpty();
+        StrategyContext seen = strategy.contexts.get(0);
+        assertThat(seen.getUserId()).isEqualTo("user-1");
+        assertThat(seen.getAppName()).isEqualTo("fast_strategy");
+        assertThat(seen.getEnvironment()).isEqualTo("production");
+        assertThat(seen.getProperty("missing")).isNull();
+        assertThat(seen.getCurrentTime().toInstant())
+                .isEqualTo(ZonedDateTime.parse("2024-05-01T10:15:30Z").toInstant());
+        unleash.shutdown();
+    }
+
+    @Test
+    public void fast_strategy_can_be_called_with_unleash_context() {
+        RecordingFastStrategy strategy = new RecordingFastStrategy();
+        UnleashContext context = UnleashContext.builder().addProperty("myFancy", "one").build();
+
+        assertThat(strategy.isEnabled(Collections.singletonMap("myFancy", "one"), context))
+                .isTrue();
+        assertThat(strategy.isEnabled(Collections.singletonMap("myFancy", "two"), context))
+                .isFalse();
+        assertThat(strategy.contexts.get(0).getUserId()).isNull();
+        assertThat(strategy.contexts.get(0).getCurrentTime()).isNotNull();
+    }
+
+    private static class RecordingFastStrategy implements FastStrategy {
+        private final List<StrategyContext> contexts = new ArrayList<>();
+
+        @Override
+        public String getName() {
+            return "repeated";
+        }
+
+        @Override
+        public boolean isEnabled(Map<String, String> parameters, StrategyContext context) {
+            contexts.add(context);
+            return parameters.get("myFancy").equals(context.getProperty("myFancy"));
+        }
+    }
+}
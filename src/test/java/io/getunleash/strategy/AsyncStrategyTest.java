@@ -0,0 +1,222 @@
+package io.getunleash.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.getunleash.DefaultUnleash;
+import io.getunleash.SynchronousTestExecutor;
+import io.getunleash.UnleashContext;
+import io.getunleash.util.ResourceReader;
+import io.getunleash.util.UnleashConfig;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+public class AsyncStrategyTest {
+
+    private static final Map<String, String> PARAMETERS =
+            Collections.singletonMap("myFancy", "one");
+
+    @Test
+    public void evaluates_against_decisions_loaded_in_the_background() throws Exception {
+        Map<String, Set<String>> usersPerValue = new HashMap<>();
+        usersPerValue.put("one", new HashSet<>(Arrays.asList("alice", "bob")));
+        usersPerValue.put("two", Collections.singleton("carol"));
+        QueuedLoadStrategy strategy = new QueuedLoadStrategy(() -> usersPerValue);
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test:4242")
+                        .appName("async_strategy")
+                        .instanceId("async_strategy")
+                        .scheduledExecutor(new SynchronousTestExecutor())
+                        .asyncStrategy(strategy)
+                        .toggleBootstrapProvider(
+                                () ->
+                                        Optional.of(
+                                                ResourceReader.readResourceAsString(
+                                                        "repeated_custom_strategy.json")))
+                        .build();
+        DefaultUnleash unleash = new DefaultUnleash(config);
+        awaitLoads(strategy, 1);
+
+        assertThat(unleash.isEnabled("repeated.custom", user("bob"))).isTrue();
+        assertThat(unleash.isEnabled("repeated.custom", user("carol"))).isTrue();
+        assertThat(unleash.isEnabled("repeated.custom", user("dave"))).isFalse();
+        assertThat(strategy.loads).isEqualTo(1);
+        unleash.shutdown();
+    }
+
+    @Test
+    public void blocking_load_does_not_hold_up_the_scheduled_executor() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        QueuedLoadStrategy strategy =
+                new QueuedLoadStrategy(
+                        () -> {
+                            release.await();
+                            return Collections.singletonMap("one", Collections.singleton("bob"));
+                        });
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test:4242")
+                        .appName("async_strategy")
+                        .instanceId("async_strategy")
+                        .scheduledExecutor(new SynchronousTestExecutor())
+                        .asyncStrategy(strategy)
+                        .toggleBootstrapProvider(
+                                () ->
+                                        Optional.of(
+                                                ResourceReader.readResourceAsString(
+                                                        "repeated_custom_strategy.json")))
+                        .build();
+        DefaultUnleash unleash = new DefaultUnleash(config);
+        awaitLoads(strategy, 1);
+
+        assertThat(unleash.isEnabled("repeated.custom", user("bob"))).isFalse();
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!unleash.isEnabled("repeated.custom", user("bob"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(unleash.isEnabled("repeated.custom", user("bob"))).isTrue();
+        unleash.shutdown();
+    }
+
+    @Test
+    public void refresh_interval_below_a_second_is_rejected() {
+        QueuedLoadStrategy strategy =
+                new QueuedLoadStrategy(Collections::emptyMap) {
+                    @Override
+                    public long getRefreshIntervalSeconds() {
+                        return 0;
+                    }
+                };
+        UnleashConfig.Builder builder =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test:4242")
+                        .appName("async_strategy")
+                        .asyncStrategy(strategy);
+
+        assertThatThrownBy(builder::build)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("repeated")
+                .hasMessageContaining("at least 1 second");
+    }
+
+    @Test
+    public void closed_loader_cancels_later_loads() throws Exception {
+        QueuedLoadStrategy strategy = new QueuedLoadStrategy(Collections::emptyMap);
+        AsyncStrategyLoader loader = new AsyncStrategyLoader(Collections.singletonList(strategy));
+
+        loader.start();
+        awaitLoads(strategy, 1);
+        loader.close();
+        Thread.sleep(50);
+
+        assertThat(strategy.loads).isEqualTo(1);
+    }
+
+    @Test
+    public void evaluates_to_false_until_first_load() {
+        AsyncStrategyAdapter<Map<String, Set<String>>> adapter =
+                new AsyncStrategyAdapter<>(
+                        new QueuedLoadStrategy(
+                                () ->
+                                        Collections.singletonMap(
+                                                "one", Collections.singleton("bob"))));
+
+        assertThat(adapter.hasDecisions()).isFalse();
+        assertThat(adapter.isEnabled(PARAMETERS, user("bob"))).isFalse();
+
+        adapter.refresh();
+        assertThat(adapter.hasDecisions()).isTrue();
+        assertThat(adapter.isEnabled(PARAMETERS, user("bob"))).isTrue();
+    }
+
+    @Test
+    public void failed_load_keeps_previous_decisions() {
+        QueuedLoadStrategy strategy =
+                new QueuedLoadStrategy(
+                        () -> Collections.singletonMap("one", Collections.singleton("bob")),
+                        () -> {
+                            throw new IllegalStateException("remote unavailable");
+                        },
+                        () -> null);
+        AsyncStrategyAdapter<Map<String, Set<String>>> adapter =
+                new AsyncStrategyAdapter<>(strategy);
+
+        adapter.refresh();
+        adapter.refresh();
+        adapter.refresh();
+
+        assertThat(strategy.loads).isEqualTo(3);
+        assertThat(adapter.isEnabled(PARAMETERS, user("bob"))).isTrue();
+    }
+
+    @Test
+    public void closed_adapter_stops_loading() {
+        QueuedLoadStrategy strategy = new QueuedLoadStrategy(Collections::emptyMap);
+        AsyncStrategyAdapter<Map<String, Set<String>>> adapter =
+                new AsyncStrategyAdapter<>(strategy);
+
+        adapter.close();
+        adapter.refresh();
+
+        assertThat(strategy.loads).isZero();
+    }
+
+    private static void awaitLoads(QueuedLoadStrategy strategy, int loads)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (strategy.loads < loads && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(strategy.loads).isEqualTo(loads);
+    }
+
+    private static UnleashContext user(String userId) {
+        return UnleashContext.builder().userId(userId).build();
+    }
+
+    private static class QueuedLoadStrategy implements AsyncStrategy<Map<String, Set<String>>> {
+        private final Queue<Callable<Map<String, Set<String>>>> results;
+        private Callable<Map<String, Set<String>>> last;
+        private volatile int loads;
+
+        @SafeVarargs
+        private QueuedLoadStrategy(Callable<Map<String, Set<String>>>... results) {
+            this.results = new ArrayDeque<>(Arrays.asList(results));
+            this.last = results[results.length - 1];
+        }
+
+        @Override
+        public String getName() {
+            return "repeated";
+        }
+
+        @Override
+        public Map<String, Set<String>> load() throws Exception {
+            loads++;
+            Callable<Map<String, Set<String>>> next = results.poll();
+            return (next != null ? next : last).call();
+        }
+
+        @Override
+        public boolean isEnabled(
+                Map<String, Set<String>> decisions,
+                Map<String, String> parameters,
+                StrategyContext context) {
+            Set<String> users = decisions.get(parameters.get("myFancy"));
+            return users != null && users.contains(context.getUserId());
+        }
+    }
+}
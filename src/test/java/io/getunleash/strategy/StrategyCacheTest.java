@@ -0,0 +1,176 @@
+package io.getunleash.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.getunleash.DefaultUnleash;
+import io.getunleash.EngineProxyImpl;
+import io.getunleash.UnleashContext;
+import io.getunleash.util.ResourceReader;
+import io.getunleash.util.UnleashConfig;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+public class StrategyCacheTest {
+
+    private static final Map<String, String> PARAMETERS =
+            Collections.singletonMap("myFancy", "one");
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CountingStrategy strategy = new CountingStrategy();
+
+    private StrategyCache cache(int maximumSize) {
+        return new StrategyCache(
+                "repeated",
+                new String[] {"userId", "myFancy"},
+                maximumSize,
+                Duration.ofSeconds(10),
+                clock::get);
+    }
+
+    private static UnleashContext context(String userId, String myFancy) {
+        return UnleashContext.builder().userId(userId).addProperty("myFancy", myFancy).build();
+    }
+
+    @Test
+    public void results_are_cached_per_parameters_and_context_fields() {
+        StrategyCache cache = cache(100);
+        FastStrategy cached = cache.wrap(strategy);
+
+        assertThat(cached.isEnabled(PARAMETERS, context("a", "one"))).isTrue();
+        assertThat(cached.isEnabled(PARAMETERS, context("a", "one"))).isTrue();
+        assertThat(cached.isEnabled(PARAMETERS, context("b", "one"))).isTrue();
+        assertThat(cached.isEnabled(PARAMETERS, context("a", "two"))).isFalse();
+        assertThat(
+                        cached.isEnabled(
+                                Collections.singletonMap("myFancy", "two"), context("a", "two")))
+                .isTrue();
+
+        assertThat(strategy.calls.get()).isEqualTo(4);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(4);
+        assertThat(cache.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void results_expire_after_time_to_live() {
+        StrategyCache cache = cache(100);
+        FastStrategy cached = cache.wrap(strategy);
+
+        cached.isEnabled(PARAMETERS, context("a", "one"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        cached.isEnabled(PARAMETERS, context("a", "one"));
+        assertThat(strategy.calls.get()).isEqualTo(1);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        cached.isEnabled(PARAMETERS, context("a", "one"));
+        assertThat(strategy.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void cache_stays_within_maximum_size() {
+        StrategyCache cache = cache(20);
+        FastStrategy cached = cache.wrap(strategy);
+
+        for (int i = 0; i < 100; i++) {
+            cached.isEnabled(PARAMETERS, context("user-" + i, "one"));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(20);
+        assertThat(cache.getEvictions()).isGreaterThanOrEqualTo(80);
+        assertThat(cache.getMisses()).isEqualTo(100);
+    }
+
+    @Test
+    public void cache_can_only_wrap_strategy_with_same_name() {
+        assertThatThrownBy(() -> StrategyCache.builder("other").build().wrap(strategy))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StrategyCache.builder("repeated").maximumSize(0).build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void registered_cache_wraps_strategy_of_client() {
+        StrategyCache cache = StrategyCache.builder("repeated").contextFields("myFancy").build();
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test:4242")
+                        .appName("strategy_cache")
+                        .instanceId("strategy_cache")
+                        .strategyCache(cache)
+                        .toggleBootstrapProvider(
+                                () ->
+                                        Optional.of(
+                                                ResourceReader.readResourceAsString(
+                                                        "repeated_custom_strategy.json")))
+                        .build();
+        DefaultUnleash unleash = new DefaultUnleash(config, strategy);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(unleash.isEnabled("repeated.custom", context("user-" + i, "two"))).isTrue();
+        }
+
+        int callsPerEvaluation = (int) cache.getMisses();
+        assertThat(callsPerEvaluation).isPositive();
+        assertThat(strategy.calls.get()).isEqualTo(callsPerEvaluation);
+        assertThat(cache.getHits()).isEqualTo(4L * callsPerEvaluation);
+        unleash.shutdown();
+    }
+
+    @Test
+    public void cache_for_an_unregistered_strategy_is_warned_about() {
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        Logger logger = (Logger) LoggerFactory.getLogger(EngineProxyImpl.class);
+        Level level = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        logger.addAppender(appender);
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test:4242")
+                        .appName("strategy_cache")
+                        .instanceId("strategy_cache_typo")
+                        .strategyCache(StrategyCache.builder("repaeted").build())
+                        .toggleBootstrapProvider(Optional::empty)
+                        .build();
+        try {
+            new DefaultUnleash(config, strategy).shutdown();
+        } finally {
+            logger.detachAppender(appender);
+            logger.setLevel(level);
+        }
+
+        assertThat(appender.list)
+                .anySatisfy(
+                        event -> {
+                            assertThat(event.getLevel()).isEqualTo(Level.WARN);
+                            assertThat(event.getFormattedMessage()).contains("repaeted");
+                        });
+    }
+
+    private static class CountingStrategy implements Strategy {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String getName() {
+            return "repeated";
+        }
+
+        @Override
+        public boolean isEnabled(Map<String, String> parameters, UnleashContext context) {
+            calls.incrementAndGet();
+            return parameters.get("myFancy").equals(context.getProperties().get("myFancy"));
+        }
+    }
+}
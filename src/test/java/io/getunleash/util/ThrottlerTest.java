@@ -6,6 +6,10 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -86,4 +90,64 @@ class ThrottlerTest {
         throttler.decrementFailureCountAndResetSkips();
         assertThat(throttler.performAction()).isTrue();
     }
+
+    @Test
+    public void retry_after_extends_the_backoff() throws MalformedURLException {
+        Throttler throttler =
+                new Throttler(10, 300, URI.create("https://localhost:1500/api").toURL());
+        throttler.handleHttpErrorCodes(429, Throttler.parseRetryAfter("45"));
+        assertThat(throttler.getSkips()).isEqualTo(5);
+        assertThat(throttler.getFailures()).isEqualTo(1);
+
+        throttler.handleHttpErrorCodes(503, Throttler.parseRetryAfter("3600"));
+        assertThat(throttler.getSkips()).isEqualTo(30);
+    }
+
+    @Test
+    public void retry_after_accepts_seconds_and_http_dates() {
+        assertThat(Throttler.parseRetryAfter("120")).contains(Duration.ofSeconds(120));
+        assertThat(Throttler.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"))
+                .contains(Duration.ZERO);
+        String inAMinute =
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                        ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+        assertThat(Throttler.parseRetryAfter(inAMinute).get())
+                .isBetween(Duration.ofSeconds(55), Duration.ofSeconds(60));
+        assertThat(Throttler.parseRetryAfter("soon")).isEmpty();
+        assertThat(Throttler.parseRetryAfter(null)).isEmpty();
+    }
+
+    @Test
+    public void unchanged_responses_slow_down_to_the_idle_interval() throws MalformedURLException {
+        Throttler throttler =
+                new Throttler(15, 300, 60, URI.create("https://localhost:1500/api").toURL());
+        for (int i = 0; i < 3; i++) {
+            throttler.unchanged();
+        }
+        assertThat(throttler.getSkips()).isEqualTo(0);
+        throttler.unchanged();
+        assertThat(throttler.getSkips()).isEqualTo(1);
+        for (int i = 0; i < 20; i++) {
+            throttler.unchanged();
+        }
+        assertThat(throttler.getSkips()).isEqualTo(3);
+
+        throttler.changed();
+        throttler.skipped();
+        throttler.skipped();
+        throttler.skipped();
+        throttler.unchanged();
+        assertThat(throttler.getSkips()).isEqualTo(0);
+    }
+
+    @Test
+    public void unchanged_responses_keep_the_interval_without_idle_interval()
+            throws MalformedURLException {
+        Throttler throttler =
+                new Throttler(15, 300, URI.create("https://localhost:1500/api").toURL());
+        for (int i = 0; i < 20; i++) {
+            throttler.unchanged();
+        }
+        assertThat(throttler.getSkips()).isEqualTo(0);
+    }
 }
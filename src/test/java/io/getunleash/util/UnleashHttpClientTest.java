@@ -0,0 +1,112 @@
+package io.getunleash.util;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpResponse;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class UnleashHttpClientTest {
+
+    @RegisterExtension
+    static WireMockExtension serverMock =
+            WireMockExtension.newInstance()
+                    .configureStaticDsl(true)
+                    .options(wireMockConfig().dynamicPort().dynamicHttpsPort())
+                    .build();
+
+    @Test
+    public void requests_reuse_the_tls_connection() throws Exception {
+        stubFor(get(urlEqualTo("/api/client/features")).willReturn(aResponse().withBody("{}")));
+        String api = "https://localhost:" + serverMock.getHttpsPort() + "/api";
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test-app")
+                        .unleashAPI(api)
+                        .customHttpHeader("Authorization", "token")
+                        .build();
+        UnleashHttpClient client = new UnleashHttpClient(config, trustingSslContext());
+        URL url = config.getUnleashURLs().getFetchTogglesURL();
+
+        for (int i = 0; i < 3; i++) {
+            HttpResponse<String> response =
+                    client.send(
+                            client.newRequest(url, Duration.ofSeconds(5)).GET().build(),
+                            HttpResponse.BodyHandlers.ofString());
+            assertThat(response.body()).isEqualTo("{}");
+        }
+
+        assertThat(client.getRequests()).isEqualTo(3);
+        assertThat(client.getTlsConnections()).isEqualTo(1);
+        verify(
+                3,
+                getRequestedFor(urlEqualTo("/api/client/features"))
+                        .withHeader("UNLEASH-APPNAME", matching("test-app"))
+                        .withHeader("Authorization", matching("token")));
+    }
+
+    @Test
+    public void pooled_http_client_is_only_created_when_asked_for() {
+        UnleashConfig.Builder builder =
+                UnleashConfig.builder()
+                        .appName("test-app")
+                        .unleashAPI(URI.create("http://localhost:4242/api"));
+
+        assertThat(builder.build().getHttpClient()).isNull();
+        assertThat(builder.pooledHttpClient().build().getHttpClient()).isNotNull();
+    }
+
+    private static SSLContext trustingSslContext() throws Exception {
+        // WireMock's certificate is self signed and not issued for localhost
+        TrustManager trustAll =
+                new X509ExtendedTrustManager() {
+                    @Override
+                    public void checkClientTrusted(X509Certificate[] chain, String authType) {}
+
+                    @Override
+                    public void checkServerTrusted(X509Certificate[] chain, String authType) {}
+
+                    @Override
+                    public void checkClientTrusted(
+                            X509Certificate[] chain, String authType, Socket socket) {}
+
+                    @Override
+                    public void checkServerTrusted(
+                            X509Certificate[] chain, String authType, Socket socket) {}
+
+                    @Override
+                    public void checkClientTrusted(
+                            X509Certificate[] chain, String authType, SSLEngine engine) {}
+
+                    @Override
+                    public void checkServerTrusted(
+                            X509Certificate[] chain, String authType, SSLEngine engine) {}
+
+                    @Override
+                    public X509Certificate[] getAcceptedIssuers() {
+                        return new X509Certificate[0];
+                    }
+                };
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, new TrustManager[] {trustAll}, null);
+        return context;
+    }
+}